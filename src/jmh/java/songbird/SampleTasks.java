@@ -0,0 +1,54 @@
+package songbird;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import songbird.task.DeadlineTask;
+import songbird.task.EventTask;
+import songbird.task.Task;
+import songbird.task.ToDoTask;
+
+/**
+ * Generates reproducible task lists for the benchmarks.
+ * The lists contain an even mix of ToDo, Deadline and Event tasks, with roughly a third of them done.
+ */
+public class SampleTasks {
+    private static final String[] WORDS = {
+        "submit", "report", "review", "budget", "call", "team", "meeting", "project", "draft", "proposal",
+        "buy", "groceries", "pay", "bills", "book", "flight", "fix", "bug", "deploy", "release"
+    };
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private SampleTasks() {
+        // utility class
+    }
+
+    /**
+     * Generates a list of tasks with the given size.
+     * The same size always produces the same tasks.
+     *
+     * @param count The number of tasks to generate.
+     * @return The generated tasks.
+     */
+    public static List<Task> generate(int count) {
+        Random random = new Random(count);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + i;
+            LocalDateTime start = EPOCH.plusMinutes(random.nextInt(365 * 24 * 60));
+            Task task = switch (i % 3) {
+                case 0 -> new ToDoTask(description);
+                case 1 -> new DeadlineTask(description, start);
+                default -> new EventTask(description, start, start.plusHours(1 + random.nextInt(48)));
+            };
+            if (random.nextInt(3) == 0) {
+                task.setTaskDone();
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
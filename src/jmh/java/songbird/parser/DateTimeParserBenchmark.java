@@ -0,0 +1,51 @@
+package songbird.parser;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import songbird.exception.SongbirdMalformedCommandException;
+
+/**
+ * Compares parsing common date/time formats with {@link DateTimeParser#parseDateTime(String)}, which recognises them
+ * with {@link FastDateTimeParser}, against parsing them with the natural language model alone. The last input is not
+ * recognised, so it measures the fallback, including the cost of trying the fast path first.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=DateTimeParserBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DateTimeParserBenchmark {
+    @Param({"2025-03-14", "2025-03-14 18:30", "14/03/2025", "tomorrow", "friday", "next friday at 6pm"})
+    private String input;
+
+    /**
+     * Parses the input, through the fast path if it is recognised.
+     */
+    @Benchmark
+    public LocalDateTime parseDateTime() throws SongbirdMalformedCommandException {
+        return DateTimeParser.parseDateTime(input);
+    }
+
+    /**
+     * Parses the input with the natural language model.
+     */
+    @Benchmark
+    public LocalDateTime parseNaturalDateTime() throws SongbirdMalformedCommandException {
+        return DateTimeParser.parseNaturalDateTime(input);
+    }
+}
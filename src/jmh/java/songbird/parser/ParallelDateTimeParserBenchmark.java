@@ -0,0 +1,63 @@
+package songbird.parser;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import songbird.exception.SongbirdMalformedCommandException;
+
+/**
+ * Measures the throughput of natural language date/time parsing on one thread against as many threads as there are
+ * processors, each borrowing its own parser from the pool in {@link DateTimeParser}. The cache is bypassed, so every
+ * parse runs the natural language model.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=ParallelDateTimeParserBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ParallelDateTimeParserBenchmark {
+    @Param({"next friday at 6pm", "in 3 days"})
+    private String input;
+
+    /**
+     * Loads the natural language model before measuring.
+     */
+    @Setup
+    public void setUp() {
+        DateTimeParser.startWarmUp().join();
+    }
+
+    /**
+     * Parses the input on a single thread.
+     */
+    @Benchmark
+    @Threads(1)
+    public LocalDateTime parseOnOneThread() throws SongbirdMalformedCommandException {
+        return DateTimeParser.parseNaturalDateTime(input);
+    }
+
+    /**
+     * Parses the input on as many threads as there are processors.
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public LocalDateTime parseOnAllProcessors() throws SongbirdMalformedCommandException {
+        return DateTimeParser.parseNaturalDateTime(input);
+    }
+}
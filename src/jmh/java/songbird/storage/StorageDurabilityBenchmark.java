@@ -0,0 +1,98 @@
+package songbird.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import songbird.SampleTasks;
+import songbird.exception.SongbirdStorageException;
+import songbird.task.Task;
+
+/**
+ * Compares the latency of a single save under each {@link DurabilityMode}: a full atomic snapshot save, and a
+ * journal append of a single mutation. The files are written to a temporary directory on the default file system,
+ * so the results depend heavily on the disk it sits on.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=StorageDurabilityBenchmark}.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StorageDurabilityBenchmark {
+    private static final long GROUP_COMMIT_INTERVAL_MILLIS = 10;
+
+    @Param({"NO_SYNC", "SYNC_ON_COMMIT", "GROUP_COMMIT"})
+    private DurabilityMode durabilityMode;
+
+    @Param({"1000"})
+    private int taskCount;
+
+    private Path directory;
+    private Storage storage;
+    private List<Task> tasks;
+    private int appendCount;
+
+    /**
+     * Creates a journaled storage in a fresh temporary directory and saves an initial snapshot.
+     */
+    @Setup
+    public void setUp() throws IOException, SongbirdStorageException {
+        directory = Files.createTempDirectory("songbird-durability");
+        storage = new Storage(new File(directory.toFile(), "tasklistDB").getPath(), true, durabilityMode,
+                GROUP_COMMIT_INTERVAL_MILLIS);
+        storage.load();
+        tasks = SampleTasks.generate(taskCount);
+        storage.save(tasks);
+    }
+
+    /**
+     * Closes the storage and deletes the temporary directory.
+     */
+    @TearDown
+    public void tearDown() throws IOException, SongbirdStorageException {
+        storage.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    /**
+     * Saves the whole task list as an atomically renamed snapshot.
+     */
+    @Benchmark
+    public void saveSnapshot() throws SongbirdStorageException {
+        storage.save(tasks);
+    }
+
+    /**
+     * Appends a single mutation to the journal, compacting it whenever it is due so the journal stays small.
+     */
+    @Benchmark
+    public void appendMutation() throws SongbirdStorageException {
+        storage.append(appendCount++ % 2 == 0 ? JournalEntry.mark(0) : JournalEntry.unmark(0));
+        if (storage.isCompactionDue()) {
+            storage.save(tasks);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package songbird.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import songbird.SampleTasks;
+import songbird.task.Task;
+
+/**
+ * Compares encoding and decoding a task list with Java serialization (the legacy storage format) against
+ * {@link TaskCodec}. The encoded sizes of both formats are printed during setup.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=TaskCodecBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TaskCodecBenchmark {
+    @Param({"1000", "100000"})
+    private int taskCount;
+
+    private List<Task> tasks;
+    private byte[] serializedBytes;
+    private byte[] encodedBytes;
+
+    /**
+     * Generates the task list and pre-encodes it in both formats for the read benchmarks.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        tasks = new ArrayList<>(SampleTasks.generate(taskCount));
+        serializedBytes = writeJavaSerialization();
+        encodedBytes = writeTaskCodec();
+        System.out.printf("%n%d tasks: Java serialization %d bytes, TaskCodec %d bytes%n",
+                taskCount, serializedBytes.length, encodedBytes.length);
+    }
+
+    /**
+     * Encodes the task list with Java serialization.
+     */
+    @Benchmark
+    public byte[] writeJavaSerialization() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(tasks);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encodes the task list with TaskCodec.
+     */
+    @Benchmark
+    public byte[] writeTaskCodec() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(tasks.size());
+        for (Task task : tasks) {
+            TaskCodec.encode(task, out);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes the task list with Java serialization.
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<Task> readJavaSerialization() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(serializedBytes))) {
+            return (List<Task>) ois.readObject();
+        }
+    }
+
+    /**
+     * Decodes the task list with TaskCodec.
+     */
+    @Benchmark
+    public List<Task> readTaskCodec() throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(encodedBytes));
+        int count = in.readInt();
+        List<Task> decoded = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            decoded.add(TaskCodec.decode(in));
+        }
+        return decoded;
+    }
+}
@@ -0,0 +1,118 @@
+package songbird.task;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import songbird.SampleTasks;
+import songbird.exception.SongbirdException;
+import songbird.storage.Storage;
+
+/**
+ * Compares marking a range of tasks one command at a time, as 'mark N' repeated for each task does, against marking
+ * the whole range as a single batch, as 'mark 1-N' does. Each operation marks the range and then unmarks it again,
+ * so every call changes every task. The task list is persisted to a temporary directory on the default file system,
+ * either by saving the whole list after every change or by appending to a journal forced onto the disk on every
+ * write, so the results depend heavily on the disk it sits on.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=BulkMutationBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BulkMutationBenchmark {
+    /**
+     * Represents how the task list is persisted.
+     */
+    public enum StorageMode {
+        SNAPSHOT,
+        JOURNAL
+    }
+
+    @Param({"SNAPSHOT", "JOURNAL"})
+    private StorageMode storageMode;
+
+    @Param({"1000", "10000"})
+    private int taskCount;
+
+    @Param({"200"})
+    private int batchSize;
+
+    private Path directory;
+    private Storage storage;
+    private TaskList taskList;
+    private TaskSelector batch;
+
+    /**
+     * Creates a task list persisted to a fresh temporary directory, and the selection of the tasks to mark.
+     */
+    @Setup
+    public void setUp() throws IOException, SongbirdException {
+        directory = Files.createTempDirectory("songbird-bulk");
+        storage = new Storage(new File(directory.toFile(), "tasklistDB").getPath(),
+                storageMode == StorageMode.JOURNAL);
+        storage.load();
+        List<Task> tasks = SampleTasks.generate(taskCount);
+        tasks.forEach(Task::setTaskNotDone);
+        storage.save(tasks);
+        taskList = new TaskList(tasks, storage);
+        batch = TaskSelector.ofRanges(List.of(
+                new TaskSelector.Range(TaskReference.ofIndex(0), TaskReference.ofIndex(batchSize - 1))));
+    }
+
+    /**
+     * Closes the storage and deletes the temporary directory.
+     */
+    @TearDown
+    public void tearDown() throws IOException, SongbirdException {
+        storage.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    /**
+     * Marks and unmarks each task of the range with its own mutation, each persisted on its own.
+     */
+    @Benchmark
+    public int markOneByOne() throws SongbirdException {
+        for (int i = 0; i < batchSize; i++) {
+            taskList.markTask(i);
+        }
+        for (int i = 0; i < batchSize; i++) {
+            taskList.unmarkTask(i);
+        }
+        return taskList.getSize();
+    }
+
+    /**
+     * Marks and unmarks the whole range as two batches, each persisted in a single write.
+     */
+    @Benchmark
+    public int markInBatch() throws SongbirdException {
+        taskList.markTasks(batch);
+        taskList.unmarkTasks(batch);
+        return taskList.getSize();
+    }
+}
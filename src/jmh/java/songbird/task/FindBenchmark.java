@@ -0,0 +1,86 @@
+package songbird.task;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import songbird.SampleTasks;
+
+/**
+ * Compares finding tasks by keyword with a scan of every task, as TaskList used to, against the trigram and keyword
+ * indexes. The first keyword is a word that appears in about one in ten of the generated tasks, and the second spans
+ * two words and only appears in a few.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=FindBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FindBenchmark {
+    @Param({"1000", "100000"})
+    private int taskCount;
+
+    @Param({"report", "bug 4242"})
+    private String keyword;
+
+    private List<Task> taskArray;
+    private TaskList taskList;
+
+    /**
+     * Generates the tasks and indexes them in a task list.
+     */
+    @Setup
+    public void setUp() {
+        taskArray = SampleTasks.generate(taskCount);
+        taskList = new TaskList(taskArray, null);
+    }
+
+    /**
+     * Finds the tasks containing the keyword by lowercasing and searching every description.
+     */
+    @Benchmark
+    public List<Task> scanSubstring() {
+        return taskArray.stream()
+                .filter(task -> task.getDescription().toLowerCase().contains(keyword.toLowerCase()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds the tasks containing the keyword through the trigram index.
+     */
+    @Benchmark
+    public List<Task> indexedSubstring() {
+        return taskList.getTasksByKeyword(keyword);
+    }
+
+    /**
+     * Finds the tasks containing the keyword as a whole word through the keyword index.
+     */
+    @Benchmark
+    public List<Task> indexedWholeWord() {
+        return taskList.getTasksByWords(keyword);
+    }
+
+    /**
+     * Finds the tasks containing words similar to the keyword's through the keyword index.
+     */
+    @Benchmark
+    public List<Task> indexedFuzzy() {
+        return taskList.getTasksBySimilarWords(keyword);
+    }
+}
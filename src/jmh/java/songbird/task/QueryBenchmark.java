@@ -0,0 +1,88 @@
+package songbird.task;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import songbird.SampleTasks;
+
+/**
+ * Compares answering a compound 'find' query by checking every task against it, against driving it from the index
+ * with the fewest candidates. The first query, 'report type:deadline done:false due&lt;2025-02-01', is driven by
+ * the trigram index, and the second, '-report type:event due:2025-06-15', by the date index, with the type and
+ * status conditions checked on the candidates only.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=QueryBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class QueryBenchmark {
+    /**
+     * Represents the query that is run.
+     */
+    public enum QueryShape {
+        KEYWORD_TYPE_DONE_DUE_BEFORE,
+        NOT_KEYWORD_TYPE_DUE_ON
+    }
+
+    @Param({"1000", "100000"})
+    private int taskCount;
+
+    @Param({"KEYWORD_TYPE_DONE_DUE_BEFORE", "NOT_KEYWORD_TYPE_DUE_ON"})
+    private QueryShape queryShape;
+
+    private TaskList taskList;
+    private TaskQuery query;
+
+    /**
+     * Generates the tasks, indexes them in a task list, and builds the query.
+     */
+    @Setup
+    public void setUp() {
+        taskList = new TaskList(SampleTasks.generate(taskCount), null);
+        query = switch (queryShape) {
+            case KEYWORD_TYPE_DONE_DUE_BEFORE -> TaskQuery.allOf(List.of(TaskQuery.ofPhrase("report"),
+                    TaskQuery.ofType(TaskType.DEADLINE), TaskQuery.ofDone(false),
+                    TaskQuery.ofDateRange(LocalDateTime.MIN, LocalDateTime.of(2025, 1, 31, 23, 59, 59))));
+            case NOT_KEYWORD_TYPE_DUE_ON -> TaskQuery.allOf(List.of(TaskQuery.not(TaskQuery.ofPhrase("report")),
+                    TaskQuery.ofType(TaskType.EVENT),
+                    TaskQuery.ofDateRange(LocalDateTime.of(2025, 6, 15, 0, 0),
+                            LocalDateTime.of(2025, 6, 15, 23, 59, 59))));
+        };
+    }
+
+    /**
+     * Finds the matching tasks by checking every task against the whole query.
+     */
+    @Benchmark
+    public List<Task> scanQuery() {
+        return taskList.snapshot().stream()
+                .filter(query::matches)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds the matching tasks among the candidates of the most selective index.
+     */
+    @Benchmark
+    public List<Task> plannedQuery() {
+        return taskList.getTasksByQuery(query);
+    }
+}
@@ -0,0 +1,98 @@
+package songbird.task;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import songbird.SampleTasks;
+
+/**
+ * Compares the heap retained by tasks held as objects in a list, as a TaskList holds them, against the same tasks in
+ * a CompactTaskStore. Each operation builds the tasks from scratch, and reports the heap still in use after a full
+ * garbage collection, less the heap in use before, as the 'retainedBytes' counter. The time reported is that of
+ * building the tasks, and is only a side result.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=TaskFootprintBenchmark}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class TaskFootprintBenchmark {
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    /**
+     * Represents how the tasks are held.
+     */
+    public enum Representation {
+        OBJECTS,
+        COMPACT_STORE
+    }
+
+    @Param({"1000000"})
+    private int taskCount;
+
+    @Param({"OBJECTS", "COMPACT_STORE"})
+    private Representation representation;
+
+    /**
+     * Holds the heap retained by the tasks built in an operation, which JMH reports alongside its time.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        private long retainedBytes;
+
+        /**
+         * Clears the counter before each operation.
+         */
+        @Setup(Level.Invocation)
+        public void clear() {
+            retainedBytes = 0;
+        }
+
+        /**
+         * Returns the heap retained by the tasks, which JMH reads as the counter.
+         */
+        public long retainedBytes() {
+            return retainedBytes;
+        }
+    }
+
+    /**
+     * Builds the tasks in the chosen representation, and measures the heap they retain.
+     */
+    @Benchmark
+    public Object build(Footprint footprint) {
+        long before = usedHeapAfterGc();
+        List<Task> tasks = SampleTasks.generate(taskCount);
+        Object held = representation == Representation.OBJECTS ? tasks : CompactTaskStore.of(tasks);
+        tasks = null; // only the representation itself should stay reachable
+        footprint.retainedBytes = usedHeapAfterGc() - before;
+        return held;
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+}
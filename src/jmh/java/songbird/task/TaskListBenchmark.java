@@ -0,0 +1,159 @@
+package songbird.task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import songbird.SampleTasks;
+
+/**
+ * Compares the positional operations of a task list backed by an {@code ArrayList}, as TaskList used to be, against
+ * one backed by an {@link IndexedTree}. Insertions are always paired with a removal, so the lists keep their size.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=TaskListBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TaskListBenchmark {
+    private static final int INDEX_COUNT = 1024;
+
+    @Param({"1000", "100000"})
+    private int taskCount;
+
+    private ArrayList<Task> arrayList;
+    private IndexedTree<Task> tree;
+    private Task extraTask;
+    private int[] randomIndices;
+    private int next;
+
+    /**
+     * Fills both lists with the same tasks and picks the random positions to access.
+     */
+    @Setup
+    public void setUp() {
+        List<Task> tasks = SampleTasks.generate(taskCount);
+        arrayList = new ArrayList<>(tasks);
+        tree = IndexedTree.of(tasks);
+        extraTask = new ToDoTask("extra");
+        Random random = new Random(42);
+        randomIndices = random.ints(INDEX_COUNT, 0, taskCount).toArray();
+    }
+
+    /**
+     * Deletes the first task of the ArrayList and adds it back, which shifts every other task twice.
+     */
+    @Benchmark
+    public Task arrayListDeleteFront() {
+        Task task = arrayList.remove(0);
+        arrayList.add(0, task);
+        return task;
+    }
+
+    /**
+     * Deletes the first task of the tree and adds it back.
+     */
+    @Benchmark
+    public Task treeDeleteFront() {
+        Task task = tree.get(0);
+        tree = tree.remove(0).insert(0, task);
+        return task;
+    }
+
+    /**
+     * Inserts a task at a random position of the ArrayList and deletes it again.
+     */
+    @Benchmark
+    public Task arrayListInsertRandom() {
+        int index = nextIndex();
+        arrayList.add(index, extraTask);
+        return arrayList.remove(index);
+    }
+
+    /**
+     * Inserts a task at a random position of the tree and deletes it again.
+     */
+    @Benchmark
+    public IndexedTree<Task> treeInsertRandom() {
+        int index = nextIndex();
+        tree = tree.insert(index, extraTask).remove(index);
+        return tree;
+    }
+
+    /**
+     * Gets the task at a random position of the ArrayList.
+     */
+    @Benchmark
+    public Task arrayListGetRandom() {
+        return arrayList.get(nextIndex());
+    }
+
+    /**
+     * Gets the task at a random position of the tree.
+     */
+    @Benchmark
+    public Task treeGetRandom() {
+        return tree.get(nextIndex());
+    }
+
+    /**
+     * Visits every task of the ArrayList in order.
+     */
+    @Benchmark
+    public int arrayListIterate() {
+        int doneCount = 0;
+        for (Task task : arrayList) {
+            doneCount += task.isDone() ? 1 : 0;
+        }
+        return doneCount;
+    }
+
+    /**
+     * Visits every task of the tree in order.
+     */
+    @Benchmark
+    public int treeIterate() {
+        int doneCount = 0;
+        for (Task task : tree) {
+            doneCount += task.isDone() ? 1 : 0;
+        }
+        return doneCount;
+    }
+
+    /**
+     * Copies the ArrayList, as the task list did for every save before it could hand out snapshots.
+     */
+    @Benchmark
+    public List<Task> arrayListCopy() {
+        return new ArrayList<>(arrayList);
+    }
+
+    /**
+     * Takes an immutable snapshot of the tree, which shares the tree instead of copying it.
+     */
+    @Benchmark
+    public List<Task> treeSnapshot() {
+        return tree.asList();
+    }
+
+    private int nextIndex() {
+        next = (next + 1) % INDEX_COUNT;
+        return randomIndices[next];
+    }
+}
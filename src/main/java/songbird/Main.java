@@ -8,21 +8,30 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
 import javafx.stage.Stage;
+import songbird.parser.DateTimeParser;
 import songbird.ui.Ui;
 
 /**
  * A GUI for Songbird using FXML and AtlantaFX.
+ * The natural language model for dates is loaded in the background while the tasks and the window are loaded, so the
+ * window is shown without waiting for it.
  */
 public class Main extends Application {
 
-    private final Songbird songbird = new Songbird();
+    private Songbird songbird;
 
     @Override
     public void start(Stage stage) {
+        StartupTimer timer = new StartupTimer();
+        DateTimeParser.startWarmUp().thenRun(() -> timer.mark("Natural language model loaded"));
         Application.setUserAgentStylesheet(new CupertinoDark().getUserAgentStylesheet());
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("/view/MainWindow.fxml"));
             AnchorPane ap = fxmlLoader.load();
+            timer.mark("FXML loaded");
+
+            songbird = new Songbird();
+            timer.mark("Tasks loaded");
 
             Scene scene = new Scene(ap);
 
@@ -40,6 +49,7 @@ public class Main extends Application {
             Ui.setMainWindow(mainWindow);
 
             stage.show();
+            timer.mark("Window shown");
             songbird.sendInitialResponses();
         } catch (Exception e) {
             e.printStackTrace();
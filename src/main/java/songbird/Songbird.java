@@ -7,7 +7,9 @@ import java.util.List;
 import songbird.command.Command;
 import songbird.exception.SongbirdStorageException;
 import songbird.parser.Parser;
+import songbird.storage.DurabilityMode;
 import songbird.storage.Storage;
+import songbird.task.EventTask;
 import songbird.task.Task;
 import songbird.task.TaskList;
 import songbird.ui.Ui;
@@ -19,6 +21,14 @@ import songbird.ui.Ui;
  * @version CS2103T AY24/25 Semester 2
  */
 public class Songbird {
+    private static final long SAVE_MAX_DELAY_MILLIS = 500;
+    private static final int SAVE_MAX_PENDING_MUTATIONS = 64;
+    private static final DurabilityMode SAVE_DURABILITY_MODE = DurabilityMode.GROUP_COMMIT;
+    private static final long SAVE_GROUP_COMMIT_INTERVAL_MILLIS = 1000;
+    private static final int UNDO_HISTORY_DEPTH = 100;
+    private static final long REMINDER_PERIOD_MILLIS = 1000;
+    private static final int AUTO_ARCHIVE_AFTER_DAYS = 30;
+
     private final List<String> initialResponses = new ArrayList<>();
     private Ui ui;
     private Parser parser;
@@ -29,7 +39,8 @@ public class Songbird {
      */
     public Songbird() {
         try {
-            Storage storage = new Storage("./data/tasklistDB");
+            Storage storage = new Storage("./data/tasklistDB", true, SAVE_DURABILITY_MODE,
+                    SAVE_GROUP_COMMIT_INTERVAL_MILLIS);
             List<Task> loadedTasks = storage.load();
 
             if (!loadedTasks.isEmpty()) {
@@ -37,12 +48,33 @@ public class Songbird {
             }
 
             tasks = new TaskList(loadedTasks, storage);
+            tasks.setHistoryDepth(UNDO_HISTORY_DEPTH);
+            archiveOldTasks();
+            tasks.startBackgroundSaves(SAVE_MAX_DELAY_MILLIS, SAVE_MAX_PENDING_MUTATIONS);
+            tasks.startReminders(REMINDER_PERIOD_MILLIS, Songbird::remind);
             this.parser = new Parser(tasks);
         } catch (SongbirdStorageException e) {
             initialResponses.add("Failed to initialize storage: " + e.getMessage());
         }
     }
 
+    /**
+     * Archives the completed deadlines and events that ended long ago, so they no longer slow down the task list.
+     * Completed todos have no end, so they stay until archived with the archive command.
+     */
+    private void archiveOldTasks() {
+        try {
+            List<Task> archivedTasks = tasks.archiveDoneTasksEndedBefore(
+                    LocalDateTime.now().minusDays(AUTO_ARCHIVE_AFTER_DAYS));
+            if (!archivedTasks.isEmpty()) {
+                initialResponses.add("Archived " + archivedTasks.size() + " completed task(s) that ended over "
+                        + AUTO_ARCHIVE_AFTER_DAYS + " days ago. Use 'list --archived' to see them.");
+            }
+        } catch (SongbirdStorageException e) {
+            initialResponses.add("Failed to archive old tasks: " + e.getMessage());
+        }
+    }
+
     /**
      * Initializes the Songbird chatbot.
      *
@@ -60,7 +92,6 @@ public class Songbird {
     private void init() {
         this.ui = new Ui();
         initialResponses.add(ui.getGreeting());
-        showTodayReminder();
     }
 
     public void getResponse(String input) {
@@ -73,21 +104,14 @@ public class Songbird {
     }
 
     /**
-     * Shows a reminder for tasks that are due or occurring on the current date as a reminder whenever Songbird is
-     * initialized.
+     * Reminds the user of a deadline or event that has just come due. Called on the background thread of the
+     * reminders, so the reminder is handed over to the JavaFX application thread.
+     *
+     * @param task The task that came due.
      */
-    private void showTodayReminder() {
-        LocalDateTime today = LocalDateTime.now();
-        List<Task> tasksDueToday = tasks.getTasksByDate(today);
-
-        if (!tasksDueToday.isEmpty()) {
-            Ui.respond("REMINDER :: You have task(s) happening today (" + today + "):");
-            int counter = 1;
-            for (Task task : tasksDueToday) {
-                Ui.respond(counter + ". " + task.toString());
-                counter++;
-            }
-        }
+    private static void remind(Task task) {
+        String when = task instanceof EventTask ? "starting now" : "due now";
+        Ui.respondLater("REMINDER :: This is " + when + ":", task.toString());
     }
 
     /**
@@ -0,0 +1,29 @@
+package songbird;
+
+/**
+ * Measures how long each stage of startup takes to be reached, from when the timer is constructed. Each stage is
+ * printed to standard error as it is reached, but only if the JVM is started with {@code -Dsongbird.startupTiming},
+ * so startup can be profiled without changing the code. Stages may be reached on any thread.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+final class StartupTimer {
+    private static final String ENABLED_PROPERTY = "songbird.startupTiming";
+
+    private final long startNanos = System.nanoTime();
+    private final boolean isEnabled = System.getProperty(ENABLED_PROPERTY) != null;
+
+    /**
+     * Records that a stage of startup has been reached.
+     *
+     * @param stage A description of the stage.
+     */
+    void mark(String stage) {
+        if (isEnabled) {
+            long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            System.err.printf("[startup] %s after %d ms (%s)%n", stage, elapsedMillis,
+                    Thread.currentThread().getName());
+        }
+    }
+}
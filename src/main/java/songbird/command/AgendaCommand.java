@@ -0,0 +1,56 @@
+package songbird.command;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import songbird.task.Task;
+import songbird.task.TaskList;
+import songbird.ui.Ui;
+
+/**
+ * Lists tasks that occur between two dates, inclusive, in time order. Only applies to Deadlines and Events.
+ * Used for both the 'between' and the 'agenda' commands.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+public class AgendaCommand extends Command {
+    private final TaskList tasks;
+    private final LocalDate from;
+    private final LocalDate to;
+
+    /**
+     * Constructs a new AgendaCommand with the specified dates.
+     *
+     * @param tasks The TaskList instance to be used by the AgendaCommand.
+     * @param from  The first date of the range.
+     * @param to    The last date of the range.
+     */
+    public AgendaCommand(TaskList tasks, LocalDate from, LocalDate to) {
+        super(CommandType.AGENDA, "agenda", "Lists tasks that occur between two dates, in time order.");
+        assert !from.isAfter(to) : "Agenda should not end before it starts";
+        this.tasks = tasks;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Executes the Agenda command.
+     * Lists tasks that occur between the specified dates and displays them to the user.
+     */
+    @Override
+    public void execute() {
+        List<Task> tasksInRange = tasks.getTasksBetween(from, to);
+        String range = from.equals(to) ? "on " + from : "between " + from + " and " + to;
+        if (tasksInRange.isEmpty()) {
+            Ui.respond("No tasks occur " + range + ".");
+        } else {
+            Ui.respond("You have " + tasksInRange.size() + " task(s) " + range + ":");
+            int counter = 1;
+            for (Task task : tasksInRange) {
+                Ui.respond(counter + ". " + task.toString());
+                counter++;
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package songbird.command;
+
+import java.util.List;
+
+import songbird.exception.SongbirdStorageException;
+import songbird.task.Task;
+import songbird.task.TaskList;
+import songbird.ui.Ui;
+
+/**
+ * Represents a command to move every completed task out of the task list and into the archive, where it can still
+ * be listed and found, but no longer slows down saving, listing and searching the task list.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+public class ArchiveCommand extends Command {
+    private final TaskList tasks;
+
+    /**
+     * Constructs the ArchiveCommand class.
+     *
+     * @param tasks The task list to archive the completed tasks of.
+     */
+    public ArchiveCommand(TaskList tasks) {
+        super(CommandType.ARCHIVE, "archive", "Moves completed tasks into the archive.");
+        this.tasks = tasks;
+    }
+
+    /**
+     * Executes the Archive command.
+     * Archives every task that is done, and tells the user how many were archived.
+     */
+    @Override
+    public void execute() {
+        try {
+            List<Task> archivedTasks = tasks.archiveDoneTasks();
+            if (archivedTasks.isEmpty()) {
+                Ui.respond("You have no completed tasks to archive.");
+            } else {
+                Ui.respond(archivedTasks.size() + " completed task(s) archived. Use 'list --archived' or "
+                        + "'find --archived <query>' to see them. This cannot be undone.",
+                        tasks.getTaskCountMessage());
+            }
+        } catch (SongbirdStorageException e) {
+            Ui.error(e.getMessage());
+        }
+    }
+}
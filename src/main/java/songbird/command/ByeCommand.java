@@ -1,5 +1,6 @@
 package songbird.command;
 
+import songbird.task.TaskList;
 import songbird.ui.Ui;
 
 /**
@@ -11,20 +12,26 @@ import songbird.ui.Ui;
  * @see Command
  */
 public class ByeCommand extends Command {
+    private final TaskList tasks;
+
     /**
      * Constructs the Bye command.
      * Initializes the Bye command with the type, friendly name, and description.
+     *
+     * @param tasks The TaskList whose pending saves are flushed before exiting.
      */
-    public ByeCommand() {
+    public ByeCommand(TaskList tasks) {
         super(CommandType.BYE, "bye", "Exits Songbird.");
+        this.tasks = tasks;
     }
 
     /**
      * Executes the Bye command.
-     * Prints a goodbye message to the user.
+     * Saves any pending changes, then prints a goodbye message to the user.
      */
     @Override
     public void execute() {
+        tasks.flushSaves();
         Ui.respond("Goodbye. Remember: I'm always listening.");
         System.exit(0);
     }
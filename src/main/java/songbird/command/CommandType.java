@@ -18,7 +18,14 @@ public enum CommandType {
     UNMARK("unmark"),
     DELETE("delete"),
     DUE("due"),
-    FIND("find");
+    BETWEEN("between"),
+    AGENDA("agenda"),
+    FIND("find"),
+    UNDO("undo"),
+    REDO("redo"),
+    STATS("stats"),
+    UPCOMING("upcoming"),
+    ARCHIVE("archive");
 
     private final String value;
 
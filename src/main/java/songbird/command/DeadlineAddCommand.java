@@ -44,6 +44,6 @@ public class DeadlineAddCommand extends Command {
     @Override
     public void execute() {
         Task addedTask = tasks.addTask(new DeadlineTask(taskDescription, deadline));
-        Ui.respond("Deadline task added:\n" + addedTask, tasks.getTaskCountMessage());
+        Ui.respond("Deadline task added as #" + addedTask.getId() + ":\n" + addedTask, tasks.getTaskCountMessage());
     }
 }
@@ -48,6 +48,6 @@ public class EventAddCommand extends Command {
     @Override
     public void execute() {
         Task addedTask = tasks.addTask(new EventTask(taskDescription, eventStart, eventEnd));
-        Ui.respond("Event task added:\n" + addedTask, tasks.getTaskCountMessage());
+        Ui.respond("Event task added as #" + addedTask.getId() + ":\n" + addedTask, tasks.getTaskCountMessage());
     }
 }
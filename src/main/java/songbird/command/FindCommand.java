@@ -2,16 +2,43 @@ package songbird.command;
 
 import java.util.List;
 
+import songbird.exception.SongbirdStorageException;
 import songbird.task.Task;
 import songbird.task.TaskList;
+import songbird.task.TaskQuery;
 import songbird.ui.Ui;
 
 /**
  * Represents the command to find tasks that contain a given keyword.
+ * In whole-word mode, tasks must instead contain every word of the keyword as a whole word. In fuzzy mode, tasks
+ * must contain a word similar to every word of the keyword, so misspelled keywords still find them. In query mode,
+ * tasks must match a query that may also filter by type, status and date. In archived mode, archived tasks must
+ * match the query instead.
  */
 public class FindCommand extends Command {
     private final String keyword;
     private final TaskList tasks;
+    private final MatchMode matchMode;
+    private final TaskQuery query;
+
+    /**
+     * Represents how the keyword is matched against task descriptions.
+     */
+    public enum MatchMode {
+        SUBSTRING("containing", "the keyword: "),
+        WHOLE_WORD("containing", "the word(s): "),
+        FUZZY("containing", "words similar to: "),
+        QUERY("matching", "the query: "),
+        ARCHIVED("in the archive matching", "the query: ");
+
+        private final String relation;
+        private final String criteria;
+
+        MatchMode(String relation, String criteria) {
+            this.relation = relation;
+            this.criteria = criteria;
+        }
+    }
 
     /**
      * Constructs for the FindCommand class.
@@ -21,9 +48,55 @@ public class FindCommand extends Command {
      * @param keyword The keyword to search for.
      */
     public FindCommand(TaskList tasks, String keyword) {
+        this(tasks, keyword, MatchMode.SUBSTRING);
+    }
+
+    /**
+     * Constructs for the FindCommand class.
+     * Initializes the command with the given keyword, matched in the given mode.
+     *
+     * @param tasks The task list to search for tasks in.
+     * @param keyword The keyword to search for.
+     * @param matchMode How the keyword is matched against task descriptions.
+     */
+    public FindCommand(TaskList tasks, String keyword, MatchMode matchMode) {
+        this(tasks, keyword, matchMode, null);
+    }
+
+    /**
+     * Constructs for the FindCommand class.
+     * Initializes the command with the given query, which is shown to the user as the given keyword.
+     *
+     * @param tasks The task list to search for tasks in.
+     * @param keyword The query as the user entered it.
+     * @param query The parsed query.
+     */
+    public FindCommand(TaskList tasks, String keyword, TaskQuery query) {
+        this(tasks, keyword, MatchMode.QUERY, query);
+    }
+
+    /**
+     * Constructs for the FindCommand class.
+     * Initializes the command with the given query, which searches the archived tasks if asked, and is shown to the
+     * user as the given keyword.
+     *
+     * @param tasks      The task list to search for tasks in.
+     * @param keyword    The query as the user entered it.
+     * @param query      The parsed query.
+     * @param isArchived Whether to search the archived tasks instead of the saved ones.
+     */
+    public FindCommand(TaskList tasks, String keyword, TaskQuery query, boolean isArchived) {
+        this(tasks, keyword, isArchived ? MatchMode.ARCHIVED : MatchMode.QUERY, query);
+    }
+
+    private FindCommand(TaskList tasks, String keyword, MatchMode matchMode, TaskQuery query) {
         super(CommandType.FIND, "Find", "Finds tasks that contain the given keyword (case-insensitive).");
+        assert (matchMode == MatchMode.QUERY || matchMode == MatchMode.ARCHIVED) == (query != null)
+                : "Only query modes should have a query";
         this.tasks = tasks;
         this.keyword = keyword;
+        this.matchMode = matchMode;
+        this.query = query;
     }
 
     /**
@@ -34,12 +107,26 @@ public class FindCommand extends Command {
     @Override
     public void execute() {
         // search task list for tasks that contain the keyword
-        List<Task> foundTasks = tasks.getTasksByKeyword(keyword);
+        List<Task> foundTasks;
+        try {
+            foundTasks = switch (matchMode) {
+                case WHOLE_WORD -> tasks.getTasksByWords(keyword);
+                case FUZZY -> tasks.getTasksBySimilarWords(keyword);
+                case QUERY -> tasks.getTasksByQuery(query);
+                case ARCHIVED -> tasks.getArchivedTasksByQuery(query);
+                default -> tasks.getTasksByKeyword(keyword);
+            };
+        } catch (SongbirdStorageException e) {
+            Ui.error(e.getMessage());
+            return;
+        }
+        String criteria = matchMode.criteria;
 
         if (foundTasks.isEmpty()) {
-            Ui.respond("No tasks found with the keyword: " + keyword);
+            Ui.respond("No tasks found with " + criteria + keyword);
         } else {
-            Ui.respond("Found " + foundTasks.size() + " tasks containing the keyword: " + keyword + ":");
+            Ui.respond("Found " + foundTasks.size() + " tasks " + matchMode.relation + " " + criteria + keyword
+                    + ":");
             int counter = 1;
             for (Task task : foundTasks) {
                 Ui.respond(counter + ". " + task.toString());
@@ -1,37 +1,132 @@
 package songbird.command;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import songbird.exception.SongbirdStorageException;
 import songbird.task.TaskList;
 import songbird.ui.Ui;
 
 /**
  * Represents a command that lists all saved tasks.
  * The List command is used to display all saved tasks to the user.
- * The command does not require any additional input from the user.
+ * The command can optionally list a single page of tasks instead, so that only the requested page of a very large
+ * task list is rendered. Tasks keep their usual numbers on every page, and can be shown with their IDs. Archived tasks
+ * can be listed the same way instead.
  *
  * @author Ashe Low
  * @version CS2103T AY24/25 Semester 2
  * @see Command
  */
 public class ListCommand extends Command {
+    /** The number of tasks on a page when a page is requested without a limit. */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
     private final TaskList tasks;
+    private final int page;
+    private final int pageSize;
+    private final boolean isShowingIds;
+    private final boolean isArchived;
 
     /**
      * Constructs the ListCommand class.
-     * Initializes the command with the given TaskList.
+     * Initializes the command with the given TaskList, listing every task.
      *
      * @param tasks The TaskList to be used by the command.
      */
     public ListCommand(TaskList tasks) {
-        super(CommandType.LIST, "list", "Lists all saved tasks.");
+        this(tasks, 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructs the ListCommand class.
+     * Initializes the command with the given TaskList, listing a single page of tasks.
+     *
+     * @param tasks    The TaskList to be used by the command.
+     * @param page     The 1-based number of the page to list.
+     * @param pageSize The number of tasks on each page.
+     */
+    public ListCommand(TaskList tasks, int page, int pageSize) {
+        this(tasks, page, pageSize, false);
+    }
+
+    /**
+     * Constructs the ListCommand class.
+     * Initializes the command with the given TaskList, listing a single page of tasks, optionally with their IDs.
+     *
+     * @param tasks        The TaskList to be used by the command.
+     * @param page         The 1-based number of the page to list.
+     * @param pageSize     The number of tasks on each page.
+     * @param isShowingIds Whether to show the ID of each task.
+     */
+    public ListCommand(TaskList tasks, int page, int pageSize, boolean isShowingIds) {
+        this(tasks, page, pageSize, isShowingIds, false);
+    }
+
+    /**
+     * Constructs the ListCommand class.
+     * Initializes the command with the given TaskList, listing a single page of its tasks or of its archived tasks,
+     * optionally with their IDs.
+     *
+     * @param tasks        The TaskList to be used by the command.
+     * @param page         The 1-based number of the page to list.
+     * @param pageSize     The number of tasks on each page.
+     * @param isShowingIds Whether to show the ID of each task.
+     * @param isArchived   Whether to list the archived tasks instead of the saved ones.
+     */
+    public ListCommand(TaskList tasks, int page, int pageSize, boolean isShowingIds, boolean isArchived) {
+        super(CommandType.LIST, "list", "Lists all saved tasks, or a page of them.");
+        assert page > 0 : "Page number should be positive";
+        assert pageSize > 0 : "Page size should be positive";
         this.tasks = tasks;
+        this.page = page;
+        this.pageSize = pageSize;
+        this.isShowingIds = isShowingIds;
+        this.isArchived = isArchived;
     }
 
     /**
      * Executes the List command.
-     * Prints the list of saved tasks to the user.
+     * Prints the requested page of saved tasks to the user.
      */
     @Override
     public void execute() {
-        Ui.respond(tasks.toString());
+        String kind = isArchived ? "archived" : "saved";
+        try {
+            int size = isArchived ? tasks.getArchivedCount() : tasks.getSize();
+            if (size == 0) {
+                Ui.respond("You have no " + kind + " tasks.");
+                return;
+            }
+
+            int pageCount = (int) ((size + (long) pageSize - 1) / pageSize);
+            if (page > pageCount) {
+                Ui.respond("There is no page " + page + ". Your " + size + (isArchived ? " archived" : "")
+                        + " task(s) fit on " + pageCount + " page(s).");
+                return;
+            }
+
+            int fromIndex = (int) Math.min((long) (page - 1) * pageSize, size);
+            int toIndex = (int) Math.min((long) fromIndex + pageSize, size);
+            StringBuilder output = new StringBuilder();
+            if (pageCount == 1) {
+                output.append("Your ").append(kind).append(" tasks are:\n");
+            } else {
+                output.append("Your ").append(kind).append(" tasks ").append(fromIndex + 1).append('-')
+                        .append(toIndex).append(" of ").append(size).append(" (page ").append(page).append(" of ")
+                        .append(pageCount).append(") are:\n");
+            }
+
+            if (isArchived) {
+                tasks.writeArchivedTasks(output, fromIndex, toIndex, isShowingIds);
+            } else {
+                tasks.writeTasks(output, fromIndex, toIndex, isShowingIds);
+            }
+            Ui.respond(output.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // never thrown by a StringBuilder
+        } catch (SongbirdStorageException e) {
+            Ui.error(e.getMessage());
+        }
     }
 }
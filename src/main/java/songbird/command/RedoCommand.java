@@ -0,0 +1,45 @@
+package songbird.command;
+
+import java.util.List;
+
+import songbird.task.TaskList;
+import songbird.ui.Ui;
+
+/**
+ * Represents a command to redo the most recently undone changes to the task list.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+public class RedoCommand extends Command {
+    private final TaskList tasks;
+    private final int steps;
+
+    /**
+     * Constructs the RedoCommand class.
+     * Initializes the command with the number of changes to redo.
+     *
+     * @param tasks The task list whose undone changes are redone.
+     * @param steps The number of changes to redo.
+     */
+    public RedoCommand(TaskList tasks, int steps) {
+        super(CommandType.REDO, "redo", "Redoes the most recently undone changes to the task list.");
+        assert steps > 0 : "The number of changes to redo should be positive";
+        this.tasks = tasks;
+        this.steps = steps;
+    }
+
+    /**
+     * Executes the Redo command.
+     * Redoes up to the given number of undone changes, and lists the changes that were redone.
+     */
+    @Override
+    public void execute() {
+        List<String> redoneChanges = tasks.redo(steps);
+        if (redoneChanges.isEmpty()) {
+            Ui.respond("There is nothing to redo.");
+            return;
+        }
+        Ui.respond("Redone:\n" + String.join("\n", redoneChanges), tasks.getTaskCountMessage());
+    }
+}
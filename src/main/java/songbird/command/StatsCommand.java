@@ -0,0 +1,51 @@
+package songbird.command;
+
+import java.time.LocalDateTime;
+
+import songbird.task.TaskList;
+import songbird.task.TaskStats;
+import songbird.task.TaskType;
+import songbird.ui.Ui;
+
+/**
+ * Represents a command to show how many tasks there are, how many of each type, how many are done, and how many
+ * deadlines are overdue.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+public class StatsCommand extends Command {
+    private final TaskList tasks;
+    private final LocalDateTime now;
+
+    /**
+     * Constructs the StatsCommand class.
+     *
+     * @param tasks The task list to show the counts of.
+     * @param now   The current date/time, which deadlines before are overdue.
+     */
+    public StatsCommand(TaskList tasks, LocalDateTime now) {
+        super(CommandType.STATS, "stats", "Shows counts of tasks by type and status, and overdue deadlines.");
+        this.tasks = tasks;
+        this.now = now;
+    }
+
+    /**
+     * Executes the Stats command.
+     * Displays the counts of tasks, which the task list keeps up to date, so no task is visited.
+     */
+    @Override
+    public void execute() {
+        TaskStats stats = tasks.getStats(now);
+        Ui.respond("You have " + stats.getCount() + " task(s): " + stats.getDoneCount() + " done, "
+                        + stats.getPendingCount() + " not done.",
+                describeType(stats, TaskType.TODO, "ToDo(s)"),
+                describeType(stats, TaskType.DEADLINE, "Deadline(s)"),
+                describeType(stats, TaskType.EVENT, "Event(s)"),
+                stats.getOverdueCount() + " deadline(s) overdue.");
+    }
+
+    private static String describeType(TaskStats stats, TaskType taskType, String name) {
+        return name + ": " + stats.getCount(taskType) + " (" + stats.getDoneCount(taskType) + " done)";
+    }
+}
@@ -1,19 +1,24 @@
 package songbird.command;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import songbird.exception.SongbirdNonExistentTaskException;
 import songbird.task.Task;
 import songbird.task.TaskList;
+import songbird.task.TaskReference;
+import songbird.task.TaskSelector;
 import songbird.ui.Ui;
 
 /**
- * Represents a command to delete a task from the task list.
+ * Represents a command to delete a task, or a selection of tasks, from the task list.
  *
  * @author Ashe Low
  * @version CS2103T AY24/25 Semester 2
  */
 public class TaskDeleteCommand extends Command {
     private final TaskList tasks;
-    private final int taskIndex;
+    private final TaskSelector taskSelector;
 
     /**
      * Constructs the TaskDeleteCommand class.
@@ -22,20 +27,49 @@ public class TaskDeleteCommand extends Command {
      * @param taskIndex The index of the task to be deleted.
      */
     public TaskDeleteCommand(TaskList tasks, int taskIndex) {
+        this(tasks, TaskReference.ofIndex(taskIndex));
+    }
+
+    /**
+     * Constructs the TaskDeleteCommand class.
+     * Initializes the command with the task to be deleted, referred to by its position or ID.
+     *
+     * @param tasks         The task list the task is in.
+     * @param taskReference The task to be deleted.
+     */
+    public TaskDeleteCommand(TaskList tasks, TaskReference taskReference) {
+        this(tasks, TaskSelector.ofTask(taskReference));
+    }
+
+    /**
+     * Constructs the TaskDeleteCommand class.
+     * Initializes the command with a selection of tasks, which are all deleted at once.
+     *
+     * @param tasks        The task list the tasks are in.
+     * @param taskSelector The tasks to be deleted.
+     */
+    public TaskDeleteCommand(TaskList tasks, TaskSelector taskSelector) {
         super(CommandType.DELETE, "delete", "Deletes a task from the task list.");
-        this.taskIndex = taskIndex;
+        this.taskSelector = taskSelector;
         this.tasks = tasks;
     }
 
     /**
      * Executes the Delete command.
-     * Deletes the task at the specified index from the task list.
+     * Deletes the tasks referred to from the task list, all at once.
      */
     @Override
     public void execute() {
         try {
-            Task deletedTask = tasks.deleteTask(taskIndex);
-            Ui.respond("Task deleted:\n" + deletedTask, tasks.getTaskCountMessage());
+            List<Task> deletedTasks = tasks.deleteTasks(taskSelector);
+            if (taskSelector.isSingleTask()) {
+                Ui.respond("Task deleted:\n" + deletedTasks.get(0), tasks.getTaskCountMessage());
+            } else if (deletedTasks.isEmpty()) {
+                Ui.respond("No tasks matched, so none were deleted.");
+            } else {
+                String taskLines = deletedTasks.stream().map(Task::toString).collect(Collectors.joining("\n"));
+                Ui.respond(deletedTasks.size() + " task(s) deleted:\n" + taskLines, tasks.getTaskCountMessage());
+            }
         } catch (SongbirdNonExistentTaskException e) {
             Ui.error(e.getMessage());
         }
@@ -1,19 +1,24 @@
 package songbird.command;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import songbird.exception.SongbirdNonExistentTaskException;
 import songbird.task.Task;
 import songbird.task.TaskList;
+import songbird.task.TaskReference;
+import songbird.task.TaskSelector;
 import songbird.ui.Ui;
 
 /**
- * Represents a command to mark a task as done in the task list.
+ * Represents a command to mark a task, or a selection of tasks, as done in the task list.
  *
  * @author Ashe Low
  * @version CS2103T AY24/25 Semester 2
  */
 public class TaskMarkCommand extends Command {
     private final TaskList tasks;
-    private final int taskIndex;
+    private final TaskSelector taskSelector;
 
     /**
      * Constructs the MarkCommand class.
@@ -22,22 +27,49 @@ public class TaskMarkCommand extends Command {
      * @param taskIndex The index of the task to be marked as done, 0-indexed.
      */
     public TaskMarkCommand(TaskList tasks, int taskIndex) {
+        this(tasks, TaskReference.ofIndex(taskIndex));
+    }
+
+    /**
+     * Constructs the TaskMarkCommand class.
+     * Initializes the command with the task to be marked as done, referred to by its position or ID.
+     *
+     * @param tasks         The task list the task is in.
+     * @param taskReference The task to be marked as done.
+     */
+    public TaskMarkCommand(TaskList tasks, TaskReference taskReference) {
+        this(tasks, TaskSelector.ofTask(taskReference));
+    }
+
+    /**
+     * Constructs the TaskMarkCommand class.
+     * Initializes the command with a selection of tasks, which are all marked as done at once.
+     *
+     * @param tasks        The task list the tasks are in.
+     * @param taskSelector The tasks to be marked as done.
+     */
+    public TaskMarkCommand(TaskList tasks, TaskSelector taskSelector) {
         super(CommandType.MARK, "mark", "Marks a task as done.");
-        this.taskIndex = taskIndex;
+        this.taskSelector = taskSelector;
         this.tasks = tasks;
     }
 
     /**
      * Executes the Mark command.
-     * Marks the task at the specified index as done.
+     * Marks the tasks referred to as done, all at once.
      */
     @Override
     public void execute() {
         try {
-            Task retrievedTask = tasks.getTask(taskIndex);
-            retrievedTask.setTaskDone();
-            Ui.respond("Task marked as done:\n" + retrievedTask);
-            tasks.saveList();
+            List<Task> markedTasks = tasks.markTasks(taskSelector);
+            if (taskSelector.isSingleTask()) {
+                Ui.respond("Task marked as done:\n" + markedTasks.get(0));
+            } else if (markedTasks.isEmpty()) {
+                Ui.respond("No tasks matched, so none were marked as done.");
+            } else {
+                String taskLines = markedTasks.stream().map(Task::toString).collect(Collectors.joining("\n"));
+                Ui.respond(markedTasks.size() + " task(s) marked as done:\n" + taskLines);
+            }
         } catch (SongbirdNonExistentTaskException e) {
             Ui.error(e.getMessage());
         }
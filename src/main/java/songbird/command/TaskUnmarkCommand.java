@@ -1,19 +1,24 @@
 package songbird.command;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import songbird.exception.SongbirdNonExistentTaskException;
 import songbird.task.Task;
 import songbird.task.TaskList;
+import songbird.task.TaskReference;
+import songbird.task.TaskSelector;
 import songbird.ui.Ui;
 
 /**
- * Represents a command to mark a task as not done in the task list.
+ * Represents a command to mark a task, or a selection of tasks, as not done in the task list.
  *
  * @author Ashe Low
  * @version CS2103T AY24/25 Semester 2
  */
 public class TaskUnmarkCommand extends Command {
     private final TaskList tasks;
-    private final int taskIndex;
+    private final TaskSelector taskSelector;
 
     /**
      * Constructs the UnmarkCommand class.
@@ -22,21 +27,49 @@ public class TaskUnmarkCommand extends Command {
      * @param taskIndex The index of the task to be marked as not done, 0-indexed.
      */
     public TaskUnmarkCommand(TaskList tasks, int taskIndex) {
+        this(tasks, TaskReference.ofIndex(taskIndex));
+    }
+
+    /**
+     * Constructs the TaskUnmarkCommand class.
+     * Initializes the command with the task to be marked as not done, referred to by its position or ID.
+     *
+     * @param tasks         The task list the task is in.
+     * @param taskReference The task to be marked as not done.
+     */
+    public TaskUnmarkCommand(TaskList tasks, TaskReference taskReference) {
+        this(tasks, TaskSelector.ofTask(taskReference));
+    }
+
+    /**
+     * Constructs the TaskUnmarkCommand class.
+     * Initializes the command with a selection of tasks, which are all marked as not done at once.
+     *
+     * @param tasks        The task list the tasks are in.
+     * @param taskSelector The tasks to be marked as not done.
+     */
+    public TaskUnmarkCommand(TaskList tasks, TaskSelector taskSelector) {
         super(CommandType.UNMARK, "unmark", "Marks a task as not done.");
-        this.taskIndex = taskIndex;
+        this.taskSelector = taskSelector;
         this.tasks = tasks;
     }
 
     /**
      * Executes the Unmark command.
-     * Marks the task at the specified index as not done.
+     * Marks the tasks referred to as not done, all at once.
      */
     @Override
     public void execute() {
         try {
-            Task retrievedTask = tasks.getTask(taskIndex);
-            retrievedTask.setTaskNotDone();
-            Ui.respond("Task marked as not done:\n" + retrievedTask);
+            List<Task> unmarkedTasks = tasks.unmarkTasks(taskSelector);
+            if (taskSelector.isSingleTask()) {
+                Ui.respond("Task marked as not done:\n" + unmarkedTasks.get(0));
+            } else if (unmarkedTasks.isEmpty()) {
+                Ui.respond("No tasks matched, so none were marked as not done.");
+            } else {
+                String taskLines = unmarkedTasks.stream().map(Task::toString).collect(Collectors.joining("\n"));
+                Ui.respond(unmarkedTasks.size() + " task(s) marked as not done:\n" + taskLines);
+            }
         } catch (SongbirdNonExistentTaskException e) {
             Ui.error(e.getMessage());
         }
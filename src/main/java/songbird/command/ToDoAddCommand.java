@@ -36,6 +36,6 @@ public class ToDoAddCommand extends Command {
     @Override
     public void execute() {
         Task addedTask = tasks.addTask(new ToDoTask(taskDescription));
-        Ui.respond("ToDo task added:\n" + addedTask, tasks.getTaskCountMessage());
+        Ui.respond("ToDo task added as #" + addedTask.getId() + ":\n" + addedTask, tasks.getTaskCountMessage());
     }
 }
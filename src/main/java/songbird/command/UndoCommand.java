@@ -0,0 +1,45 @@
+package songbird.command;
+
+import java.util.List;
+
+import songbird.task.TaskList;
+import songbird.ui.Ui;
+
+/**
+ * Represents a command to undo the most recent changes to the task list.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+public class UndoCommand extends Command {
+    private final TaskList tasks;
+    private final int steps;
+
+    /**
+     * Constructs the UndoCommand class.
+     * Initializes the command with the number of changes to undo.
+     *
+     * @param tasks The task list whose changes are undone.
+     * @param steps The number of changes to undo.
+     */
+    public UndoCommand(TaskList tasks, int steps) {
+        super(CommandType.UNDO, "undo", "Undoes the most recent changes to the task list.");
+        assert steps > 0 : "The number of changes to undo should be positive";
+        this.tasks = tasks;
+        this.steps = steps;
+    }
+
+    /**
+     * Executes the Undo command.
+     * Undoes up to the given number of changes, and lists the changes that were undone.
+     */
+    @Override
+    public void execute() {
+        List<String> undoneChanges = tasks.undo(steps);
+        if (undoneChanges.isEmpty()) {
+            Ui.respond("There is nothing to undo.");
+            return;
+        }
+        Ui.respond("Undone:\n" + String.join("\n", undoneChanges), tasks.getTaskCountMessage());
+    }
+}
@@ -0,0 +1,53 @@
+package songbird.command;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import songbird.task.Task;
+import songbird.task.TaskList;
+import songbird.ui.Ui;
+
+/**
+ * Lists the deadlines and events that are not done and are due next, in the order they are due.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+public class UpcomingCommand extends Command {
+    private final TaskList tasks;
+    private final int count;
+    private final LocalDateTime now;
+
+    /**
+     * Constructs the UpcomingCommand class.
+     *
+     * @param tasks The task list to look up the tasks in.
+     * @param count The maximum number of tasks to list.
+     * @param now   The current date/time, which tasks due from are listed.
+     */
+    public UpcomingCommand(TaskList tasks, int count, LocalDateTime now) {
+        super(CommandType.UPCOMING, "upcoming", "Lists the next deadlines and events that are not done.");
+        this.tasks = tasks;
+        this.count = count;
+        this.now = now;
+    }
+
+    /**
+     * Executes the Upcoming command.
+     * Lists at most the given number of tasks due from now, by their deadline or start, and displays them.
+     */
+    @Override
+    public void execute() {
+        List<Task> upcomingTasks = tasks.getUpcomingTasks(now, count);
+        if (upcomingTasks.isEmpty()) {
+            Ui.respond("You have no upcoming deadlines or events.");
+            return;
+        }
+        Ui.respond("Your next " + upcomingTasks.size() + " deadline(s) and event(s):");
+        int counter = 1;
+        for (Task task : upcomingTasks) {
+            Ui.respond(counter + ". " + task.toString());
+            counter++;
+        }
+    }
+}
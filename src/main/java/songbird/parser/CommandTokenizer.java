@@ -0,0 +1,197 @@
+package songbird.parser;
+
+import java.util.Arrays;
+
+import songbird.exception.SongbirdMalformedCommandException;
+
+/**
+ * Splits a line of user input into its command word, its parameters, and the description and flags within the
+ * parameters, in a single pass over the input. Only the spans of each part are recorded while scanning, and strings
+ * are only cut out of the input when a part is asked for.
+ * <p>
+ * A flag is one of '/by', '/from' or '/to' standing as a word on its own, and its value is the text after it, up to
+ * the next flag or the end of the input. Flags may be given in any order. The description is the text before the
+ * first flag. Text within double quotes is never taken for a flag, so descriptions may contain them, and the quotes
+ * themselves are left out of the description and flag values. A quote that is not closed runs to the end of the
+ * input.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+final class CommandTokenizer {
+    static final String BY_FLAG = "/by";
+    static final String FROM_FLAG = "/from";
+    static final String TO_FLAG = "/to";
+
+    private static final String[] FLAGS = {BY_FLAG, FROM_FLAG, TO_FLAG};
+    private static final char QUOTE = '"';
+    private static final char FLAG_PREFIX = '/';
+
+    private final String input;
+    private final int commandStart;
+    private final int commandEnd;
+    private final int end;
+    private final int[] flagStarts = new int[FLAGS.length]; // the start of the value of each flag, or -1 if absent
+    private final int[] flagEnds = new int[FLAGS.length];
+    private final boolean[] isFlagRepeated = new boolean[FLAGS.length];
+    private int descriptionEnd;
+
+    /**
+     * Constructs a CommandTokenizer, which scans the input.
+     *
+     * @param input The line of user input.
+     */
+    CommandTokenizer(String input) {
+        this.input = input;
+        int start = 0;
+        int end = input.length();
+        while (start < end && Character.isWhitespace(input.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(input.charAt(end - 1))) {
+            end--;
+        }
+        int commandEnd = start;
+        while (commandEnd < end && !Character.isWhitespace(input.charAt(commandEnd))) {
+            commandEnd++;
+        }
+        this.commandStart = start;
+        this.commandEnd = commandEnd;
+        this.end = end;
+        Arrays.fill(flagStarts, -1);
+        scanParameters();
+    }
+
+    /**
+     * Finds the flags in the parameters, and where the description and the value of each flag end.
+     */
+    private void scanParameters() {
+        int currentFlag = -1; // the flag whose value is being scanned, or -1 for the description
+        boolean isQuoted = false;
+        descriptionEnd = end;
+        for (int i = commandEnd; i < end; i++) {
+            char c = input.charAt(i);
+            if (c == QUOTE) {
+                isQuoted = !isQuoted;
+                continue;
+            }
+            if (isQuoted || c != FLAG_PREFIX || !Character.isWhitespace(input.charAt(i - 1))) {
+                continue;
+            }
+            int flag = matchFlag(i);
+            if (flag < 0) {
+                continue;
+            }
+            if (currentFlag < 0) {
+                descriptionEnd = i;
+            } else {
+                flagEnds[currentFlag] = i;
+            }
+            isFlagRepeated[flag] |= flagStarts[flag] >= 0;
+            currentFlag = flag;
+            flagStarts[flag] = i + FLAGS[flag].length();
+            flagEnds[flag] = end;
+            i = flagStarts[flag] - 1;
+        }
+    }
+
+    /**
+     * Returns the index of the flag that stands as a word at the given position, or -1 if there is none.
+     */
+    private int matchFlag(int position) {
+        for (int flag = 0; flag < FLAGS.length; flag++) {
+            int flagEnd = position + FLAGS[flag].length();
+            if (flagEnd <= end && input.startsWith(FLAGS[flag], position)
+                    && (flagEnd == end || Character.isWhitespace(input.charAt(flagEnd)))) {
+                return flag;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the command word, the first word of the input.
+     *
+     * @return The command word, or an empty string if the input is blank.
+     */
+    String getCommandWord() {
+        return input.substring(commandStart, commandEnd);
+    }
+
+    /**
+     * Returns the parameters, everything after the command word, as they were given.
+     *
+     * @return The parameters, trimmed, or an empty string if there are none.
+     */
+    String getParameters() {
+        return input.substring(skipWhitespace(commandEnd, end), end);
+    }
+
+    /**
+     * Returns the parameters, everything after the command word, with quotes removed in the same way as from the
+     * description. This is the description of commands that take no flags, for which flags are ordinary words.
+     *
+     * @return The parameters, trimmed and without quotes, which is empty if there are none.
+     */
+    String getUnquotedParameters() {
+        return extract(commandEnd, end);
+    }
+
+    /**
+     * Returns the description, the parameters before the first flag.
+     *
+     * @return The description, trimmed and without quotes, which is empty if there is none.
+     */
+    String getDescription() {
+        return extract(commandEnd, descriptionEnd);
+    }
+
+    /**
+     * Returns the value of a flag.
+     *
+     * @param flag The flag, e.g. {@link #BY_FLAG}.
+     * @return The value of the flag, trimmed and without quotes, or null if the flag was not given.
+     * @throws SongbirdMalformedCommandException If the flag was given more than once.
+     */
+    String getFlag(String flag) throws SongbirdMalformedCommandException {
+        for (int i = 0; i < FLAGS.length; i++) {
+            if (!FLAGS[i].equals(flag)) {
+                continue;
+            }
+            if (isFlagRepeated[i]) {
+                throw new SongbirdMalformedCommandException("'" + flag + "' can only be given once.");
+            }
+            return flagStarts[i] < 0 ? null : extract(flagStarts[i], flagEnds[i]);
+        }
+        throw new IllegalArgumentException("Unknown flag: " + flag);
+    }
+
+    /**
+     * Cuts the text between the given positions out of the input, trimmed and without quotes.
+     */
+    private String extract(int start, int end) {
+        start = skipWhitespace(start, end);
+        while (end > start && Character.isWhitespace(input.charAt(end - 1))) {
+            end--;
+        }
+        int quote = input.indexOf(QUOTE, start);
+        if (quote < 0 || quote >= end) {
+            return input.substring(start, end);
+        }
+        StringBuilder text = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            if (c != QUOTE) {
+                text.append(c);
+            }
+        }
+        return text.toString().trim();
+    }
+
+    private int skipWhitespace(int start, int end) {
+        while (start < end && Character.isWhitespace(input.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+}
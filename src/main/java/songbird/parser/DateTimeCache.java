@@ -0,0 +1,158 @@
+package songbird.parser;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import songbird.exception.SongbirdMalformedCommandException;
+
+/**
+ * Remembers the date/times that natural language inputs were last parsed into, so a phrase the user repeats, such as
+ * "tomorrow 9am" or "next monday", is only run through the natural language model once a day.
+ * <p>
+ * Inputs are looked up after trimming, lowercasing and collapsing their whitespace, together with the day they are
+ * parsed on, so relative phrases are parsed again after midnight. Phrases that count in hours, minutes or seconds, or
+ * from now, move with the clock rather than the day, so for those the offset from the time they were parsed at is
+ * kept instead, and added to the current time on a hit. Inputs that fail to parse are not remembered.
+ * <p>
+ * At most the given number of inputs are remembered, and the least recently used is forgotten first. The cache is
+ * thread-safe, but the natural language model runs outside its lock.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+final class DateTimeCache {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern CLOCK_RELATIVE_WORD =
+            Pattern.compile("\\b(now|hours?|hrs?|minutes?|mins?|seconds?|secs?)\\b");
+
+    private final Map<Key, Entry> entries; // guarded by this, in least recently used order
+    private long hitCount; // guarded by this
+    private long missCount; // guarded by this
+
+    /**
+     * Parses natural language inputs into date/times, relative to a given date/time.
+     */
+    @FunctionalInterface
+    interface Resolver {
+        LocalDateTime resolve(String input, LocalDateTime now) throws SongbirdMalformedCommandException;
+    }
+
+    /**
+     * Identifies an input parsed on a given day.
+     */
+    private static final class Key {
+        private final String input;
+        private final LocalDate day;
+
+        private Key(String input, LocalDate day) {
+            this.input = input;
+            this.day = day;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && input.equals(key.input) && day.equals(key.day);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * input.hashCode() + day.hashCode();
+        }
+    }
+
+    /**
+     * Holds what an input was parsed into: a date/time, or an offset from the time it was parsed at.
+     */
+    private static final class Entry {
+        private final LocalDateTime dateTime; // null if the offset is used
+        private final Duration offset; // null if the date/time is used
+
+        private Entry(LocalDateTime dateTime, Duration offset) {
+            this.dateTime = dateTime;
+            this.offset = offset;
+        }
+
+        private LocalDateTime resolve(LocalDateTime now) {
+            return dateTime != null ? dateTime : now.plus(offset);
+        }
+    }
+
+    /**
+     * Constructs an empty DateTimeCache.
+     *
+     * @param capacity The maximum number of inputs to remember.
+     */
+    DateTimeCache(int capacity) {
+        assert capacity > 0 : "Cache capacity should be positive";
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the date/time the input was parsed into earlier today, or parses it with the resolver and remembers it.
+     *
+     * @param input    The input to parse.
+     * @param now      The current date/time, which the input is relative to.
+     * @param resolver Parses the input if it is not remembered.
+     * @return The parsed date/time.
+     * @throws SongbirdMalformedCommandException If the resolver cannot parse the input.
+     */
+    LocalDateTime get(String input, LocalDateTime now, Resolver resolver) throws SongbirdMalformedCommandException {
+        String normalizedInput = WHITESPACE.matcher(input.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        Key key = new Key(normalizedInput, now.toLocalDate());
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hitCount++;
+                return entry.resolve(now);
+            }
+            missCount++;
+        }
+
+        LocalDateTime dateTime = resolver.resolve(input, now);
+        assert dateTime != null : "Resolver should throw rather than return null";
+        Entry entry = CLOCK_RELATIVE_WORD.matcher(normalizedInput).find()
+                ? new Entry(null, Duration.between(now, dateTime))
+                : new Entry(dateTime, null);
+        synchronized (this) {
+            entries.put(key, entry);
+        }
+        return dateTime;
+    }
+
+    /**
+     * Returns the number of lookups that found their input remembered.
+     *
+     * @return The number of hits.
+     */
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that had to parse their input.
+     *
+     * @return The number of misses.
+     */
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of inputs remembered.
+     *
+     * @return The number of inputs.
+     */
+    synchronized int size() {
+        return entries.size();
+    }
+}
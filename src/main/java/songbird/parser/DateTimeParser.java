@@ -4,6 +4,8 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.zoho.hawking.HawkingTimeParser;
 import com.zoho.hawking.datetimeparser.configuration.HawkingConfiguration;
@@ -15,22 +17,80 @@ import songbird.exception.SongbirdMalformedCommandException;
 /**
  * Helper class to parse date/time strings into LocalDate or LocalDateTime objects.
  * Allows multiple input formats. Outputs are always in ISO date/time.
+ * Safe to use from multiple threads, which parse natural language in parallel on a pool of parsers, one per processor
+ * at most.
  *
  * @author Ashe Low
  * @version CS2103T AY24/25 Semester 2
  */
 public class DateTimeParser {
-    private static final HawkingTimeParser PARSER;
-    private static final HawkingConfiguration CONFIGURATION;
     private static final String LANGUAGE = "eng";
+    private static final int CACHE_CAPACITY = 256;
+    private static final DateTimeCache CACHE = new DateTimeCache(CACHE_CAPACITY);
+    private static final ParserPool<NaturalLanguageParser> PARSERS =
+            new ParserPool<>(Runtime.getRuntime().availableProcessors(), NaturalLanguageParser::new);
+    private static final AtomicBoolean IS_WARM_UP_STARTED = new AtomicBoolean();
+    private static final CompletableFuture<Void> WARM_UP = new CompletableFuture<>();
 
-    static {
-        PARSER = new HawkingTimeParser();
-        CONFIGURATION = new HawkingConfiguration();
-        CONFIGURATION.setTimeZone(ZoneId.systemDefault().getId());
-        CONFIGURATION.setMaxParseDate(1); // only parse one date
-        // dummy sentence to load parser model into RAM first for faster parsing later
-        PARSER.parse("what are you doing tomorrow?", new Date(), new HawkingConfiguration(), "eng");
+    /**
+     * Holds a natural language parser and its configuration, which are not thread-safe, so each is only used by one
+     * thread at a time, borrowed from the pool. Every instance shares the model, which is loaded once by the first.
+     */
+    private static final class NaturalLanguageParser {
+        private final HawkingTimeParser parser = new HawkingTimeParser();
+        private final HawkingConfiguration configuration = new HawkingConfiguration();
+
+        private NaturalLanguageParser() {
+            configuration.setTimeZone(ZoneId.systemDefault().getId());
+            configuration.setMaxParseDate(1); // only parse one date
+        }
+
+        private DatesFound parse(String input, Date referenceDate) {
+            return parser.parse(input, referenceDate, configuration, LANGUAGE);
+        }
+    }
+
+    /**
+     * Starts loading the natural language model on a background thread, unless it is already loading or loaded.
+     * Loading the model takes a while, so this should be called as early as possible at startup. Inputs that need
+     * the model before it has loaded wait for it; other inputs never do.
+     *
+     * @return A future that completes once the model has loaded.
+     */
+    public static CompletableFuture<Void> startWarmUp() {
+        if (IS_WARM_UP_STARTED.compareAndSet(false, true)) {
+            Thread thread = new Thread(DateTimeParser::warmUp, "songbird-nlp-warm-up");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return WARM_UP.copy();
+    }
+
+    /**
+     * Borrows a natural language parser from the pool, waiting for the model to load if needed. If the warm-up was
+     * never started, the model is loaded on the calling thread. The parser must be returned to the pool after use.
+     */
+    private static NaturalLanguageParser borrowParser() throws InterruptedException {
+        if (IS_WARM_UP_STARTED.compareAndSet(false, true)) {
+            warmUp();
+        }
+        WARM_UP.join();
+        return PARSERS.borrow();
+    }
+
+    private static void warmUp() {
+        try {
+            NaturalLanguageParser parser = PARSERS.borrow();
+            try {
+                // dummy sentence to load parser model into RAM first for faster parsing later
+                parser.parse("what are you doing tomorrow?", new Date());
+            } finally {
+                PARSERS.release(parser);
+            }
+            WARM_UP.complete(null);
+        } catch (Throwable e) {
+            WARM_UP.completeExceptionally(e);
+        }
     }
 
     /**
@@ -41,15 +101,68 @@ public class DateTimeParser {
      * - "in 3 days"
      * - "next week"
      * - Standard date/time formats are still supported
+     * The common formats recognised by {@link FastDateTimeParser} are parsed by it directly, without the natural
+     * language model, which is far slower, and other inputs already parsed today are looked up in a cache.
      *
      * @param input The input string to be parsed.
-     * @return The LocalDateTime object parsed from the input string.
-     * @throws SongbirdMalformedCommandException If the input string cannot be parsed into a LocalDateTime object.
+     * @return The LocalDateTime object parsed from the input string, never null.
+     * @throws SongbirdMalformedCommandException If the input string cannot be parsed into a LocalDateTime object,
+     *                                           including when it holds no date/time at all.
      */
     public static LocalDateTime parseDateTime(String input) throws SongbirdMalformedCommandException {
-        Date referenceDate = new Date();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime dateTime = FastDateTimeParser.tryParse(input, now.toLocalDate());
+        return dateTime != null ? dateTime : CACHE.get(input, now, DateTimeParser::parseNaturalDateTime);
+    }
+
+    /**
+     * Returns the number of natural language inputs that were found in the cache, since the application started.
+     *
+     * @return The number of cache hits.
+     */
+    public static long getCacheHitCount() {
+        return CACHE.getHitCount();
+    }
+
+    /**
+     * Returns the number of natural language inputs that were not found in the cache, and were parsed instead.
+     *
+     * @return The number of cache misses.
+     */
+    public static long getCacheMissCount() {
+        return CACHE.getMissCount();
+    }
+
+    /**
+     * Parses the input string into a LocalDateTime object using natural language processing only.
+     *
+     * @param input The input string to be parsed.
+     * @return The LocalDateTime object parsed from the input string, never null.
+     * @throws SongbirdMalformedCommandException If the input string cannot be parsed into a LocalDateTime object,
+     *                                           including when it holds no date/time at all.
+     */
+    static LocalDateTime parseNaturalDateTime(String input) throws SongbirdMalformedCommandException {
+        return parseNaturalDateTime(input, LocalDateTime.now());
+    }
+
+    /**
+     * Parses the input string into a LocalDateTime object using natural language processing only, relative to the
+     * given date/time.
+     */
+    private static LocalDateTime parseNaturalDateTime(String input, LocalDateTime now)
+            throws SongbirdMalformedCommandException {
+        Date referenceDate = Date.from(now.atZone(ZoneId.systemDefault()).toInstant());
+        NaturalLanguageParser parser;
+        try {
+            parser = borrowParser();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SongbirdMalformedCommandException("Interrupted while parsing date/time: " + input);
+        } catch (Exception e) {
+            throw new SongbirdMalformedCommandException("Unable to parse date/time: " + input);
+        }
         try {
-            DatesFound datesFound = PARSER.parse(input, referenceDate, CONFIGURATION, LANGUAGE);
+            DatesFound datesFound = parser.parse(input, referenceDate);
             // should only get one parsed date, but it still returns a list, so just use a for loop to get the first one
             for (ParserOutput dateGroup : datesFound.getParserOutputs()) {
                 /* we need to convert the Date object to LocalDateTime, but Hawking gives a joda DateTime object and
@@ -60,7 +173,10 @@ public class DateTimeParser {
             }
         } catch (Exception e) {
             throw new SongbirdMalformedCommandException("Unable to parse date/time: " + input);
+        } finally {
+            PARSERS.release(parser);
         }
-        return null; // should never get here
+        // no date/time was found in the input at all
+        throw new SongbirdMalformedCommandException("Unable to parse date/time: " + input);
     }
 }
@@ -0,0 +1,183 @@
+package songbird.parser;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Recognises the date/time formats users type most often, so they are parsed without the natural language model
+ * that {@link DateTimeParser} otherwise runs. Only these forms are recognised, case-insensitively, with any amount of
+ * surrounding whitespace:
+ * - ISO dates, 'YYYY-MM-DD', optionally followed by a time after a space or 'T'
+ * - Day-first dates, 'DD/MM/YYYY', where the day and month may have a single digit, optionally followed by a time
+ * - 'today' and 'tomorrow', optionally followed by a time
+ * - Weekday names, in full or as their first three letters, for the next such day, which is today if it is that day,
+ *   optionally followed by a time
+ * Times are 24-hour, 'HH:MM' or 'HH:MM:SS'. A date without a time is at its start.
+ * <p>
+ * The input is scanned once, character by character, without splitting it or building intermediate strings, so
+ * recognising a date/time only allocates its result. Anything else, including well-formed dates that do not exist,
+ * is not recognised, and left to the natural language model.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+final class FastDateTimeParser {
+    private static final String TODAY = "today";
+    private static final String TOMORROW = "tomorrow";
+    private static final DayOfWeek[] DAYS_OF_WEEK = DayOfWeek.values();
+    private static final String[] DAY_NAMES = {"monday", "tuesday", "wednesday", "thursday", "friday", "saturday",
+        "sunday"};
+    private static final int DAY_ABBREVIATION_LENGTH = 3;
+
+    private FastDateTimeParser() {
+        // utility class
+    }
+
+    /**
+     * Parses the input if it is in one of the recognised forms.
+     *
+     * @param input The input to parse.
+     * @param today The current date, which relative dates are resolved against.
+     * @return The parsed date/time, or null if the input is not in a recognised form.
+     */
+    static LocalDateTime tryParse(String input, LocalDate today) {
+        int start = 0;
+        int end = input.length();
+        while (start < end && Character.isWhitespace(input.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(input.charAt(end - 1))) {
+            end--;
+        }
+        if (start == end) {
+            return null;
+        }
+
+        // the date ends at the first space or 'T' after it, and anything after that must be a time
+        int dateEnd = start;
+        while (dateEnd < end && input.charAt(dateEnd) != ' ' && !(dateEnd > start && isTimeSeparator(input, dateEnd))) {
+            dateEnd++;
+        }
+        LocalDate date = Character.isDigit(input.charAt(start))
+                ? parseNumericDate(input, start, dateEnd)
+                : parseRelativeDate(input, start, dateEnd, today);
+        if (date == null) {
+            return null;
+        }
+        if (dateEnd == end) {
+            return date.atStartOfDay();
+        }
+
+        int timeStart = dateEnd + 1;
+        while (timeStart < end && input.charAt(timeStart) == ' ') {
+            timeStart++;
+        }
+        return parseTime(input, timeStart, end, date);
+    }
+
+    /**
+     * Returns whether the character at the given position is the 'T' between an ISO date and its time.
+     */
+    private static boolean isTimeSeparator(String input, int index) {
+        char c = input.charAt(index);
+        return (c == 'T' || c == 't') && Character.isDigit(input.charAt(index - 1));
+    }
+
+    /**
+     * Parses 'YYYY-MM-DD' or 'DD/MM/YYYY' between the given positions, or returns null.
+     */
+    private static LocalDate parseNumericDate(String input, int start, int end) {
+        int length = end - start;
+        if (length == 10 && input.charAt(start + 4) == '-' && input.charAt(start + 7) == '-') {
+            return toDate(readNumber(input, start, start + 4), readNumber(input, start + 5, start + 7),
+                    readNumber(input, start + 8, end));
+        }
+
+        int firstSlash = input.indexOf('/', start);
+        if (firstSlash < 0 || firstSlash >= end) {
+            return null;
+        }
+        int secondSlash = input.indexOf('/', firstSlash + 1);
+        if (secondSlash < 0 || secondSlash >= end || end - secondSlash - 1 != 4) {
+            return null;
+        }
+        int dayLength = firstSlash - start;
+        int monthLength = secondSlash - firstSlash - 1;
+        if (dayLength < 1 || dayLength > 2 || monthLength < 1 || monthLength > 2) {
+            return null;
+        }
+        return toDate(readNumber(input, secondSlash + 1, end), readNumber(input, firstSlash + 1, secondSlash),
+                readNumber(input, start, firstSlash));
+    }
+
+    /**
+     * Parses 'today', 'tomorrow' or a weekday name between the given positions, or returns null.
+     */
+    private static LocalDate parseRelativeDate(String input, int start, int end, LocalDate today) {
+        int length = end - start;
+        if (matchesWord(input, start, length, TODAY)) {
+            return today;
+        }
+        if (matchesWord(input, start, length, TOMORROW)) {
+            return today.plusDays(1);
+        }
+        for (int i = 0; i < DAY_NAMES.length; i++) {
+            if (matchesWord(input, start, length, DAY_NAMES[i])
+                    || length == DAY_ABBREVIATION_LENGTH && input.regionMatches(true, start, DAY_NAMES[i], 0, length)) {
+                int daysAhead = Math.floorMod(DAYS_OF_WEEK[i].getValue() - today.getDayOfWeek().getValue(), 7);
+                return today.plusDays(daysAhead);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses 'HH:MM' or 'HH:MM:SS' between the given positions onto the date, or returns null.
+     */
+    private static LocalDateTime parseTime(String input, int start, int end, LocalDate date) {
+        int length = end - start;
+        if ((length != 5 && length != 8) || input.charAt(start + 2) != ':'
+                || (length == 8 && input.charAt(start + 5) != ':')) {
+            return null;
+        }
+        int hour = readNumber(input, start, start + 2);
+        int minute = readNumber(input, start + 3, start + 5);
+        int second = length == 8 ? readNumber(input, start + 6, end) : 0;
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return null;
+        }
+        return date.atTime(hour, minute, second);
+    }
+
+    private static boolean matchesWord(String input, int start, int length, String word) {
+        return length == word.length() && input.regionMatches(true, start, word, 0, length);
+    }
+
+    /**
+     * Reads the decimal digits between the given positions as a number, or returns -1 if any are not digits.
+     */
+    private static int readNumber(String input, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static LocalDate toDate(int year, int month, int day) {
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            return null; // a day past the end of its month, which the natural language model may still make sense of
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package songbird.parser;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
+import songbird.command.AgendaCommand;
+import songbird.command.ArchiveCommand;
 import songbird.command.ByeCommand;
 import songbird.command.Command;
 import songbird.command.CommandType;
@@ -10,13 +15,20 @@ import songbird.command.DueCommand;
 import songbird.command.EventAddCommand;
 import songbird.command.FindCommand;
 import songbird.command.ListCommand;
+import songbird.command.RedoCommand;
+import songbird.command.StatsCommand;
 import songbird.command.TaskDeleteCommand;
 import songbird.command.TaskMarkCommand;
 import songbird.command.TaskUnmarkCommand;
 import songbird.command.ToDoAddCommand;
+import songbird.command.UndoCommand;
+import songbird.command.UpcomingCommand;
 import songbird.exception.SongbirdException;
 import songbird.exception.SongbirdMalformedCommandException;
 import songbird.task.TaskList;
+import songbird.task.TaskQuery;
+import songbird.task.TaskReference;
+import songbird.task.TaskSelector;
 
 /**
  * Represents a parser that parses user input into commands.
@@ -26,9 +38,20 @@ import songbird.task.TaskList;
  * @version CS2103T AY24/25 Semester 2
  */
 public class Parser {
-    private static final String BY_DELIMITER = " /by ";
-    private static final String FROM_DELIMITER = " /from ";
-    private static final String TO_DELIMITER = " /to ";
+    private static final String PAGE_OPTION = "page";
+    private static final String LIMIT_OPTION = "--limit";
+    private static final String WORD_OPTION = "--word";
+    private static final String FUZZY_OPTION = "--fuzzy";
+    private static final String IDS_OPTION = "--ids";
+    private static final String ARCHIVED_OPTION = "--archived";
+    private static final String ID_PREFIX = "#";
+    private static final String DONE_FILTER = "done";
+    private static final String NOT_DONE_FILTER = "undone";
+    private static final String FIND_FILTER_PREFIX = "find:";
+    private static final String RANGE_DELIMITER = "-";
+    private static final String AND_DELIMITER = " and ";
+    private static final int DEFAULT_AGENDA_DAYS = 7;
+    private static final int DEFAULT_UPCOMING_COUNT = 5;
 
     private final TaskList tasks;
 
@@ -50,86 +73,140 @@ public class Parser {
      * @throws SongbirdException If the user input is invalid or malformed.
      */
     public Command parse(String input) throws SongbirdException {
-        String[] inputArray = input.trim().split("\\s+", 2);
-        CommandType commandType = CommandType.fromString(inputArray[0]);
-        String parameters = inputArray.length > 1 ? inputArray[1] : "";
+        CommandTokenizer tokens = new CommandTokenizer(input);
+        CommandType commandType = CommandType.fromString(tokens.getCommandWord());
+        String parameters = tokens.getParameters();
 
         return switch (commandType) {
-            case LIST -> new ListCommand(tasks);
-            case BYE -> new ByeCommand();
-            case TODO -> parseToDoCommand(parameters);
-            case DEADLINE -> parseDeadlineCommand(parameters);
-            case EVENT -> parseEventCommand(parameters);
+            case LIST -> parseListCommand(parameters);
+            case BYE -> new ByeCommand(tasks);
+            case TODO -> parseToDoCommand(tokens);
+            case DEADLINE -> parseDeadlineCommand(tokens);
+            case EVENT -> parseEventCommand(tokens);
             case FIND -> parseFindCommand(parameters);
             case MARK -> parseMarkCommand(parameters);
             case UNMARK -> parseUnmarkCommand(parameters);
             case DELETE -> parseDeleteCommand(parameters);
             case DUE -> parseDueCommand(parameters);
+            case BETWEEN -> parseBetweenCommand(parameters);
+            case AGENDA -> parseAgendaCommand(parameters);
+            case UNDO -> new UndoCommand(tasks, parseStepCount(parameters));
+            case REDO -> new RedoCommand(tasks, parseStepCount(parameters));
+            case STATS -> new StatsCommand(tasks, LocalDateTime.now());
+            case UPCOMING -> new UpcomingCommand(tasks, parseUpcomingCount(parameters), LocalDateTime.now());
+            case ARCHIVE -> parseArchiveCommand(parameters);
         };
     }
 
     // COMMAND PARSER METHODS
 
+    /**
+     * Parses the user input for a ListCommand.
+     * Without parameters, every task is listed. With 'page N' or '--limit N', a single page is listed: 'page N'
+     * selects the page, and '--limit N' sets the number of tasks per page. The '--ids' option also shows the ID of
+     * every task, and the '--archived' option lists the archived tasks instead. Options may be given in any order.
+     *
+     * @param parameters The user input parameters for the ListCommand.
+     * @return The ListCommand object.
+     * @throws SongbirdMalformedCommandException If the user input is invalid or malformed.
+     */
+    private Command parseListCommand(String parameters) throws SongbirdMalformedCommandException {
+        if (parameters.isBlank()) {
+            return new ListCommand(tasks);
+        }
+
+        String[] words = parameters.trim().split("\\s+");
+        int page = 1;
+        int pageSize = Integer.MAX_VALUE;
+        boolean isShowingIds = false;
+        boolean isArchived = false;
+        int i = 0;
+        while (i < words.length) {
+            String option = words[i].toLowerCase();
+            if (option.equals(IDS_OPTION) || option.equals(ARCHIVED_OPTION)) {
+                isShowingIds |= option.equals(IDS_OPTION);
+                isArchived |= option.equals(ARCHIVED_OPTION);
+                i++;
+                continue;
+            }
+            if (!option.equals(PAGE_OPTION) && !option.equals(LIMIT_OPTION)) {
+                throw new SongbirdMalformedCommandException("Unknown list option: " + words[i]
+                        + ". Use 'list page <number>', 'list --limit <number>', 'list --ids' and/or "
+                        + "'list --archived'.");
+            }
+            if (i + 1 >= words.length) {
+                throw new SongbirdMalformedCommandException("You must specify a number after '" + words[i] + "'.");
+            }
+
+            int value = parsePositiveNumber(words[i + 1]);
+            if (option.equals(PAGE_OPTION)) {
+                page = value;
+                pageSize = Math.min(pageSize, ListCommand.DEFAULT_PAGE_SIZE);
+            } else {
+                pageSize = value;
+            }
+            i += 2;
+        }
+        return new ListCommand(tasks, page, pageSize, isShowingIds, isArchived);
+    }
+
     /**
      * Parses the user input for a ToDoCommand.
+     * The description is every parameter, and quotes are left out of it, as for deadlines and events.
      *
-     * @param parameters The user input parameters for the ToDoCommand.
+     * @param tokens The tokenized user input.
      * @return The ToDoCommand object.
      * @throws SongbirdMalformedCommandException If the user input is invalid or malformed.
      */
-    private Command parseToDoCommand(String parameters) throws SongbirdMalformedCommandException {
-        if (parameters.isBlank()) {
+    private Command parseToDoCommand(CommandTokenizer tokens) throws SongbirdMalformedCommandException {
+        String description = tokens.getUnquotedParameters();
+        if (description.isEmpty()) {
             throw new SongbirdMalformedCommandException("The description of a todo cannot be empty.");
         }
-        return new ToDoAddCommand(tasks, parameters);
+        return new ToDoAddCommand(tasks, description);
     }
 
     /**
      * Parses the user input for a DeadlineCommand.
+     * The deadline follows '/by', and the description comes before it. Quoted text is never taken for '/by'.
      *
-     * @param parameters The user input parameters for the DeadlineCommand.
+     * @param tokens The tokenized user input.
      * @return The DeadlineCommand object.
      * @throws SongbirdException If the user input is invalid or malformed.
      */
-    private Command parseDeadlineCommand(String parameters) throws SongbirdException {
-        String[] parts = parameters.split(BY_DELIMITER, 2);
-        if (parts.length < 2 || parts[1].trim().isEmpty()) {
+    private Command parseDeadlineCommand(CommandTokenizer tokens) throws SongbirdException {
+        String deadline = tokens.getFlag(CommandTokenizer.BY_FLAG);
+        if (deadline == null || deadline.isEmpty()) {
             throw new SongbirdMalformedCommandException(
                     "The deadline task must have a deadline, formatted as '/by YYYY-MM-DD' (e.g. 2025-01-30).");
         }
-        String description = parts[0].trim();
-        LocalDateTime deadline = DateTimeParser.parseDateTime(parts[1].trim());
-        return new DeadlineAddCommand(tasks, description, deadline);
+        String description = tokens.getDescription();
+        if (description.isEmpty()) {
+            throw new SongbirdMalformedCommandException("The description of a deadline cannot be empty.");
+        }
+        return new DeadlineAddCommand(tasks, description, DateTimeParser.parseDateTime(deadline));
     }
 
     /**
      * Parses the user input for an EventCommand.
+     * The start follows '/from' and the end follows '/to', in either order, and the description comes before them.
+     * Quoted text is never taken for '/from' or '/to'.
      *
-     * @param parameters The user input parameters for the EventCommand.
+     * @param tokens The tokenized user input.
      * @return The EventCommand object.
      * @throws SongbirdException If the user input is invalid or malformed.
      */
-    private Command parseEventCommand(String parameters) throws SongbirdException {
-        if (!parameters.contains(FROM_DELIMITER) || !parameters.contains(TO_DELIMITER)) {
+    private Command parseEventCommand(CommandTokenizer tokens) throws SongbirdException {
+        String eventStartString = tokens.getFlag(CommandTokenizer.FROM_FLAG);
+        String eventEndString = tokens.getFlag(CommandTokenizer.TO_FLAG);
+        if (eventStartString == null || eventStartString.isEmpty()
+                || eventEndString == null || eventEndString.isEmpty()) {
             throw new SongbirdMalformedCommandException("The event task must have a start and end time, "
                     + "formatted as '/from YYYY-MM-DD HH:MM /to YYYY-MM-DD HH:MM'.");
         }
-        String[] fromParts = parameters.split(FROM_DELIMITER, 2);
-        String[] toParts;
-        String eventDescription;
-        String eventStartString;
-        String eventEndString;
-
-        if (fromParts[1].contains(TO_DELIMITER)) {
-            eventDescription = fromParts[0].trim();
-            toParts = fromParts[1].split(TO_DELIMITER, 2);
-            eventStartString = toParts[0].trim();
-            eventEndString = toParts[1].trim();
-        } else {
-            eventStartString = fromParts[1].trim();
-            toParts = fromParts[0].split(TO_DELIMITER, 2);
-            eventDescription = toParts[1].trim();
-            eventEndString = toParts[0].trim();
+        String eventDescription = tokens.getDescription();
+        if (eventDescription.isEmpty()) {
+            throw new SongbirdMalformedCommandException("The description of an event cannot be empty.");
         }
         LocalDateTime eventStart = DateTimeParser.parseDateTime(eventStartString);
         LocalDateTime eventEnd = DateTimeParser.parseDateTime(eventEndString);
@@ -138,16 +215,58 @@ public class Parser {
 
     /**
      * Parses the user input for a FindCommand.
+     * A leading '--word' option searches for whole words instead of a substring, and a leading '--fuzzy' option
+     * searches for words similar to the given ones. A leading '--archived' option searches the archived tasks
+     * instead. Otherwise, parameters with a filter on the type, status or date of tasks are parsed as a query,
+     * and any other parameters are searched for as a substring, as they are, even if they look like operators.
      *
      * @param parameters The user input parameters for the FindCommand.
      * @return The FindCommand object.
      * @throws SongbirdMalformedCommandException If the user input is invalid or malformed.
      */
     private Command parseFindCommand(String parameters) throws SongbirdMalformedCommandException {
-        if (parameters.isBlank()) {
+        String[] parts = parameters.split("\\s+", 2);
+        if (parts[0].equalsIgnoreCase(ARCHIVED_OPTION)) {
+            String query = parts.length > 1 ? parts[1].trim() : "";
+            if (query.isBlank()) {
+                throw new SongbirdMalformedCommandException("You must specify a query to search the archive for.");
+            }
+            TaskQuery taskQuery = QueryParser.hasFilter(query) ? QueryParser.parse(query) : TaskQuery.ofPhrase(query);
+            return new FindCommand(tasks, query, taskQuery, true);
+        }
+        FindCommand.MatchMode matchMode = FindCommand.MatchMode.SUBSTRING;
+        if (parts[0].equalsIgnoreCase(WORD_OPTION)) {
+            matchMode = FindCommand.MatchMode.WHOLE_WORD;
+        } else if (parts[0].equalsIgnoreCase(FUZZY_OPTION)) {
+            matchMode = FindCommand.MatchMode.FUZZY;
+        }
+        String keyword = matchMode == FindCommand.MatchMode.SUBSTRING ? parameters : (parts.length > 1 ? parts[1] : "");
+        if (keyword.isBlank()) {
             throw new SongbirdMalformedCommandException("You must specify a keyword to search for.");
         }
-        return new FindCommand(tasks, parameters);
+        if (matchMode != FindCommand.MatchMode.SUBSTRING) {
+            return new FindCommand(tasks, keyword, matchMode);
+        }
+
+        if (!QueryParser.hasFilter(keyword)) {
+            return new FindCommand(tasks, keyword);
+        }
+        return new FindCommand(tasks, keyword.trim(), QueryParser.parse(keyword));
+    }
+
+    /**
+     * Parses the user input for an ArchiveCommand, which takes no parameters.
+     *
+     * @param parameters The user input parameters for the ArchiveCommand.
+     * @return The ArchiveCommand object.
+     * @throws SongbirdMalformedCommandException If any parameters are given.
+     */
+    private Command parseArchiveCommand(String parameters) throws SongbirdMalformedCommandException {
+        if (!parameters.isBlank()) {
+            throw new SongbirdMalformedCommandException("'archive' archives every completed task, and takes no "
+                    + "parameters.");
+        }
+        return new ArchiveCommand(tasks);
     }
 
     /**
@@ -185,6 +304,7 @@ public class Parser {
 
     /**
      * Parses the user input for commands that require a task index.
+     * Tasks are selected as described in {@link #parseTaskSelector(String)}, and are all handled in a single batch.
      *
      * @param parameters The user input parameters for the command.
      * @param type The CommandType of the command.
@@ -196,18 +316,121 @@ public class Parser {
         if (parameters.isBlank()) {
             throw new SongbirdMalformedCommandException("You must specify a task number.");
         }
+        TaskSelector taskSelector = parseTaskSelector(parameters.trim());
+        return switch (type) {
+            case MARK -> new TaskMarkCommand(tasks, taskSelector);
+            case UNMARK -> new TaskUnmarkCommand(tasks, taskSelector);
+            case DELETE -> new TaskDeleteCommand(tasks, taskSelector);
+            default -> throw new IllegalStateException("Unexpected command type: " + type);
+        };
+    }
+
+    /**
+     * Parses a selection of tasks. The selection is either a filter, 'done', 'undone' or 'find:<keyword>', or a list
+     * of tasks and ranges of tasks separated by commas or spaces, e.g. '3,5,9-40'. Each task, including either end of
+     * a range, is referred to by its number or its ID prefixed by '#'.
+     *
+     * @param parameters The user input to parse.
+     * @return The selection of tasks.
+     * @throws SongbirdMalformedCommandException If the user input is not a valid selection.
+     */
+    private static TaskSelector parseTaskSelector(String parameters) throws SongbirdMalformedCommandException {
+        String filter = parameters.toLowerCase();
+        if (filter.equals(DONE_FILTER)) {
+            return TaskSelector.ofDone();
+        }
+        if (filter.equals(NOT_DONE_FILTER)) {
+            return TaskSelector.ofNotDone();
+        }
+        if (filter.startsWith(FIND_FILTER_PREFIX)) {
+            String keyword = parameters.substring(FIND_FILTER_PREFIX.length()).trim();
+            if (keyword.isEmpty()) {
+                throw new SongbirdMalformedCommandException("You must specify a keyword after 'find:'.");
+            }
+            return TaskSelector.ofKeyword(keyword);
+        }
+
+        String[] parts = parameters.replaceAll("\\s*" + RANGE_DELIMITER + "\\s*", RANGE_DELIMITER).split("[,\\s]+");
+        if (parts.length == 0) {
+            throw new SongbirdMalformedCommandException("You must specify a task number.");
+        }
+        if (parts.length == 1 && !parts[0].contains(RANGE_DELIMITER)) {
+            return TaskSelector.ofTask(parseTaskReference(parts[0]));
+        }
+        List<TaskSelector.Range> ranges = new ArrayList<>(parts.length);
+        for (String part : parts) {
+            String[] ends = part.split(RANGE_DELIMITER, -1);
+            if (part.isEmpty() || ends.length > 2) {
+                throw new SongbirdMalformedCommandException("Invalid task range: " + part);
+            }
+            TaskReference first = parseTaskReference(ends[0]);
+            TaskReference last = ends.length == 2 ? parseTaskReference(ends[1]) : first;
+            ranges.add(new TaskSelector.Range(first, last));
+        }
+        return TaskSelector.ofRanges(ranges);
+    }
+
+    /**
+     * Parses a reference to a task: its 1-based number in the list, or its ID prefixed by '#'.
+     *
+     * @param word The user input to parse.
+     * @return The reference to the task.
+     * @throws SongbirdMalformedCommandException If the user input is neither a task number nor a task ID.
+     */
+    private static TaskReference parseTaskReference(String word) throws SongbirdMalformedCommandException {
         try {
-            int index = Integer.parseInt(parameters) - 1;
-            return switch (type) {
-                case MARK -> new TaskMarkCommand(tasks, index);
-                case UNMARK -> new TaskUnmarkCommand(tasks, index);
-                case DELETE -> new TaskDeleteCommand(tasks, index);
-                default -> throw new IllegalStateException("Unexpected command type: " + type);
-            };
+            if (word.startsWith(ID_PREFIX)) {
+                long id = Long.parseLong(word.substring(ID_PREFIX.length()));
+                if (id <= 0) {
+                    throw new SongbirdMalformedCommandException("Invalid task ID: " + word);
+                }
+                return TaskReference.ofId(id);
+            }
+            return TaskReference.ofIndex(Integer.parseInt(word) - 1);
+        } catch (NumberFormatException e) {
+            throw new SongbirdMalformedCommandException("Invalid task number: " + word);
+        }
+    }
+
+    /**
+     * Parses the number of changes for an UndoCommand or RedoCommand, which is 1 if not given.
+     *
+     * @param parameters The user input parameters for the command.
+     * @return The number of changes.
+     * @throws SongbirdMalformedCommandException If the user input is not a whole number greater than zero.
+     */
+    private static int parseStepCount(String parameters) throws SongbirdMalformedCommandException {
+        return parameters.isBlank() ? 1 : parsePositiveNumber(parameters.trim());
+    }
+
+    /**
+     * Parses the number of tasks for an UpcomingCommand, which is 5 if not given.
+     *
+     * @param parameters The user input parameters for the UpcomingCommand.
+     * @return The number of tasks.
+     * @throws SongbirdMalformedCommandException If the user input is not a whole number greater than zero.
+     */
+    private static int parseUpcomingCount(String parameters) throws SongbirdMalformedCommandException {
+        return parameters.isBlank() ? DEFAULT_UPCOMING_COUNT : parsePositiveNumber(parameters.trim());
+    }
 
+    /**
+     * Parses a whole number greater than zero.
+     *
+     * @param word The user input to parse.
+     * @return The parsed number.
+     * @throws SongbirdMalformedCommandException If the user input is not a whole number greater than zero.
+     */
+    private static int parsePositiveNumber(String word) throws SongbirdMalformedCommandException {
+        try {
+            int value = Integer.parseInt(word);
+            if (value > 0) {
+                return value;
+            }
         } catch (NumberFormatException e) {
-            throw new SongbirdMalformedCommandException("Invalid task number: " + parameters);
+            // fall through to the error below
         }
+        throw new SongbirdMalformedCommandException("Expected a number greater than zero, but got: " + word);
     }
 
     /**
@@ -225,4 +448,51 @@ public class Parser {
         LocalDateTime date = DateTimeParser.parseDateTime(parameters);
         return new DueCommand(tasks, date);
     }
+
+    /**
+     * Parses the user input for a 'between' AgendaCommand.
+     * The user input should be two dates separated by 'and', e.g. 'between today and next friday'.
+     * The time components of the dates are ignored.
+     *
+     * @param parameters The user input parameters for the 'between' command.
+     * @return The AgendaCommand object.
+     * @throws SongbirdException If the user input is invalid or malformed.
+     */
+    private Command parseBetweenCommand(String parameters) throws SongbirdException {
+        String[] parts = parameters.split(AND_DELIMITER, 2);
+        if (parts.length < 2 || parts[0].isBlank() || parts[1].isBlank()) {
+            throw new SongbirdMalformedCommandException(
+                    "You must specify two dates, e.g. 'between 2025-01-13 and 2025-01-17'.");
+        }
+        LocalDate from = DateTimeParser.parseDateTime(parts[0].trim()).toLocalDate();
+        LocalDate to = DateTimeParser.parseDateTime(parts[1].trim()).toLocalDate();
+        if (from.isAfter(to)) {
+            throw new SongbirdMalformedCommandException("The first date (" + from + ") must not be after the second "
+                    + "date (" + to + ").");
+        }
+        return new AgendaCommand(tasks, from, to);
+    }
+
+    /**
+     * Parses the user input for an 'agenda' AgendaCommand, which covers a number of days starting today.
+     * The user input is optional, and may be written as 'N', 'next N days' or 'next N'. Without it, the agenda
+     * covers the next 7 days.
+     *
+     * @param parameters The user input parameters for the 'agenda' command.
+     * @return The AgendaCommand object.
+     * @throws SongbirdMalformedCommandException If the user input is invalid or malformed.
+     */
+    private Command parseAgendaCommand(String parameters) throws SongbirdMalformedCommandException {
+        String dayCount = parameters.trim().toLowerCase();
+        if (dayCount.startsWith("next")) {
+            dayCount = dayCount.substring("next".length()).trim();
+        }
+        if (dayCount.endsWith("days") || dayCount.endsWith("day")) {
+            dayCount = dayCount.substring(0, dayCount.lastIndexOf("day")).trim();
+        }
+
+        int days = dayCount.isEmpty() ? DEFAULT_AGENDA_DAYS : parsePositiveNumber(dayCount);
+        LocalDate today = LocalDate.now();
+        return new AgendaCommand(tasks, today, today.plusDays(days - 1));
+    }
 }
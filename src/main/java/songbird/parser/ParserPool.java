@@ -0,0 +1,78 @@
+package songbird.parser;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lends out parsers that are not thread-safe, so each is only used by one thread at a time, and threads parse in
+ * parallel on separate parsers. Parsers are only created when every existing one is in use, up to the capacity of the
+ * pool, after which threads wait for one to be returned. Borrowing an idle parser never blocks or allocates.
+ *
+ * @param <T> The type of the parsers.
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+final class ParserPool<T> {
+    private final Supplier<T> factory;
+    private final int capacity;
+    private final BlockingQueue<T> idleParsers;
+    private final AtomicInteger createdCount = new AtomicInteger();
+
+    /**
+     * Constructs an empty ParserPool.
+     *
+     * @param capacity The maximum number of parsers to create.
+     * @param factory  Creates a parser.
+     */
+    ParserPool(int capacity, Supplier<T> factory) {
+        assert capacity > 0 : "Pool capacity should be positive";
+        this.factory = factory;
+        this.capacity = capacity;
+        this.idleParsers = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Borrows a parser, which must be returned with {@link #release(Object)} once the calling thread is done with it.
+     *
+     * @return An idle parser, or a new one, if there are none and the pool is not full.
+     * @throws InterruptedException If interrupted while waiting for a parser to be returned.
+     */
+    T borrow() throws InterruptedException {
+        T parser = idleParsers.poll();
+        if (parser != null) {
+            return parser;
+        }
+        for (int created = createdCount.get(); created < capacity; created = createdCount.get()) {
+            if (createdCount.compareAndSet(created, created + 1)) {
+                try {
+                    return factory.get();
+                } catch (RuntimeException | Error e) {
+                    createdCount.decrementAndGet();
+                    throw e;
+                }
+            }
+        }
+        return idleParsers.take();
+    }
+
+    /**
+     * Returns a borrowed parser to the pool.
+     *
+     * @param parser The parser, which the calling thread must no longer use.
+     */
+    void release(T parser) {
+        boolean isReturned = idleParsers.offer(parser);
+        assert isReturned : "Only borrowed parsers should be released";
+    }
+
+    /**
+     * Returns the number of parsers created so far.
+     *
+     * @return The number of parsers.
+     */
+    int getCreatedCount() {
+        return createdCount.get();
+    }
+}
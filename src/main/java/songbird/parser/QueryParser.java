@@ -0,0 +1,270 @@
+package songbird.parser;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import songbird.exception.SongbirdMalformedCommandException;
+import songbird.task.TaskQuery;
+import songbird.task.TaskType;
+
+/**
+ * Parses the query of a 'find' command into a {@link TaskQuery}.
+ * <p>
+ * A query is a list of conditions separated by spaces, all of which a task must match:
+ * - Plain words, which the task's description must contain as a phrase. Adjacent words form a single phrase.
+ * - 'type:todo', 'type:deadline' or 'type:event', for the type of task.
+ * - 'done:true' or 'done:false', for whether the task is done.
+ * - 'due:D', 'due&lt;D', 'due&lt;=D', 'due&gt;D' or 'due&gt;=D', for deadlines due on, before or after the date D,
+ * and events taking place then, at least in part. The date is a single word, such as '2025-12-01' or 'tomorrow'.
+ * <p>
+ * Conditions can be negated with a leading '-' or 'not', combined with 'or', and grouped with parentheses. 'and'
+ * binds more tightly than 'or', so 'report type:deadline or meeting' finds deadlines containing 'report', and any
+ * task containing 'meeting'.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+public class QueryParser {
+    private static final String TYPE_KEY = "type:";
+    private static final String DONE_KEY = "done:";
+    private static final String DUE_KEY = "due";
+    private static final String OR_OPERATOR = "or";
+    private static final String NOT_OPERATOR = "not";
+    private static final String NEGATION_PREFIX = "-";
+    private static final String OPEN_GROUP = "(";
+    private static final String CLOSE_GROUP = ")";
+
+    private final List<String> tokens;
+    private int position;
+
+    private QueryParser(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Parses a query.
+     *
+     * @param input The query to parse.
+     * @return The parsed query.
+     * @throws SongbirdMalformedCommandException If the query is empty or malformed, or has an invalid condition.
+     */
+    public static TaskQuery parse(String input) throws SongbirdMalformedCommandException {
+        QueryParser parser = new QueryParser(tokenize(input));
+        if (parser.tokens.isEmpty()) {
+            throw new SongbirdMalformedCommandException("You must specify a query to search for.");
+        }
+        TaskQuery query = parser.parseAnyOf();
+        if (parser.position < parser.tokens.size()) {
+            throw new SongbirdMalformedCommandException("Unexpected '" + parser.tokens.get(parser.position)
+                    + "' in query.");
+        }
+        return query;
+    }
+
+    /**
+     * Returns whether the input has a condition on a task's type, status or date, and so should be parsed as a query.
+     * Input with only words and operators, such as '-1', 'or' or '(draft)', is a keyword to search for as it is.
+     *
+     * @param input The input to check.
+     * @return True if any word of the input is such a condition.
+     */
+    public static boolean hasFilter(String input) {
+        for (String token : tokenize(input)) {
+            String lowerToken = token.toLowerCase();
+            while (lowerToken.startsWith(NEGATION_PREFIX)) {
+                lowerToken = lowerToken.substring(NEGATION_PREFIX.length());
+            }
+            if (lowerToken.startsWith(TYPE_KEY) || lowerToken.startsWith(DONE_KEY) || isDueCondition(lowerToken)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Splits the input into words at spaces, with every parenthesis as a word of its own.
+     */
+    private static List<String> tokenize(String input) {
+        List<String> tokens = new ArrayList<>();
+        for (String word : input.trim().split("\\s+")) {
+            int start = 0;
+            for (int i = 0; i < word.length(); i++) {
+                char c = word.charAt(i);
+                if (c == '(' || c == ')') {
+                    if (i > start) {
+                        tokens.add(word.substring(start, i));
+                    }
+                    tokens.add(String.valueOf(c));
+                    start = i + 1;
+                }
+            }
+            if (start < word.length()) {
+                tokens.add(word.substring(start));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Parses conditions separated by 'or'.
+     */
+    private TaskQuery parseAnyOf() throws SongbirdMalformedCommandException {
+        List<TaskQuery> queries = new ArrayList<>();
+        queries.add(parseAllOf());
+        while (peekIs(OR_OPERATOR)) {
+            position++;
+            queries.add(parseAllOf());
+        }
+        return TaskQuery.anyOf(queries);
+    }
+
+    /**
+     * Parses adjacent conditions, up to the next 'or', closing parenthesis or the end of the query.
+     * Adjacent plain words are joined into a single phrase.
+     */
+    private TaskQuery parseAllOf() throws SongbirdMalformedCommandException {
+        List<TaskQuery> queries = new ArrayList<>();
+        List<String> phraseWords = new ArrayList<>();
+        while (position < tokens.size() && !peekIs(OR_OPERATOR) && !peekIs(CLOSE_GROUP)) {
+            String token = tokens.get(position);
+            if (isPlainWord(token)) {
+                phraseWords.add(token);
+                position++;
+                continue;
+            }
+            addPhrase(queries, phraseWords);
+            queries.add(parseCondition());
+        }
+        addPhrase(queries, phraseWords);
+        if (queries.isEmpty()) {
+            throw new SongbirdMalformedCommandException(position < tokens.size()
+                    ? "Expected a condition before '" + tokens.get(position) + "' in query."
+                    : "Expected a condition at the end of the query.");
+        }
+        return TaskQuery.allOf(queries);
+    }
+
+    /**
+     * Parses a single condition that is not a plain word: a negated condition, a group in parentheses, or a
+     * condition on a task's type, status or date.
+     */
+    private TaskQuery parseCondition() throws SongbirdMalformedCommandException {
+        String token = tokens.get(position++);
+        if (token.equalsIgnoreCase(NOT_OPERATOR) || token.equals(NEGATION_PREFIX)) {
+            return TaskQuery.not(parseNegatedCondition());
+        }
+        if (token.startsWith(NEGATION_PREFIX)) { // negates the rest of the word, as in '-type:todo'
+            tokens.set(--position, token.substring(NEGATION_PREFIX.length()));
+            return TaskQuery.not(parseNegatedCondition());
+        }
+        if (token.equals(OPEN_GROUP)) {
+            TaskQuery query = parseAnyOf();
+            if (!peekIs(CLOSE_GROUP)) {
+                throw new SongbirdMalformedCommandException("Missing ')' in query.");
+            }
+            position++;
+            return query;
+        }
+
+        String lowerToken = token.toLowerCase();
+        if (lowerToken.startsWith(TYPE_KEY)) {
+            return TaskQuery.ofType(parseTaskType(token.substring(TYPE_KEY.length())));
+        }
+        if (lowerToken.startsWith(DONE_KEY)) {
+            return TaskQuery.ofDone(parseDone(token.substring(DONE_KEY.length())));
+        }
+        return parseDueCondition(token.substring(DUE_KEY.length()));
+    }
+
+    /**
+     * Parses the condition after a negation, which is a single word or condition.
+     */
+    private TaskQuery parseNegatedCondition() throws SongbirdMalformedCommandException {
+        if (position >= tokens.size() || peekIs(CLOSE_GROUP) || peekIs(OR_OPERATOR)) {
+            throw new SongbirdMalformedCommandException("Expected a condition to negate in query.");
+        }
+        String token = tokens.get(position);
+        if (isPlainWord(token)) {
+            position++;
+            return TaskQuery.ofPhrase(token);
+        }
+        return parseCondition();
+    }
+
+    private static TaskType parseTaskType(String value) throws SongbirdMalformedCommandException {
+        return switch (value.toLowerCase()) {
+            case "todo" -> TaskType.TODO;
+            case "deadline" -> TaskType.DEADLINE;
+            case "event" -> TaskType.EVENT;
+            default -> throw new SongbirdMalformedCommandException(
+                    "Unknown task type '" + value + "'. Use todo, deadline or event.");
+        };
+    }
+
+    private static boolean parseDone(String value) throws SongbirdMalformedCommandException {
+        return switch (value.toLowerCase()) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> throw new SongbirdMalformedCommandException(
+                    "Use done:true or done:false, not done:" + value + ".");
+        };
+    }
+
+    /**
+     * Parses a condition on dates, given the part after 'due': a comparison followed by a date. Only the date of the
+     * given date/time is compared, so 'due&lt;D' finds tasks before the day D, and 'due&lt;=D' tasks up to its end.
+     */
+    private static TaskQuery parseDueCondition(String condition) throws SongbirdMalformedCommandException {
+        String comparison = condition.startsWith("<=") || condition.startsWith(">=")
+                ? condition.substring(0, 2)
+                : condition.substring(0, 1);
+        String dateString = condition.substring(comparison.length());
+        if (dateString.isEmpty()) {
+            throw new SongbirdMalformedCommandException("You must specify a date after 'due" + comparison + "'.");
+        }
+        LocalDate date = DateTimeParser.parseDateTime(dateString).toLocalDate();
+        LocalDateTime dayStart = date.atStartOfDay();
+        LocalDateTime dayEnd = date.atTime(LocalTime.MAX);
+        return switch (comparison) {
+            case ":" -> TaskQuery.ofDateRange(dayStart, dayEnd);
+            case "<" -> TaskQuery.ofDateRange(LocalDateTime.MIN, dayStart.minusNanos(1));
+            case "<=" -> TaskQuery.ofDateRange(LocalDateTime.MIN, dayEnd);
+            case ">" -> TaskQuery.ofDateRange(dayEnd.plusNanos(1), LocalDateTime.MAX);
+            default -> TaskQuery.ofDateRange(dayStart, LocalDateTime.MAX);
+        };
+    }
+
+    /**
+     * Returns whether the token is a word to search for, rather than an operator or a condition. Words that only
+     * look like conditions, such as 'note:' or 'dues', are words.
+     */
+    private static boolean isPlainWord(String token) {
+        String lowerToken = token.toLowerCase();
+        if (lowerToken.equals(OR_OPERATOR) || lowerToken.equals(NOT_OPERATOR)
+                || token.equals(OPEN_GROUP) || token.equals(CLOSE_GROUP) || token.startsWith(NEGATION_PREFIX)) {
+            return false;
+        }
+        if (lowerToken.startsWith(TYPE_KEY) || lowerToken.startsWith(DONE_KEY)) {
+            return false;
+        }
+        return !isDueCondition(lowerToken);
+    }
+
+    private static boolean isDueCondition(String lowerToken) {
+        return lowerToken.matches(DUE_KEY + "(:|<=?|>=?).*");
+    }
+
+    private boolean peekIs(String operator) {
+        return position < tokens.size() && tokens.get(position).equalsIgnoreCase(operator);
+    }
+
+    private static void addPhrase(List<TaskQuery> queries, List<String> phraseWords) {
+        if (!phraseWords.isEmpty()) {
+            queries.add(TaskQuery.ofPhrase(String.join(" ", phraseWords)));
+            phraseWords.clear();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package songbird.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import songbird.task.CompactTaskStore;
+import songbird.task.Task;
+
+/**
+ * Handles the append-only archive of completed tasks that sits next to the task list snapshot.
+ * <p>
+ * Archived tasks leave the task list for good, so they no longer cost anything to save, list or search. They are
+ * appended to the archive file in the same binary format as the snapshot, after a header holding the format
+ * version, and the file is never rewritten. It is only read the first time archived tasks are asked for, into a
+ * {@link CompactTaskStore}, which then also receives every task archived afterwards.
+ * <p>
+ * Tasks are appended before they are deleted from the task list, so a crash in between leaves a task both in the
+ * task list and in the archive rather than losing it. If it is then archived again, the archive holds it twice, and
+ * only the copy archived last is read back, by its ID. Reading stops silently at a torn trailing record left behind
+ * by a crash mid-append, and the first append after it cuts the torn record off, without keeping the tasks read.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+class Archive {
+    private static final int MAGIC = 0x53424131; // "SBA1"
+    private static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES;
+
+    private final File archiveFile;
+    private final DurabilityMode durabilityMode;
+    private CompactTaskStore loadedTasks; // null until the archive is first read
+    private long intactLength = -1; // the length of the file up to its last intact record, or -1 if not read yet
+
+    /**
+     * Constructs an Archive backed by the given file.
+     * The file is not touched until tasks are archived or read.
+     *
+     * @param archiveFile    The file that holds the archived tasks.
+     * @param durabilityMode How eagerly archived tasks are forced onto the disk.
+     */
+    Archive(File archiveFile, DurabilityMode durabilityMode) {
+        this.archiveFile = archiveFile;
+        this.durabilityMode = durabilityMode;
+    }
+
+    /**
+     * Appends tasks to the end of the archive in a single write. Unless in no-sync mode, the tasks are forced onto
+     * the disk before returning, since they are deleted from the task list straight after.
+     *
+     * @param tasks The tasks to archive, in order.
+     * @throws IOException If the tasks cannot be written.
+     */
+    synchronized void append(List<Task> tasks) throws IOException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        if (intactLength < 0) {
+            read(false); // only to find where the intact records end
+        }
+        boolean isNew = intactLength == 0;
+        try (FileOutputStream fileOutput = new FileOutputStream(archiveFile, !isNew);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOutput))) {
+            if (isNew) {
+                out.writeInt(MAGIC);
+                out.writeByte(TaskCodec.FORMAT_VERSION);
+            } else if (fileOutput.getChannel().size() > intactLength) {
+                fileOutput.getChannel().truncate(intactLength); // cut off a record torn by a crash
+            }
+            for (Task task : tasks) {
+                TaskCodec.encode(task, out);
+            }
+            out.flush();
+            if (durabilityMode != DurabilityMode.NO_SYNC) {
+                fileOutput.getChannel().force(false);
+            }
+            intactLength = fileOutput.getChannel().size();
+        } catch (IOException e) {
+            intactLength = -1; // the write may have been torn, so find the intact records again before appending
+            throw e;
+        }
+
+        if (loadedTasks != null) {
+            tasks.forEach(loadedTasks::add);
+        }
+    }
+
+    /**
+     * Returns the archived tasks, in the order they were archived, reading the archive file the first time.
+     * Later calls return the same store, which is not to be modified.
+     *
+     * @return The archived tasks.
+     * @throws IOException If the archive cannot be read or contains an invalid record.
+     */
+    synchronized CompactTaskStore load() throws IOException {
+        if (loadedTasks == null) {
+            loadedTasks = CompactTaskStore.of(read(true));
+        }
+        return loadedTasks;
+    }
+
+    /**
+     * Returns whether the archive has been read since it was constructed.
+     *
+     * @return True if the archived tasks are held in memory.
+     */
+    synchronized boolean isLoaded() {
+        return loadedTasks != null;
+    }
+
+    /**
+     * Reads the archive file, and records the length of its intact records. The tasks read are only kept if asked.
+     */
+    private List<Task> read(boolean isKeepingTasks) throws IOException {
+        if (!archiveFile.exists() || archiveFile.length() < HEADER_SIZE) {
+            intactLength = 0; // nothing, or only a torn header, so the file is started afresh
+            return new ArrayList<>();
+        }
+
+        List<Task> tasks = new ArrayList<>();
+        Map<Long, Integer> positionsById = new HashMap<>();
+        try (CountingInputStream counter = new CountingInputStream(new FileInputStream(archiveFile));
+                DataInputStream in = new DataInputStream(counter)) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Unrecognised archive format: " + archiveFile.getPath());
+            }
+            int version = in.readUnsignedByte();
+            if (version != TaskCodec.FORMAT_VERSION) {
+                throw new IOException("Archive was written in an unsupported format: " + version);
+            }
+            long length = counter.getCount();
+            boolean isAtEnd = false;
+            while (!isAtEnd) {
+                try {
+                    Task task = TaskCodec.decode(in, version);
+                    length = counter.getCount();
+                    if (!isKeepingTasks) {
+                        continue;
+                    }
+                    Integer position = positionsById.put(task.getId(), tasks.size());
+                    if (position != null) {
+                        tasks.set(position, null); // archived again after a crash, so only the later copy counts
+                    }
+                    tasks.add(task);
+                } catch (EOFException e) {
+                    isAtEnd = true; // end of file or torn trailing record, everything before it is intact
+                }
+            }
+            intactLength = length;
+        }
+        tasks.removeIf(task -> task == null);
+        return tasks;
+    }
+
+    /**
+     * Counts the bytes read through it, so the end of the last intact record is known. Buffers its input itself.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream input) {
+            super(new BufferedInputStream(input));
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = super.read(bytes, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
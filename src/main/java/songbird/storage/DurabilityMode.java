@@ -0,0 +1,19 @@
+package songbird.storage;
+
+/**
+ * Represents how eagerly Storage forces written data onto the disk, trading save latency for durability.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+public enum DurabilityMode {
+    /** Never forces data to disk; a crash of the operating system may lose recent changes. */
+    NO_SYNC,
+    /** Forces every snapshot and every journal append to disk before returning. */
+    SYNC_ON_COMMIT,
+    /**
+     * Forces every snapshot to disk, but forces journal appends in groups every few milliseconds, so a crash of
+     * the operating system loses at most the changes of the last interval.
+     */
+    GROUP_COMMIT
+}
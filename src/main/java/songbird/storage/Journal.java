@@ -0,0 +1,278 @@
+package songbird.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+import songbird.task.Task;
+
+/**
+ * Handles the append-only write-ahead journal that sits next to the task list snapshot.
+ * <p>
+ * Every mutation of the task list is appended as a small record, so the cost of persisting a command does not
+ * depend on the size of the list. The journal starts with a header recording the generation of the snapshot it
+ * applies to; a journal whose generation does not match the snapshot has already been folded into it and is
+ * ignored on replay.
+ * <p>
+ * How often appended records are forced onto the disk depends on the {@link DurabilityMode}. In group-commit mode,
+ * appends only mark the journal as dirty, and the owner is expected to call {@link #sync()} periodically.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ * @see JournalEntry
+ */
+class Journal {
+    private static final int MAGIC = 0x53424a33; // "SBJ3"
+    private static final int PREVIOUS_MAGIC = 0x53424a32; // "SBJ2", tasks written in format 1, without IDs
+    private static final int LEGACY_MAGIC = 0x53424a31; // "SBJ1", tasks written with Java serialization
+    private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES;
+    private static final int MAX_LEGACY_TASK_BYTES = 1 << 24;
+
+    private final File journalFile;
+    private final DurabilityMode durabilityMode;
+    private DataOutputStream output;
+    private FileChannel channel;
+    private long generation;
+    private int entryCount;
+    private boolean isReady;
+    private boolean isDirty;
+
+    /**
+     * Constructs a Journal backed by the given file.
+     * The file is not touched until the journal is replayed, reset or appended to.
+     *
+     * @param journalFile    The file that holds the journal records.
+     * @param durabilityMode How eagerly appended records are forced onto the disk.
+     */
+    Journal(File journalFile, DurabilityMode durabilityMode) {
+        this.journalFile = journalFile;
+        this.durabilityMode = durabilityMode;
+    }
+
+    /**
+     * Returns whether the journal file exists on disk.
+     *
+     * @return True if the journal file exists.
+     */
+    boolean exists() {
+        return journalFile.exists();
+    }
+
+    /**
+     * Returns the generation of the snapshot this journal applies to.
+     *
+     * @return The snapshot generation.
+     */
+    long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns the number of records in the journal since it was last reset.
+     *
+     * @return The number of journaled records.
+     */
+    int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Replays the journal onto the given tasks, which were loaded from the snapshot of the given generation.
+     * Replay stops silently at a torn trailing record left behind by a crash mid-append.
+     *
+     * @param tasks              The tasks loaded from the snapshot, modified in place.
+     * @param snapshotGeneration The generation of the snapshot the tasks were loaded from.
+     * @return True if the journal holds anything that should be folded into a new snapshot.
+     * @throws IOException If the journal cannot be read or contains an invalid record.
+     */
+    synchronized boolean replay(List<Task> tasks, long snapshotGeneration) throws IOException {
+        close();
+        generation = snapshotGeneration;
+        entryCount = 0;
+        isReady = true;
+
+        if (!journalFile.exists() || journalFile.length() == 0) {
+            return false;
+        }
+        if (journalFile.length() < HEADER_SIZE) {
+            return true; // torn header, the journal must be rewritten before it is appended to
+        }
+
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(journalFile)))) {
+            int magic = input.readInt();
+            if (magic != MAGIC && magic != PREVIOUS_MAGIC && magic != LEGACY_MAGIC) {
+                throw new IOException("Unrecognised journal format: " + journalFile.getPath());
+            }
+            if (input.readLong() != snapshotGeneration) {
+                return true; // stale journal, its records are already part of the snapshot
+            }
+            boolean isLegacy = magic == LEGACY_MAGIC;
+            int taskFormatVersion = magic == MAGIC ? TaskCodec.FORMAT_VERSION : 1;
+            boolean isAtEnd = false;
+            while (!isAtEnd) {
+                try {
+                    apply(readEntry(input, isLegacy, taskFormatVersion), tasks);
+                    entryCount++;
+                } catch (EOFException e) {
+                    isAtEnd = true; // end of file or torn trailing record, everything before it is intact
+                }
+            }
+            // an older journal must be rewritten even when empty, so new records are never appended to it
+            return magic != MAGIC || journalFile.length() > HEADER_SIZE;
+        }
+    }
+
+    /**
+     * Appends records to the end of the journal and flushes them to the operating system in a single write.
+     * In sync-on-commit mode, the records are also forced onto the disk before returning.
+     *
+     * @param entries The records to append, in order.
+     * @throws IOException If the records cannot be written.
+     */
+    synchronized void append(List<JournalEntry> entries) throws IOException {
+        assert isReady : "Journal should be replayed or reset before it is appended to";
+        if (output == null) {
+            boolean isNew = !journalFile.exists() || journalFile.length() == 0;
+            FileOutputStream fileOutput = new FileOutputStream(journalFile, true);
+            channel = fileOutput.getChannel();
+            output = new DataOutputStream(new BufferedOutputStream(fileOutput));
+            if (isNew) {
+                writeHeader(output, generation);
+            }
+        }
+        for (JournalEntry entry : entries) {
+            writeEntry(output, entry);
+        }
+        output.flush();
+        entryCount += entries.size();
+
+        isDirty = true;
+        if (durabilityMode == DurabilityMode.SYNC_ON_COMMIT) {
+            sync();
+        }
+    }
+
+    /**
+     * Forces any records appended since the last sync onto the disk.
+     * Does nothing in no-sync mode, or if nothing was appended since the last sync.
+     *
+     * @throws IOException If the records cannot be forced onto the disk.
+     */
+    synchronized void sync() throws IOException {
+        if (!isDirty || channel == null || durabilityMode == DurabilityMode.NO_SYNC) {
+            return;
+        }
+        channel.force(false);
+        isDirty = false;
+    }
+
+    /**
+     * Discards all records and starts an empty journal for the snapshot of the given generation.
+     *
+     * @param snapshotGeneration The generation of the snapshot that now holds every journaled record.
+     * @throws IOException If the journal cannot be rewritten.
+     */
+    synchronized void reset(long snapshotGeneration) throws IOException {
+        close();
+        try (FileOutputStream fileOutput = new FileOutputStream(journalFile);
+                DataOutputStream out = new DataOutputStream(fileOutput)) {
+            writeHeader(out, snapshotGeneration);
+            if (durabilityMode != DurabilityMode.NO_SYNC) {
+                fileOutput.getChannel().force(false);
+            }
+        }
+        generation = snapshotGeneration;
+        entryCount = 0;
+        isReady = true;
+    }
+
+    /**
+     * Forces any unsynced records onto the disk, then closes the underlying output stream, if one is open.
+     *
+     * @throws IOException If the stream cannot be synced or closed.
+     */
+    synchronized void close() throws IOException {
+        if (output != null) {
+            try {
+                sync();
+            } finally {
+                output.close();
+                output = null;
+                channel = null;
+                isDirty = false;
+            }
+        }
+    }
+
+    private static void writeHeader(DataOutputStream out, long generation) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeLong(generation);
+    }
+
+    private static void writeEntry(DataOutputStream out, JournalEntry entry) throws IOException {
+        out.writeByte(entry.getOperation().getCode());
+        out.writeInt(entry.getIndex());
+        if (entry.getOperation() == JournalEntry.Operation.ADD) {
+            TaskCodec.encode(entry.getTask(), out);
+        }
+    }
+
+    private static JournalEntry readEntry(DataInputStream in, boolean isLegacy, int taskFormatVersion)
+            throws IOException {
+        byte code = in.readByte();
+        int index = in.readInt();
+        JournalEntry.Operation operation = JournalEntry.Operation.fromCode(code);
+        if (operation == null) {
+            throw new IOException("Unknown journal operation: " + code);
+        }
+
+        return switch (operation) {
+            case ADD -> JournalEntry.add(index,
+                    isLegacy ? readLegacyTask(in) : TaskCodec.decode(in, taskFormatVersion));
+            case DELETE -> JournalEntry.delete(index);
+            case MARK -> JournalEntry.mark(index);
+            case UNMARK -> JournalEntry.unmark(index);
+        };
+    }
+
+    private static Task readLegacyTask(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_LEGACY_TASK_BYTES) {
+            throw new IOException("Invalid journaled task length: " + length);
+        }
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            return (Task) ois.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Error loading journaled task: " + e.getMessage());
+        }
+    }
+
+    private static void apply(JournalEntry entry, List<Task> tasks) throws IOException {
+        int index = entry.getIndex();
+        int limit = entry.getOperation() == JournalEntry.Operation.ADD ? tasks.size() : tasks.size() - 1;
+        if (index < 0 || index > limit) {
+            throw new IOException("Journal record refers to missing task " + (index + 1));
+        }
+
+        switch (entry.getOperation()) {
+            case ADD -> tasks.add(index, entry.getTask());
+            case DELETE -> tasks.remove(index);
+            case MARK -> tasks.get(index).setTaskDone();
+            case UNMARK -> tasks.get(index).setTaskNotDone();
+            default -> throw new IOException("Unsupported journal operation: " + entry.getOperation());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package songbird.storage;
+
+import songbird.task.Task;
+
+/**
+ * Represents a single mutation of the task list that is appended to the journal.
+ * Each entry records the operation, the 0-based position it applies to and, for additions, the added task.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ * @see Journal
+ */
+public class JournalEntry {
+    private final Operation operation;
+    private final int index;
+    private final Task task;
+
+    /**
+     * Represents the kinds of mutation that can be journaled.
+     * Each operation is identified on disk by a single byte code.
+     */
+    public enum Operation {
+        ADD((byte) 1),
+        DELETE((byte) 2),
+        MARK((byte) 3),
+        UNMARK((byte) 4);
+
+        private final byte code;
+
+        Operation(byte code) {
+            this.code = code;
+        }
+
+        public byte getCode() {
+            return code;
+        }
+
+        /**
+         * Returns the Operation corresponding to the given on-disk code.
+         *
+         * @param code The byte code read from the journal.
+         * @return The corresponding Operation, or null if the code is unknown.
+         */
+        public static Operation fromCode(byte code) {
+            for (Operation operation : Operation.values()) {
+                if (operation.code == code) {
+                    return operation;
+                }
+            }
+            return null;
+        }
+    }
+
+    private JournalEntry(Operation operation, int index, Task task) {
+        this.operation = operation;
+        this.index = index;
+        this.task = task;
+    }
+
+    /**
+     * Creates an entry recording that a task was inserted at the given position.
+     *
+     * @param index The 0-based position the task was inserted at.
+     * @param task  The task that was added.
+     * @return The journal entry.
+     */
+    public static JournalEntry add(int index, Task task) {
+        assert task != null : "Journaled task should not be null";
+        return new JournalEntry(Operation.ADD, index, task);
+    }
+
+    /**
+     * Creates an entry recording that the task at the given position was deleted.
+     *
+     * @param index The 0-based position of the deleted task.
+     * @return The journal entry.
+     */
+    public static JournalEntry delete(int index) {
+        return new JournalEntry(Operation.DELETE, index, null);
+    }
+
+    /**
+     * Creates an entry recording that the task at the given position was marked as done.
+     *
+     * @param index The 0-based position of the marked task.
+     * @return The journal entry.
+     */
+    public static JournalEntry mark(int index) {
+        return new JournalEntry(Operation.MARK, index, null);
+    }
+
+    /**
+     * Creates an entry recording that the task at the given position was marked as not done.
+     *
+     * @param index The 0-based position of the unmarked task.
+     * @return The journal entry.
+     */
+    public static JournalEntry unmark(int index) {
+        return new JournalEntry(Operation.UNMARK, index, null);
+    }
+
+    // GETTERS
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+}
@@ -0,0 +1,191 @@
+package songbird.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import songbird.exception.SongbirdStorageException;
+import songbird.task.Task;
+
+/**
+ * Persists task list mutations on a background thread, so commands never wait for disk I/O.
+ * <p>
+ * Mutations submitted in a burst are coalesced into a single write. A write happens at most
+ * {@code maxDelayMillis} after the first pending mutation, or immediately once {@code maxPendingMutations}
+ * mutations are pending. With a journaled {@link Storage}, the pending mutations are appended to the journal in one
+ * go; otherwise, a snapshot of the whole list is saved.
+ * <p>
+ * The scheduler shares a lock with the task list it persists. Pending mutations are drained and snapshots are taken
+ * while holding that lock, so a snapshot always contains exactly the additions and deletions that were drained with
+ * it. Snapshots are written after the lock is released, so they may also show tasks marked or unmarked since, which
+ * is harmless: replaying those mutations from the journal sets the same flags again.
+ * <p>
+ * A failed write is retried with the whole task list, even if nothing else is mutated, after a delay that doubles
+ * with each consecutive failure, up to a minute. Only the first failure in a row is reported.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+public class SaveScheduler {
+    private static final long INITIAL_RETRY_DELAY_MILLIS = 1_000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 60_000;
+
+    private final Storage storage;
+    private final Object lock;
+    private final Supplier<List<Task>> snapshotSupplier;
+    private final long maxDelayMillis;
+    private final int maxPendingMutations;
+    private final Consumer<String> errorHandler;
+    private final ScheduledThreadPoolExecutor executor;
+    private final Object writeLock = new Object();
+
+    // guarded by lock
+    private List<JournalEntry> pendingEntries = new ArrayList<>();
+    private boolean isSnapshotRequested;
+    private ScheduledFuture<?> scheduledWrite;
+    private long retryDelayMillis; // 0 if the last write succeeded
+
+    /**
+     * Constructs a SaveScheduler and starts its background thread.
+     *
+     * @param storage             The Storage to persist to. It must already have been loaded.
+     * @param lock                The lock guarding the task list that is being persisted.
+     * @param snapshotSupplier    Supplies a snapshot of the task list that later mutations do not change. Always
+     *                            called while holding the lock.
+     * @param maxDelayMillis      The maximum time a mutation may stay pending before it is written.
+     * @param maxPendingMutations The number of pending mutations that triggers an immediate write.
+     * @param errorHandler        Receives the message of any failed write, on the background thread.
+     */
+    public SaveScheduler(Storage storage, Object lock, Supplier<List<Task>> snapshotSupplier, long maxDelayMillis,
+                         int maxPendingMutations, Consumer<String> errorHandler) {
+        assert maxDelayMillis >= 0 : "Maximum save delay should not be negative";
+        assert maxPendingMutations > 0 : "Maximum pending mutations should be positive";
+
+        this.storage = storage;
+        this.lock = lock;
+        this.snapshotSupplier = snapshotSupplier;
+        this.maxDelayMillis = maxDelayMillis;
+        this.maxPendingMutations = maxPendingMutations;
+        this.errorHandler = errorHandler;
+        this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "songbird-save");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // delayed writes are redundant after the final flush on shutdown
+        this.executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * Queues a mutation to be persisted.
+     * Must be called while holding the lock, in the same critical section as the mutation itself.
+     *
+     * @param entry The mutation to persist.
+     */
+    public void submit(JournalEntry entry) {
+        assert Thread.holdsLock(lock) : "Mutations should be submitted while holding the task list lock";
+        pendingEntries.add(entry);
+        if (pendingEntries.size() >= maxPendingMutations) {
+            scheduleWrite(0);
+        } else {
+            scheduleWrite(maxDelayMillis);
+        }
+    }
+
+    /**
+     * Queues a write of the whole task list, replacing any pending mutations.
+     * Must be called while holding the lock.
+     */
+    public void requestSnapshot() {
+        assert Thread.holdsLock(lock) : "Snapshots should be requested while holding the task list lock";
+        isSnapshotRequested = true;
+        scheduleWrite(maxDelayMillis);
+    }
+
+    /**
+     * Writes all pending mutations immediately and waits for the write to finish.
+     * Must not be called while holding the lock.
+     */
+    public void flush() {
+        try {
+            executor.submit(this::writePending).get();
+        } catch (RejectedExecutionException e) {
+            writePending(); // already shut down, write on the calling thread instead
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            errorHandler.accept(e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Writes all pending mutations and stops the background thread.
+     */
+    public void shutdown() {
+        flush();
+        executor.shutdown();
+    }
+
+    private void scheduleWrite(long delayMillis) {
+        if (scheduledWrite != null && !scheduledWrite.isDone()) {
+            if (delayMillis > 0 || scheduledWrite.getDelay(TimeUnit.MILLISECONDS) <= 0) {
+                return; // the pending write already happens soon enough
+            }
+            scheduledWrite.cancel(false);
+        }
+        try {
+            scheduledWrite = executor.schedule(this::writePending, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            scheduledWrite = null; // shutting down, the final flush picks up the pending mutations
+        }
+    }
+
+    private void writePending() {
+        synchronized (writeLock) { // writes never overlap, even when flushing after shutdown
+            List<JournalEntry> entries;
+            List<Task> snapshot = null;
+            synchronized (lock) {
+                if (pendingEntries.isEmpty() && !isSnapshotRequested) {
+                    return;
+                }
+                entries = pendingEntries;
+                pendingEntries = new ArrayList<>();
+                scheduledWrite = null; // mutations submitted from now on need a new write
+                if (isSnapshotRequested || !storage.isJournaled() || storage.isCompactionDue()) {
+                    snapshot = snapshotSupplier.get();
+                }
+                isSnapshotRequested = false;
+            }
+
+            try {
+                if (snapshot != null) {
+                    storage.save(snapshot);
+                } else {
+                    storage.append(entries);
+                }
+                synchronized (lock) {
+                    retryDelayMillis = 0;
+                }
+            } catch (SongbirdStorageException e) {
+                boolean isFirstFailure;
+                synchronized (lock) {
+                    isSnapshotRequested = true; // the journal may now be missing mutations, so rewrite everything
+                    isFirstFailure = retryDelayMillis == 0;
+                    retryDelayMillis = isFirstFailure
+                            ? INITIAL_RETRY_DELAY_MILLIS
+                            : Math.min(retryDelayMillis * 2, MAX_RETRY_DELAY_MILLIS);
+                    scheduleWrite(retryDelayMillis);
+                }
+                if (isFirstFailure) {
+                    errorHandler.accept(e.getMessage());
+                }
+            }
+        }
+    }
+}
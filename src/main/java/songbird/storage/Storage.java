@@ -1,24 +1,66 @@
 package songbird.storage;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import songbird.exception.SongbirdStorageException;
+import songbird.task.CompactTaskStore;
 import songbird.task.Task;
+import songbird.task.TaskList;
 import songbird.ui.Ui;
 
 /**
  * Handles the loading and saving of TaskList data to and from persistent storage.
- * Uses Java's built-in SerDes to store the task objects.
+ * Tasks are stored in a versioned binary snapshot written by {@link TaskCodec}. Snapshots written with Java's
+ * built-in SerDes by older versions of Songbird are still read, and are migrated the first time they are loaded.
+ * <p>
+ * In journaled mode, individual mutations are appended to a write-ahead journal next to the snapshot instead of
+ * rewriting the whole snapshot. Loading replays the journal on top of the snapshot, and the journal is periodically
+ * compacted back into a fresh snapshot.
+ * <p>
+ * Snapshots are never written in place. They are written to a temporary file next to the storage file, which then
+ * atomically replaces it, so a crash mid-save leaves either the old or the new snapshot intact. The
+ * {@link DurabilityMode} decides whether writes are also forced onto the disk, trading save latency for durability.
+ * <p>
+ * Completed tasks can be moved out of the snapshot into an {@link Archive} next to it, which is only read when
+ * archived tasks are asked for, so they no longer add to the cost of saving.
  */
 public class Storage {
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String ARCHIVE_SUFFIX = ".archive";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String CORRUPT_SUFFIX = ".corrupt";
+    private static final int SNAPSHOT_MAGIC = 0x53424442; // "SBDB"
+    private static final int JAVA_SERIALIZATION_MAGIC = 0xACED;
+    private static final int COMPACTION_THRESHOLD = 1000;
+
     private final File databaseFile;
+    private final Journal journal;
+    private final Archive archive;
+    private final DurabilityMode durabilityMode;
+    private final ScheduledThreadPoolExecutor groupCommitExecutor;
+    private long generation;
+    private boolean isOutdatedSnapshot;
+    private boolean isUnreadableDataKept; // an unreadable snapshot could not be moved aside, so it must not be replaced
 
     /**
      * Constructs a new Storage object with the given file path.
@@ -29,55 +71,422 @@ public class Storage {
      * @throws SongbirdStorageException If the directory cannot be created
      */
     public Storage(String filePath) throws SongbirdStorageException {
-        File directory = new File(filePath).getParentFile();
+        this(filePath, false);
+    }
+
+    /**
+     * Constructs a new Storage object with the given file path, optionally in journaled mode.
+     * In journaled mode, the journal is kept in a file next to the storage file.
+     * Every write is forced onto the disk before it completes.
+     *
+     * @param filePath    The file path to the storage file
+     * @param isJournaled Whether mutations should be appended to a journal instead of rewriting the storage file
+     * @throws SongbirdStorageException If the directory cannot be created
+     */
+    public Storage(String filePath, boolean isJournaled) throws SongbirdStorageException {
+        this(filePath, isJournaled, DurabilityMode.SYNC_ON_COMMIT, 0);
+    }
+
+    /**
+     * Constructs a new Storage object with the given file path, journaling and durability mode.
+     * In group-commit mode, journal appends are forced onto the disk by a background thread every
+     * {@code groupCommitIntervalMillis}, while snapshots are still forced onto the disk as they are saved.
+     *
+     * @param filePath                  The file path to the storage file
+     * @param isJournaled               Whether mutations should be appended to a journal instead of rewriting the
+     *                                  storage file
+     * @param durabilityMode            How eagerly writes are forced onto the disk
+     * @param groupCommitIntervalMillis The interval between forced journal writes in group-commit mode
+     * @throws SongbirdStorageException If the directory cannot be created
+     */
+    public Storage(String filePath, boolean isJournaled, DurabilityMode durabilityMode,
+                   long groupCommitIntervalMillis) throws SongbirdStorageException {
+        assert durabilityMode != DurabilityMode.GROUP_COMMIT || groupCommitIntervalMillis > 0
+                : "Group commit interval should be positive";
+
+        File directory = new File(filePath).getAbsoluteFile().getParentFile();
         this.databaseFile = new File(filePath);
+        this.durabilityMode = durabilityMode;
+        this.journal = isJournaled ? new Journal(new File(filePath + JOURNAL_SUFFIX), durabilityMode) : null;
+        this.archive = new Archive(new File(filePath + ARCHIVE_SUFFIX), durabilityMode);
 
         // create directory if it doesn't exist
         if (!directory.exists() && !directory.mkdirs()) {
             throw new SongbirdStorageException("Failed to create directory: " + directory.getPath());
         }
+
+        if (isJournaled && durabilityMode == DurabilityMode.GROUP_COMMIT) {
+            this.groupCommitExecutor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "songbird-group-commit");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.groupCommitExecutor.scheduleWithFixedDelay(this::syncInBackground, groupCommitIntervalMillis,
+                    groupCommitIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.groupCommitExecutor = null;
+        }
+    }
+
+    /**
+     * Returns whether this Storage appends mutations to a journal.
+     *
+     * @return True if this Storage is in journaled mode.
+     */
+    public boolean isJournaled() {
+        return journal != null;
+    }
+
+    public DurabilityMode getDurabilityMode() {
+        return durabilityMode;
     }
 
     /**
      * Loads the list of tasks from persistent storage.
      * If the file doesn't exist, returns an empty list.
-     * If there are any errors reading from the file, returns an empty list.
+     * If there are any errors reading from the file, returns an empty list. The unreadable file and its journal are
+     * moved aside, with a {@value #CORRUPT_SUFFIX} suffix, so they are never overwritten. If they cannot be moved
+     * aside, nothing is saved until the storage is loaded again.
+     * In journaled mode, the journal is replayed on top of the loaded tasks and then compacted.
+     * A snapshot in the legacy format is rewritten in the current format.
      *
      * @return List of tasks loaded from persistent storage
      */
-    @SuppressWarnings("unchecked")
     public List<Task> load() {
-        if (!databaseFile.exists()) {
+        List<Task> tasks = new ArrayList<>();
+        isOutdatedSnapshot = false;
+        isUnreadableDataKept = false;
+        if (!databaseFile.exists() && (journal == null || !journal.exists())) {
             Ui.respond("No existing task list found. Creating new empty task list...");
-            return new ArrayList<>();
+        } else if (databaseFile.exists()) {
+            try {
+                tasks = readSnapshot();
+            } catch (IOException | ClassNotFoundException | RuntimeException e) {
+                // a corrupt legacy snapshot may also fail with a ClassCastException or the like
+                Ui.error("Error reading from file: " + e.getMessage());
+                if (!setAsideUnreadableFiles()) {
+                    return new ArrayList<>();
+                }
+                tasks = new ArrayList<>(); // the journal was moved aside too, as it only applies to the snapshot
+            }
         }
 
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(databaseFile))) {
-            return (List<Task>) ois.readObject();
-        } catch (IOException e) {
-            Ui.error("Error reading from file: " + e.getMessage());
-            Ui.respond("Creating new empty task list...");
-            return new ArrayList<>();
-        } catch (ClassNotFoundException e) {
-            Ui.error("Error loading task data: " + e.getMessage());
-            Ui.respond("Creating new empty task list...");
-            return new ArrayList<>();
+        boolean isCompactionNeeded = journal != null && replayJournal(tasks);
+        TaskList.assignMissingIds(tasks); // tasks saved by older versions have no IDs yet
+        if (isCompactionNeeded || isOutdatedSnapshot) {
+            try {
+                save(tasks);
+                if (isOutdatedSnapshot) {
+                    Ui.respond("Migrated task list to the new storage format.");
+                }
+            } catch (SongbirdStorageException e) {
+                Ui.error("Failed to rewrite task list: " + e.getMessage());
+            }
         }
+        return tasks;
     }
 
     /**
      * Saves the list of tasks to persistent storage.
-     * This will overwrite any existing data in the file.
+     * This will replace any existing data in the file. The existing data stays intact until the new snapshot has
+     * been completely written, so a crash mid-save never loses it.
+     * In journaled mode, the journal is emptied, since the snapshot now holds every journaled mutation.
      * If there are any errors writing to the file, a SongbirdStorageException is thrown.
      *
      * @param tasks The list of tasks to save to persistent storage
      * @throws SongbirdStorageException If there are any errors writing to the file
      */
     public void save(List<Task> tasks) throws SongbirdStorageException {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(databaseFile))) {
-            oos.writeObject(tasks);
+        if (isUnreadableDataKept) {
+            throw new SongbirdStorageException("Error saving to file: " + databaseFile.getPath()
+                    + " could not be read, and is left untouched");
+        }
+        // replacing the file only needs a writable directory, so honour a read-only file explicitly
+        if (databaseFile.exists() && !databaseFile.canWrite()) {
+            throw new SongbirdStorageException("Error saving to file: " + databaseFile.getPath() + " is read-only");
+        }
+
+        long nextGeneration = journal == null ? generation : Math.max(generation, journal.getGeneration()) + 1;
+        File tempFile = new File(databaseFile.getPath() + TEMP_SUFFIX);
+        try {
+            writeSnapshot(tempFile, tasks, nextGeneration);
+            replaceDatabaseFile(tempFile);
         } catch (IOException e) {
+            tempFile.delete();
             throw new SongbirdStorageException("Error saving to file: " + e.getMessage());
         }
+        generation = nextGeneration;
+
+        if (journal != null) {
+            try {
+                journal.reset(generation);
+            } catch (IOException e) {
+                throw new SongbirdStorageException("Error resetting journal: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Appends a single mutation to the journal.
+     * The storage must have been loaded or saved at least once before appending.
+     * If there are any errors writing to the journal, a SongbirdStorageException is thrown.
+     *
+     * @param entry The mutation to append
+     * @throws SongbirdStorageException If there are any errors writing to the journal
+     */
+    public void append(JournalEntry entry) throws SongbirdStorageException {
+        append(List.of(entry));
+    }
+
+    /**
+     * Appends several mutations to the journal in a single write.
+     * The storage must have been loaded or saved at least once before appending.
+     * If there are any errors writing to the journal, a SongbirdStorageException is thrown.
+     *
+     * @param entries The mutations to append, in order
+     * @throws SongbirdStorageException If there are any errors writing to the journal
+     */
+    public void append(List<JournalEntry> entries) throws SongbirdStorageException {
+        assert journal != null : "Only a journaled Storage can be appended to";
+        if (isUnreadableDataKept) {
+            throw new SongbirdStorageException("Error appending to journal: " + databaseFile.getPath()
+                    + " could not be read, and is left untouched");
+        }
+        try {
+            journal.append(entries);
+        } catch (IOException e) {
+            throw new SongbirdStorageException("Error appending to journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Appends completed tasks to the archive, which is kept apart from the task list snapshot. The tasks are forced
+     * onto the disk before returning, unless in no-sync mode, so they can be deleted from the task list straight
+     * after. If there are any errors writing to the archive, a SongbirdStorageException is thrown.
+     *
+     * @param tasks The tasks to archive, in order
+     * @throws SongbirdStorageException If there are any errors writing to the archive
+     */
+    public void archive(List<Task> tasks) throws SongbirdStorageException {
+        try {
+            archive.append(tasks);
+        } catch (IOException e) {
+            throw new SongbirdStorageException("Error writing to archive: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the archived tasks, in the order they were archived. The archive is read the first time this is called,
+     * and kept in memory from then on, including tasks archived later. The returned store must not be modified.
+     * If there are any errors reading the archive, a SongbirdStorageException is thrown.
+     *
+     * @return The archived tasks
+     * @throws SongbirdStorageException If there are any errors reading the archive
+     */
+    public CompactTaskStore loadArchive() throws SongbirdStorageException {
+        try {
+            return archive.load();
+        } catch (IOException e) {
+            throw new SongbirdStorageException("Error reading archive: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns whether the archived tasks have been read into memory, which only happens once they are asked for.
+     *
+     * @return True if the archive has been read
+     */
+    public boolean isArchiveLoaded() {
+        return archive.isLoaded();
+    }
+
+    /**
+     * Returns whether the journal has grown enough that it should be compacted into a fresh snapshot by calling
+     * {@link #save(List)}.
+     *
+     * @return True if the journal should be compacted.
+     */
+    public boolean isCompactionDue() {
+        return journal != null && journal.getEntryCount() >= COMPACTION_THRESHOLD;
+    }
+
+    /**
+     * Forces any journal appends that have not been forced onto the disk yet.
+     * Only group-commit mode leaves such appends behind, so this does nothing in the other modes.
+     *
+     * @throws SongbirdStorageException If the journal cannot be forced onto the disk
+     */
+    public void sync() throws SongbirdStorageException {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.sync();
+        } catch (IOException e) {
+            throw new SongbirdStorageException("Error syncing journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Forces any remaining journal appends onto the disk and releases the journal file.
+     * In group-commit mode, the background thread is also stopped. The storage may still be saved to or loaded from
+     * afterwards, but appends are then only forced onto the disk by explicit calls to {@link #sync()}.
+     *
+     * @throws SongbirdStorageException If the journal cannot be forced onto the disk or closed
+     */
+    public void close() throws SongbirdStorageException {
+        if (groupCommitExecutor != null) {
+            groupCommitExecutor.shutdown();
+        }
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            throw new SongbirdStorageException("Error closing journal: " + e.getMessage());
+        }
+    }
+
+    private void writeSnapshot(File file, List<Task> tasks, long snapshotGeneration) throws IOException {
+        try (FileOutputStream fileOutput = new FileOutputStream(file);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOutput))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeByte(TaskCodec.FORMAT_VERSION);
+            out.writeLong(snapshotGeneration);
+            out.writeInt(tasks.size());
+            for (Task task : tasks) {
+                TaskCodec.encode(task, out);
+            }
+            out.flush();
+            // even group commit forces snapshots, or the rename below could expose an empty file after a crash
+            if (durabilityMode != DurabilityMode.NO_SYNC) {
+                fileOutput.getChannel().force(true);
+            }
+        }
+    }
+
+    private void replaceDatabaseFile(File tempFile) throws IOException {
+        Path source = tempFile.toPath();
+        Path target = databaseFile.toPath();
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        if (durabilityMode != DurabilityMode.NO_SYNC) {
+            syncDirectory(target.toAbsolutePath().getParent());
+        }
+    }
+
+    /**
+     * Forces the directory entry of a renamed file onto the disk, so the rename itself survives a crash.
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // some platforms, such as Windows, cannot open directories; their renames are durable regardless
+        }
+    }
+
+    private void syncInBackground() {
+        try {
+            sync();
+        } catch (SongbirdStorageException e) {
+            Ui.errorLater("Failed to save tasks: " + e.getMessage());
+        }
+    }
+
+    private List<Task> readSnapshot() throws IOException, ClassNotFoundException {
+        try (InputStream input = new BufferedInputStream(new FileInputStream(databaseFile))) {
+            input.mark(2);
+            int streamMagic = (input.read() << 8) | input.read();
+            input.reset();
+            if (streamMagic == JAVA_SERIALIZATION_MAGIC) {
+                List<Task> tasks = readLegacySnapshot(input);
+                isOutdatedSnapshot = true;
+                return tasks;
+            }
+
+            DataInputStream in = new DataInputStream(input);
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Unrecognised task list format: " + databaseFile.getPath());
+            }
+            int version = in.readUnsignedByte();
+            if (version > TaskCodec.FORMAT_VERSION) {
+                throw new IOException("Task list was written by a newer version of Songbird: format " + version);
+            }
+            isOutdatedSnapshot = version < TaskCodec.FORMAT_VERSION;
+            generation = in.readLong();
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IOException("Invalid task count in task list: " + count);
+            }
+            List<Task> tasks = new ArrayList<>(); // not sized from the count, which a corrupt file may inflate
+            for (int i = 0; i < count; i++) {
+                tasks.add(TaskCodec.decode(in, version));
+            }
+            return tasks;
+        }
+    }
+
+    /**
+     * Reads a snapshot written with Java serialization by an older version of Songbird.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Task> readLegacySnapshot(InputStream input) throws IOException, ClassNotFoundException {
+        ObjectInputStream ois = new ObjectInputStream(input);
+        List<Task> tasks = new ArrayList<>((List<Task>) ois.readObject());
+        try {
+            generation = ois.readLong();
+        } catch (EOFException e) {
+            generation = 0; // written before snapshots were versioned
+        }
+        return tasks;
+    }
+
+    /**
+     * Moves an unreadable snapshot and its journal aside, so the user's data survives for recovery, and the task list
+     * starts afresh. If they cannot be moved, they are left in place, and saving is refused instead.
+     *
+     * @return True if the files were moved aside.
+     */
+    private boolean setAsideUnreadableFiles() {
+        List<File> files = new ArrayList<>(List.of(databaseFile));
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                // the journal is moved aside regardless, and nothing more is appended to it
+            }
+            files.add(new File(databaseFile.getPath() + JOURNAL_SUFFIX));
+        }
+        try {
+            for (File file : files) {
+                if (file.exists()) {
+                    Files.move(file.toPath(), Path.of(file.getPath() + CORRUPT_SUFFIX),
+                            StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Ui.respond("Moved the unreadable task list to " + databaseFile.getPath() + CORRUPT_SUFFIX
+                    + ". Creating new empty task list...");
+            return true;
+        } catch (IOException e) {
+            isUnreadableDataKept = true;
+            Ui.error("Could not move the unreadable task list aside, so changes will not be saved: "
+                    + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean replayJournal(List<Task> tasks) {
+        try {
+            return journal.replay(tasks, generation);
+        } catch (IOException e) {
+            Ui.error("Error replaying journal, recent changes may be lost: " + e.getMessage());
+            return true;
+        }
     }
 }
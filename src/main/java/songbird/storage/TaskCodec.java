@@ -0,0 +1,195 @@
+package songbird.storage;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import songbird.task.DeadlineTask;
+import songbird.task.EventTask;
+import songbird.task.Task;
+import songbird.task.ToDoTask;
+
+/**
+ * Encodes and decodes tasks to and from Songbird's compact binary format.
+ * <p>
+ * Each task is written as a type byte, a done flag, its ID, its UTF-8 description prefixed by its length in bytes,
+ * and its date/times as epoch seconds. Tasks written in format 1 have no ID, and are decoded without one.
+ * Unlike Java serialization, no class descriptors or {@code LocalDateTime} object graphs are written, and decoding
+ * does not need reflection. Date/times are stored to the second.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+public class TaskCodec {
+    /** The version of the binary format written by this codec. */
+    public static final int FORMAT_VERSION = 2;
+
+    private static final byte TODO_CODE = 'T';
+    private static final byte DEADLINE_CODE = 'D';
+    private static final byte EVENT_CODE = 'E';
+    private static final int MAX_DESCRIPTION_BYTES = 1 << 20; // far beyond any description typed by hand
+
+    private TaskCodec() {
+        // utility class
+    }
+
+    /**
+     * Writes the binary encoding of a task.
+     *
+     * @param task The task to encode.
+     * @param out  The output to write the encoded task to.
+     * @throws IOException If the task cannot be written.
+     */
+    public static void encode(Task task, DataOutput out) throws IOException {
+        if (task instanceof DeadlineTask deadlineTask) {
+            out.writeByte(DEADLINE_CODE);
+            writeCommon(task, out);
+            out.writeLong(toEpochSecond(deadlineTask.getDeadline()));
+        } else if (task instanceof EventTask eventTask) {
+            out.writeByte(EVENT_CODE);
+            writeCommon(task, out);
+            out.writeLong(toEpochSecond(eventTask.getEventStart()));
+            out.writeLong(toEpochSecond(eventTask.getEventEnd()));
+        } else {
+            out.writeByte(TODO_CODE);
+            writeCommon(task, out);
+        }
+    }
+
+    /**
+     * Reads a task from its binary encoding in the current format.
+     *
+     * @param in The input to read the encoded task from.
+     * @return The decoded task.
+     * @throws IOException If the task cannot be read or is not a valid encoding.
+     */
+    public static Task decode(DataInput in) throws IOException {
+        return decode(in, FORMAT_VERSION);
+    }
+
+    /**
+     * Reads a task from its binary encoding in the given format.
+     *
+     * @param in            The input to read the encoded task from.
+     * @param formatVersion The version of the format the task was written in.
+     * @return The decoded task.
+     * @throws IOException If the task cannot be read or is not a valid encoding.
+     */
+    public static Task decode(DataInput in, int formatVersion) throws IOException {
+        try {
+            return decodeTask(in, formatVersion);
+        } catch (RuntimeException e) {
+            // values from a corrupt file, such as date/times out of range, must fail as I/O errors like any other
+            throw new IOException("Invalid task encoding: " + e.getMessage(), e);
+        }
+    }
+
+    private static Task decodeTask(DataInput in, int formatVersion) throws IOException {
+        byte code = in.readByte();
+        boolean isDone = in.readBoolean();
+        long id = formatVersion >= 2 ? readVarLong(in) : 0;
+        String description = readString(in);
+
+        Task task = switch (code) {
+            case TODO_CODE -> new ToDoTask(description);
+            case DEADLINE_CODE -> new DeadlineTask(description, fromEpochSecond(in.readLong()));
+            case EVENT_CODE -> new EventTask(description, fromEpochSecond(in.readLong()),
+                    fromEpochSecond(in.readLong()));
+            default -> throw new IOException("Unknown task type code: " + code);
+        };
+        if (isDone) {
+            task.setTaskDone();
+        }
+        if (id > 0) {
+            task.setId(id);
+        }
+        return task;
+    }
+
+    private static void writeCommon(Task task, DataOutput out) throws IOException {
+        out.writeBoolean(task.isDone());
+        writeVarLong(task.getId(), out);
+        writeString(task.getDescription(), out);
+    }
+
+    private static void writeString(String value, DataOutput out) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length, out);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = readVarInt(in);
+        if (length > MAX_DESCRIPTION_BYTES) {
+            throw new IOException("Description too long in task encoding: " + length + " bytes");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a non-negative int using 7 bits per byte, so short descriptions only need a single length byte.
+     */
+    private static void writeVarInt(int value, DataOutput out) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            out.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte(remaining);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new IOException("Malformed length in task encoding");
+    }
+
+    /**
+     * Writes a non-negative long using 7 bits per byte, so IDs below 16384 only need two bytes.
+     */
+    private static void writeVarLong(long value, DataOutput out) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) (remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new IOException("Malformed ID in task encoding");
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime fromEpochSecond(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
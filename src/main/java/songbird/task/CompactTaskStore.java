@@ -0,0 +1,237 @@
+package songbird.task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores tasks column by column in primitive arrays, for large collections of tasks that are mostly read, such as
+ * completed tasks that are kept but rarely looked at.
+ * <p>
+ * A task held as objects costs a Task, a String and its byte array, and for each date/time a LocalDateTime with its
+ * own LocalDate and LocalTime: well over a hundred bytes before its description. Here, each task is a slot in a few
+ * arrays instead: its ID, its type and done flag packed into a byte, its start and end as epoch seconds in UTC, the
+ * same as in the storage format, and a handle into a {@link StringPool} of descriptions, where equal descriptions are
+ * stored once. Tasks are only turned back into {@link Task} objects when they are read with {@link #get(int)}.
+ * <p>
+ * Date/times are kept to the second. Adding and reading tasks takes O(1) time, and removing a task shifts the tasks
+ * after it, so it takes O(n) time.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+public final class CompactTaskStore {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final byte DONE_FLAG = (byte) 0x80;
+    private static final byte TYPE_MASK = 0x7F;
+    private static final TaskType[] TASK_TYPES = TaskType.values();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private byte[] flags = new byte[INITIAL_CAPACITY];
+    private long[] startSeconds = new long[INITIAL_CAPACITY];
+    private long[] endSeconds = new long[INITIAL_CAPACITY];
+    private int[] descriptions = new int[INITIAL_CAPACITY];
+    private StringPool descriptionPool = new StringPool();
+    private int size;
+    private int removedCount;
+
+    /**
+     * Returns a store holding the given tasks, in order, with their capacity trimmed to fit them.
+     *
+     * @param tasks The tasks to store.
+     * @return The store.
+     */
+    public static CompactTaskStore of(List<? extends Task> tasks) {
+        CompactTaskStore store = new CompactTaskStore();
+        store.ensureCapacity(tasks.size());
+        for (Task task : tasks) {
+            store.add(task);
+        }
+        store.trimToSize();
+        return store;
+    }
+
+    /**
+     * Adds a copy of the task to the end of the store. Later changes to the task do not change the store.
+     *
+     * @param task The task to add.
+     */
+    public void add(Task task) {
+        ensureCapacity(size + 1);
+        ids[size] = task.getId();
+        flags[size] = (byte) (task.getTaskType().ordinal() | (task.isDone() ? DONE_FLAG : 0));
+        if (task instanceof DeadlineTask deadlineTask) {
+            startSeconds[size] = toEpochSecond(deadlineTask.getDeadline());
+            endSeconds[size] = startSeconds[size];
+        } else if (task instanceof EventTask eventTask) {
+            startSeconds[size] = toEpochSecond(eventTask.getEventStart());
+            endSeconds[size] = toEpochSecond(eventTask.getEventEnd());
+        } else {
+            startSeconds[size] = 0;
+            endSeconds[size] = 0;
+        }
+        descriptions[size] = descriptionPool.add(task.getDescription());
+        size++;
+    }
+
+    /**
+     * Returns a new Task holding the task at the given position. Marking the returned task does not mark the task in
+     * the store; use {@link #setDone(int, boolean)} for that.
+     *
+     * @param index The 0-based position of the task.
+     * @return The task.
+     * @throws IndexOutOfBoundsException If the position is not in the store.
+     */
+    public Task get(int index) {
+        checkIndex(index);
+        String description = descriptionPool.get(descriptions[index]);
+        Task task = switch (getTaskType(index)) {
+            case TODO -> new ToDoTask(description);
+            case DEADLINE -> new DeadlineTask(description, fromEpochSecond(startSeconds[index]));
+            case EVENT -> new EventTask(description, fromEpochSecond(startSeconds[index]),
+                    fromEpochSecond(endSeconds[index]));
+        };
+        if (ids[index] > 0) {
+            task.setId(ids[index]);
+        }
+        if (isDone(index)) {
+            task.setTaskDone();
+        }
+        return task;
+    }
+
+    /**
+     * Removes the task at the given position, shifting the following tasks forward.
+     *
+     * @param index The 0-based position of the task.
+     * @throws IndexOutOfBoundsException If the position is not in the store.
+     */
+    public void remove(int index) {
+        checkIndex(index);
+        int following = size - index - 1;
+        System.arraycopy(ids, index + 1, ids, index, following);
+        System.arraycopy(flags, index + 1, flags, index, following);
+        System.arraycopy(startSeconds, index + 1, startSeconds, index, following);
+        System.arraycopy(endSeconds, index + 1, endSeconds, index, following);
+        System.arraycopy(descriptions, index + 1, descriptions, index, following);
+        size--;
+        removedCount++;
+        if (removedCount > size) {
+            rebuildDescriptionPool(); // most pooled descriptions may belong to removed tasks
+        }
+    }
+
+    /**
+     * Returns all tasks in the store, each as a new Task.
+     *
+     * @return A new list of the tasks, in order.
+     */
+    public List<Task> toList() {
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(get(i));
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the number of tasks in the store.
+     *
+     * @return The number of tasks.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Marks the task at the given position as done or not done.
+     *
+     * @param index  The 0-based position of the task.
+     * @param isDone Whether the task is done.
+     * @throws IndexOutOfBoundsException If the position is not in the store.
+     */
+    public void setDone(int index, boolean isDone) {
+        checkIndex(index);
+        flags[index] = (byte) (isDone ? flags[index] | DONE_FLAG : flags[index] & TYPE_MASK);
+    }
+
+    /**
+     * Releases the unused capacity of the arrays, for a store that is done growing.
+     */
+    public void trimToSize() {
+        ids = Arrays.copyOf(ids, size);
+        flags = Arrays.copyOf(flags, size);
+        startSeconds = Arrays.copyOf(startSeconds, size);
+        endSeconds = Arrays.copyOf(endSeconds, size);
+        descriptions = Arrays.copyOf(descriptions, size);
+        descriptionPool.trimToSize();
+    }
+
+    /**
+     * Returns whether the task at the given position is done.
+     *
+     * @param index The 0-based position of the task.
+     * @return True if the task is done.
+     * @throws IndexOutOfBoundsException If the position is not in the store.
+     */
+    public boolean isDone(int index) {
+        checkIndex(index);
+        return (flags[index] & DONE_FLAG) != 0;
+    }
+
+    // GETTERS
+    public long getId(int index) {
+        checkIndex(index);
+        return ids[index];
+    }
+
+    public TaskType getTaskType(int index) {
+        checkIndex(index);
+        return TASK_TYPES[flags[index] & TYPE_MASK];
+    }
+
+    public String getDescription(int index) {
+        checkIndex(index);
+        return descriptionPool.get(descriptions[index]);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, newCapacity);
+        flags = Arrays.copyOf(flags, newCapacity);
+        startSeconds = Arrays.copyOf(startSeconds, newCapacity);
+        endSeconds = Arrays.copyOf(endSeconds, newCapacity);
+        descriptions = Arrays.copyOf(descriptions, newCapacity);
+    }
+
+    /**
+     * Moves the descriptions of the remaining tasks into a new pool, dropping those of removed tasks.
+     */
+    private void rebuildDescriptionPool() {
+        StringPool oldPool = descriptionPool;
+        descriptionPool = new StringPool();
+        for (int i = 0; i < size; i++) {
+            descriptions[i] = descriptionPool.add(oldPool.get(descriptions[i]));
+        }
+        removedCount = 0;
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime fromEpochSecond(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,199 @@
+package songbird.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Indexes the date/times of deadline and event tasks, so the tasks occurring in a range of time can be found without
+ * scanning the whole task list.
+ * <p>
+ * Deadlines are kept in a sorted map keyed by their epoch second, and events in an {@link IntervalTree} over their
+ * start and end. Finding the k tasks in a range takes O(log n + k) time. Date/times are converted to epoch seconds
+ * in UTC, the same as in the storage format.
+ * <p>
+ * Deadlines that are not done are also counted by their epoch second, so the overdue deadlines can be counted without
+ * visiting the deadlines that are done.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+final class DateIndex implements TaskIndex {
+    private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private final NavigableMap<Long, List<Task>> deadlines = new TreeMap<>();
+    private final IntervalTree<Task> events = new IntervalTree<>();
+    private final NavigableMap<Long, Integer> pendingDeadlineCounts = new TreeMap<>();
+
+    @Override
+    public void taskAdded(Task task) {
+        if (task instanceof DeadlineTask deadlineTask) {
+            deadlines.computeIfAbsent(toEpochSecond(deadlineTask.getDeadline()), key -> new ArrayList<>(1)).add(task);
+            if (!task.isDone()) {
+                countPendingDeadline(deadlineTask, 1);
+            }
+        } else if (task instanceof EventTask eventTask) {
+            events.add(toEpochSecond(eventTask.getEventStart()), eventEndSecond(eventTask), task);
+        }
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        if (task instanceof DeadlineTask deadlineTask) {
+            long key = toEpochSecond(deadlineTask.getDeadline());
+            List<Task> tasksAtKey = deadlines.get(key);
+            if (tasksAtKey == null || !tasksAtKey.remove(task)) {
+                return;
+            }
+            if (tasksAtKey.isEmpty()) {
+                deadlines.remove(key);
+            }
+            if (!task.isDone()) {
+                countPendingDeadline(deadlineTask, -1);
+            }
+        } else if (task instanceof EventTask eventTask) {
+            events.remove(toEpochSecond(eventTask.getEventStart()), eventEndSecond(eventTask), task);
+        }
+    }
+
+    @Override
+    public void taskDoneChanged(Task task) {
+        if (task instanceof DeadlineTask deadlineTask) {
+            countPendingDeadline(deadlineTask, task.isDone() ? -1 : 1);
+        }
+    }
+
+    /**
+     * Counts the deadlines that are not done and were due before the given date/time.
+     * This takes O(log n + k) time, for the k distinct date/times of the overdue deadlines.
+     *
+     * @param now The current date/time.
+     * @return The number of overdue deadlines.
+     */
+    int countOverdue(LocalDateTime now) {
+        int count = 0;
+        for (int countAtKey : pendingDeadlineCounts.headMap(toEpochSecond(now), false).values()) {
+            count += countAtKey;
+        }
+        return count;
+    }
+
+    /**
+     * Counts the deadlines due in the given range of date/times and the events overlapping it, stopping once the
+     * count reaches the limit, so a wide range is not counted in full.
+     *
+     * @param from  The start of the range.
+     * @param to    The end of the range.
+     * @param limit The count to stop at.
+     * @return The number of tasks, or a number of at least the limit if there are at least that many.
+     */
+    int countBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        long fromSecond = toEpochSecond(from);
+        long toSecond = toEpochSecond(to);
+        int count = 0;
+        if (fromSecond <= toSecond) {
+            for (List<Task> tasksAtKey : deadlines.subMap(fromSecond, true, toSecond, true).values()) {
+                count += tasksAtKey.size();
+                if (count >= limit) {
+                    return count;
+                }
+            }
+        }
+        return count + events.countOverlapping(fromSecond, toSecond, limit - count);
+    }
+
+    /**
+     * Adds the deadlines due in the given range of date/times and the events overlapping it to the collection, in no
+     * particular order. This skips merging the two sorted sequences, for callers that do not need the tasks in time
+     * order.
+     *
+     * @param from  The start of the range.
+     * @param to    The end of the range.
+     * @param tasks The collection to add the tasks to.
+     */
+    void collectBetween(LocalDateTime from, LocalDateTime to, Collection<Task> tasks) {
+        long fromSecond = toEpochSecond(from);
+        long toSecond = toEpochSecond(to);
+        if (fromSecond <= toSecond) {
+            deadlines.subMap(fromSecond, true, toSecond, true).values().forEach(tasks::addAll);
+        }
+        events.forEachOverlapping(fromSecond, toSecond, tasks::add);
+    }
+
+    /**
+     * Returns the deadlines due on the given date and the events taking place on it, at least in part.
+     *
+     * @param date The date to find tasks on.
+     * @return A new list of the tasks, ordered by their deadline or start.
+     */
+    List<Task> getTasksOn(LocalDate date) {
+        long dayStart = date.toEpochDay() * SECONDS_PER_DAY;
+        return getTasksBetween(dayStart, dayStart + SECONDS_PER_DAY - 1);
+    }
+
+    /**
+     * Returns the deadlines due in the given range of date/times and the events overlapping it, at least in part.
+     * Both ends of the range are inclusive, to the second.
+     *
+     * @param from The start of the range.
+     * @param to   The end of the range.
+     * @return A new list of the tasks, ordered by their deadline or start.
+     */
+    List<Task> getTasksBetween(LocalDateTime from, LocalDateTime to) {
+        return getTasksBetween(toEpochSecond(from), toEpochSecond(to));
+    }
+
+    /**
+     * Returns the deadlines due in the given range of epoch seconds and the events overlapping it.
+     *
+     * @param fromSecond The first epoch second of the range.
+     * @param toSecond   The last epoch second of the range.
+     * @return A new list of the tasks, ordered by their deadline or start.
+     */
+    private List<Task> getTasksBetween(long fromSecond, long toSecond) {
+        List<Task> eventsInRange = events.findOverlapping(fromSecond, toSecond);
+        if (fromSecond > toSecond) {
+            return eventsInRange;
+        }
+        Collection<List<Task>> deadlinesInRange = deadlines.subMap(fromSecond, true, toSecond, true).values();
+
+        // merge the two sorted sequences, so tasks come out in time order
+        List<Task> tasks = new ArrayList<>(eventsInRange.size());
+        int eventIndex = 0;
+        for (List<Task> tasksAtKey : deadlinesInRange) {
+            long deadlineSecond = toEpochSecond(((DeadlineTask) tasksAtKey.get(0)).getDeadline());
+            while (eventIndex < eventsInRange.size() && startSecondOf(eventsInRange.get(eventIndex)) < deadlineSecond) {
+                tasks.add(eventsInRange.get(eventIndex));
+                eventIndex++;
+            }
+            tasks.addAll(tasksAtKey);
+        }
+        tasks.addAll(eventsInRange.subList(eventIndex, eventsInRange.size()));
+        return tasks;
+    }
+
+    private void countPendingDeadline(DeadlineTask deadlineTask, int change) {
+        pendingDeadlineCounts.merge(toEpochSecond(deadlineTask.getDeadline()), change,
+                (count, delta) -> count + delta == 0 ? null : count + delta);
+    }
+
+    private static long startSecondOf(Task event) {
+        return toEpochSecond(((EventTask) event).getEventStart());
+    }
+
+    /**
+     * Returns the end of an event in epoch seconds, or its start if it ends before it starts.
+     */
+    private static long eventEndSecond(EventTask eventTask) {
+        return Math.max(toEpochSecond(eventTask.getEventStart()), toEpochSecond(eventTask.getEventEnd()));
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
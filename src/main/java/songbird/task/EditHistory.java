@@ -0,0 +1,93 @@
+package songbird.task;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Represents the edits of a {@link TaskList} that can be undone, and the undone edits that can be redone.
+ * <p>
+ * Only the most recent edits are kept, up to the history's depth; older edits are forgotten, along with any tree
+ * nodes only they referred to. Recording a new edit forgets every edit that could be redone, since they no longer
+ * apply to the changed list.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ * @see TaskEdit
+ */
+final class EditHistory {
+    private final Deque<TaskEdit> undoableEdits = new ArrayDeque<>();
+    private final Deque<TaskEdit> redoableEdits = new ArrayDeque<>();
+    private int depth;
+
+    /**
+     * Constructs an EditHistory that keeps the given number of edits.
+     *
+     * @param depth The maximum number of edits that can be undone.
+     */
+    EditHistory(int depth) {
+        setDepth(depth);
+    }
+
+    /**
+     * Sets the maximum number of edits that can be undone, forgetting the oldest edits beyond it.
+     *
+     * @param depth The maximum number of edits that can be undone, or 0 to keep no history.
+     */
+    void setDepth(int depth) {
+        assert depth >= 0 : "History depth should not be negative";
+        this.depth = depth;
+        trim(undoableEdits);
+        trim(redoableEdits);
+    }
+
+    /**
+     * Records an edit that was just made, which can now be undone.
+     *
+     * @param edit The edit.
+     */
+    void record(TaskEdit edit) {
+        redoableEdits.clear();
+        undoableEdits.push(edit);
+        trim(undoableEdits);
+    }
+
+    /**
+     * Returns the most recent edit that can be undone, and moves it to the edits that can be redone.
+     *
+     * @return The edit to undo, or null if there is none.
+     */
+    TaskEdit undo() {
+        TaskEdit edit = undoableEdits.poll();
+        if (edit != null) {
+            redoableEdits.push(edit);
+        }
+        return edit;
+    }
+
+    /**
+     * Returns the most recently undone edit, and moves it back to the edits that can be undone.
+     *
+     * @return The edit to redo, or null if there is none.
+     */
+    TaskEdit redo() {
+        TaskEdit edit = redoableEdits.poll();
+        if (edit != null) {
+            undoableEdits.push(edit);
+        }
+        return edit;
+    }
+
+    /**
+     * Forgets every edit, for a change to the task list that cannot be undone, after which no earlier edit applies.
+     */
+    void clear() {
+        undoableEdits.clear();
+        redoableEdits.clear();
+    }
+
+    private void trim(Deque<TaskEdit> edits) {
+        while (edits.size() > depth) {
+            edits.removeLast();
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package songbird.task;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Represents an immutable sequence of elements, stored in a balanced binary tree ordered by position.
+ * <p>
+ * Every node records the size of its subtree, so the element at any position can be found, inserted or removed
+ * in O(log n) time, unlike an {@code ArrayList}, which shifts every following element. The tree is kept balanced as
+ * an AVL tree.
+ * <p>
+ * The tree is persistent: operations never modify it, but return a new tree that shares all untouched nodes with the
+ * old one. Each operation only copies the O(log n) nodes on the path to the changed position, and older versions of
+ * the tree remain valid and unchanged.
+ *
+ * @param <E> The type of the elements in the tree.
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+final class IndexedTree<E> implements Iterable<E> {
+    private static final IndexedTree<?> EMPTY = new IndexedTree<>(null);
+
+    private final Node<E> root;
+
+    /**
+     * Represents a node of the tree, which is never modified once created.
+     */
+    private static final class Node<E> {
+        private final E value;
+        private final Node<E> left;
+        private final Node<E> right;
+        private final int size;
+        private final int height;
+
+        private Node(E value, Node<E> left, Node<E> right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.size = sizeOf(left) + sizeOf(right) + 1;
+            this.height = Math.max(heightOf(left), heightOf(right)) + 1;
+        }
+    }
+
+    private IndexedTree(Node<E> root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns an empty tree.
+     *
+     * @param <E> The type of the elements in the tree.
+     * @return The empty tree.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> IndexedTree<E> empty() {
+        return (IndexedTree<E>) EMPTY;
+    }
+
+    /**
+     * Returns a tree holding the given elements in order, built in O(n) time.
+     *
+     * @param values The elements of the tree.
+     * @param <E>    The type of the elements in the tree.
+     * @return The tree holding the elements.
+     */
+    static <E> IndexedTree<E> of(List<? extends E> values) {
+        return values.isEmpty() ? empty() : new IndexedTree<>(build(values, 0, values.size()));
+    }
+
+    /**
+     * Returns the number of elements in the tree.
+     *
+     * @return The number of elements.
+     */
+    int size() {
+        return sizeOf(root);
+    }
+
+    /**
+     * Returns whether the tree holds no elements.
+     *
+     * @return True if the tree is empty.
+     */
+    boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Returns the element at the given position.
+     *
+     * @param index The 0-based position of the element.
+     * @return The element at the position.
+     * @throws IndexOutOfBoundsException If the position is not in the tree.
+     */
+    E get(int index) {
+        checkIndex(index, size());
+        Node<E> node = root;
+        int remaining = index;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (remaining < leftSize) {
+                node = node.left;
+            } else if (remaining > leftSize) {
+                remaining -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.value;
+            }
+        }
+    }
+
+    /**
+     * Returns the position of the element with the given key, in a tree whose elements are in ascending order of key.
+     * The search follows a single path down the tree, so it takes O(log n) time.
+     *
+     * @param key    Extracts the key of an element.
+     * @param target The key to search for.
+     * @return The 0-based position of the element with the key, or -1 if there is none.
+     */
+    int indexOfKey(ToLongFunction<? super E> key, long target) {
+        Node<E> node = root;
+        int offset = 0;
+        while (node != null) {
+            long nodeKey = key.applyAsLong(node.value);
+            if (target < nodeKey) {
+                node = node.left;
+            } else if (target > nodeKey) {
+                offset += sizeOf(node.left) + 1;
+                node = node.right;
+            } else {
+                return offset + sizeOf(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a tree with the given element inserted at the given position, shifting the following elements back.
+     *
+     * @param index The 0-based position to insert at, which may be the size of the tree to append.
+     * @param value The element to insert.
+     * @return The tree with the element inserted.
+     * @throws IndexOutOfBoundsException If the position is neither in the tree nor just past its end.
+     */
+    IndexedTree<E> insert(int index, E value) {
+        checkIndex(index, size() + 1);
+        return new IndexedTree<>(insertNode(root, index, value));
+    }
+
+    /**
+     * Returns a tree with the element at the given position removed, shifting the following elements forward.
+     *
+     * @param index The 0-based position of the element to remove.
+     * @return The tree with the element removed.
+     * @throws IndexOutOfBoundsException If the position is not in the tree.
+     */
+    IndexedTree<E> remove(int index) {
+        checkIndex(index, size());
+        Node<E> newRoot = removeNode(root, index);
+        return newRoot == null ? empty() : new IndexedTree<>(newRoot);
+    }
+
+    /**
+     * Returns a tree with the elements at the given positions removed, shifting the following elements forward.
+     * A few elements are removed one at a time, from the last position to the first, in O(k log n) time. Once that
+     * would copy more nodes than the tree has, the tree is rebuilt from the remaining elements in O(n) time instead.
+     *
+     * @param sortedIndexes The distinct 0-based positions of the elements to remove, in ascending order.
+     * @return The tree with the elements removed.
+     * @throws IndexOutOfBoundsException If a position is not in the tree.
+     */
+    IndexedTree<E> removeAll(int[] sortedIndexes) {
+        if (sortedIndexes.length == 0) {
+            return this;
+        }
+        checkIndex(sortedIndexes[0], size());
+        checkIndex(sortedIndexes[sortedIndexes.length - 1], size());
+        if ((long) sortedIndexes.length * heightOf(root) < size()) {
+            IndexedTree<E> remaining = this;
+            for (int i = sortedIndexes.length - 1; i >= 0; i--) {
+                assert i == 0 || sortedIndexes[i - 1] < sortedIndexes[i] : "Positions should be distinct and sorted";
+                remaining = remaining.remove(sortedIndexes[i]);
+            }
+            return remaining;
+        }
+
+        List<E> remainingValues = new ArrayList<>(size() - sortedIndexes.length);
+        int next = 0;
+        int index = 0;
+        for (E value : this) {
+            if (next < sortedIndexes.length && sortedIndexes[next] == index) {
+                next++;
+            } else {
+                remainingValues.add(value);
+            }
+            index++;
+        }
+        assert next == sortedIndexes.length : "Positions should be distinct and sorted";
+        return of(remainingValues);
+    }
+
+    /**
+     * Returns a mutable list holding the elements of the tree in order.
+     *
+     * @return A new list of the elements.
+     */
+    List<E> toList() {
+        List<E> values = new ArrayList<>(size());
+        forEach(values::add);
+        return values;
+    }
+
+    /**
+     * Returns an unmodifiable list view of the elements of the tree in order, created in O(1) time.
+     * The view always shows this version of the tree, so it is safe to read from any thread while newer versions are
+     * created. Getting an element by position takes O(log n) time, and iterating takes O(1) time per element.
+     *
+     * @return A list view of the elements.
+     */
+    List<E> asList() {
+        return new AbstractList<>() {
+            @Override
+            public E get(int index) {
+                return IndexedTree.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return IndexedTree.this.size();
+            }
+
+            @Override
+            public Iterator<E> iterator() {
+                return IndexedTree.this.iterator();
+            }
+
+            @Override
+            public Stream<E> stream() {
+                return IndexedTree.this.stream();
+            }
+        };
+    }
+
+    /**
+     * Returns a sequential stream of the elements of the tree in order.
+     *
+     * @return A stream of the elements.
+     */
+    Stream<E> stream() {
+        return StreamSupport.stream(Spliterators.spliterator(iterator(), size(),
+                Spliterator.ORDERED | Spliterator.IMMUTABLE), false);
+    }
+
+    /**
+     * Returns an iterator over the elements of the tree in order.
+     * The iterator needs O(log n) extra space, and continues over this version of the tree even if newer versions
+     * are created during the iteration.
+     *
+     * @return An iterator over the elements.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return iterator(0);
+    }
+
+    /**
+     * Returns an iterator over the elements of the tree in order, starting at the given position.
+     * Finding the starting position takes O(log n) time, so iterating over a range of k elements takes
+     * O(log n + k) time.
+     *
+     * @param fromIndex The 0-based position of the first element to iterate over, which may be the size of the tree.
+     * @return An iterator over the elements from the position onwards.
+     * @throws IndexOutOfBoundsException If the position is neither in the tree nor just past its end.
+     */
+    Iterator<E> iterator(int fromIndex) {
+        checkIndex(fromIndex, size() + 1);
+        return new Iterator<>() {
+            private final Deque<Node<E>> path = new ArrayDeque<>();
+
+            {
+                // keep the ancestors the starting element is left of, which are exactly the ones still to be visited
+                Node<E> node = root;
+                int remaining = fromIndex;
+                while (node != null) {
+                    int leftSize = sizeOf(node.left);
+                    if (remaining <= leftSize) {
+                        path.push(node);
+                        node = node.left;
+                    } else {
+                        remaining -= leftSize + 1;
+                        node = node.right;
+                    }
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<E> node = path.pop();
+                pushLeftSpine(node.right);
+                return node.value;
+            }
+
+            private void pushLeftSpine(Node<E> node) {
+                for (Node<E> current = node; current != null; current = current.left) {
+                    path.push(current);
+                }
+            }
+        };
+    }
+
+    private static void checkIndex(int index, int limit) {
+        if (index < 0 || index >= limit) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + limit);
+        }
+    }
+
+    private static <E> Node<E> build(List<? extends E> values, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        return new Node<>(values.get(middle), build(values, from, middle), build(values, middle + 1, to));
+    }
+
+    private static <E> Node<E> insertNode(Node<E> node, int index, E value) {
+        if (node == null) {
+            return new Node<>(value, null, null);
+        }
+        int leftSize = sizeOf(node.left);
+        if (index <= leftSize) {
+            return balance(node.value, insertNode(node.left, index, value), node.right);
+        }
+        return balance(node.value, node.left, insertNode(node.right, index - leftSize - 1, value));
+    }
+
+    private static <E> Node<E> removeNode(Node<E> node, int index) {
+        int leftSize = sizeOf(node.left);
+        if (index < leftSize) {
+            return balance(node.value, removeNode(node.left, index), node.right);
+        } else if (index > leftSize) {
+            return balance(node.value, node.left, removeNode(node.right, index - leftSize - 1));
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        }
+
+        // replace the removed element with its successor, the first element of the right subtree
+        Node<E> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.value, node.left, removeFirst(node.right));
+    }
+
+    private static <E> Node<E> removeFirst(Node<E> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.value, removeFirst(node.left), node.right);
+    }
+
+    /**
+     * Creates a node from the given parts, rotating them if the subtrees' heights differ by more than one.
+     * The subtrees must themselves be balanced, and their heights may differ by at most two.
+     */
+    private static <E> Node<E> balance(E value, Node<E> left, Node<E> right) {
+        int leftHeight = heightOf(left);
+        int rightHeight = heightOf(right);
+        if (leftHeight > rightHeight + 1) {
+            if (heightOf(left.left) >= heightOf(left.right)) {
+                return new Node<>(left.value, left.left, new Node<>(value, left.right, right));
+            }
+            Node<E> pivot = left.right;
+            return new Node<>(pivot.value, new Node<>(left.value, left.left, pivot.left),
+                    new Node<>(value, pivot.right, right));
+        } else if (rightHeight > leftHeight + 1) {
+            if (heightOf(right.right) >= heightOf(right.left)) {
+                return new Node<>(right.value, new Node<>(value, left, right.left), right.right);
+            }
+            Node<E> pivot = right.left;
+            return new Node<>(pivot.value, new Node<>(value, left, pivot.left),
+                    new Node<>(right.value, pivot.right, right.right));
+        }
+        return new Node<>(value, left, right);
+    }
+
+    private static int sizeOf(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int heightOf(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+}
@@ -0,0 +1,262 @@
+package songbird.task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Represents a set of values, each attached to a closed interval of longs, that can be searched for the values whose
+ * intervals overlap a given range.
+ * <p>
+ * The intervals are kept in an AVL tree ordered by their start, where every node also records the latest end of any
+ * interval in its subtree. A search skips every subtree whose intervals all end before the range, and every subtree
+ * whose intervals all start after it, so finding k overlapping values takes O(log n + k) time in practice.
+ * Values attached to the same interval share a node.
+ *
+ * @param <E> The type of the values in the tree.
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+final class IntervalTree<E> {
+    private Node<E> root;
+    private int size;
+    private boolean isRemoved;
+
+    /**
+     * Represents a node of the tree, holding every value attached to one interval.
+     */
+    private static final class Node<E> {
+        private final long start;
+        private final long end;
+        private final List<E> values = new ArrayList<>(1);
+        private Node<E> left;
+        private Node<E> right;
+        private int height = 1;
+        private long maxEnd;
+
+        private Node(long start, long end) {
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+
+    /**
+     * Returns the number of values in the tree.
+     *
+     * @return The number of values.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Attaches a value to the given interval.
+     *
+     * @param start The start of the interval.
+     * @param end   The end of the interval, which must not be before its start.
+     * @param value The value to attach.
+     */
+    void add(long start, long end, E value) {
+        assert start <= end : "Interval should not end before it starts";
+        root = insertNode(root, start, end, value);
+        size++;
+    }
+
+    /**
+     * Detaches a value from the given interval, if it is attached to it.
+     *
+     * @param start The start of the interval.
+     * @param end   The end of the interval.
+     * @param value The value to detach, compared using {@code equals}.
+     * @return True if the value was detached.
+     */
+    boolean remove(long start, long end, E value) {
+        isRemoved = false;
+        root = removeNode(root, start, end, value);
+        if (isRemoved) {
+            size--;
+        }
+        return isRemoved;
+    }
+
+    /**
+     * Returns the values whose intervals overlap the given closed range, ordered by the start of their intervals.
+     *
+     * @param from The start of the range.
+     * @param to   The end of the range.
+     * @return A new list of the overlapping values.
+     */
+    List<E> findOverlapping(long from, long to) {
+        List<E> values = new ArrayList<>();
+        forEachOverlapping(from, to, values::add);
+        return values;
+    }
+
+    /**
+     * Performs an action on each value whose interval overlaps the given closed range, in order of the start of
+     * their intervals.
+     *
+     * @param from   The start of the range.
+     * @param to     The end of the range.
+     * @param action The action to perform on each overlapping value.
+     */
+    void forEachOverlapping(long from, long to, Consumer<? super E> action) {
+        forEachOverlapping(root, from, to, action);
+    }
+
+    /**
+     * Counts the values whose intervals overlap the given closed range, stopping once the count reaches the limit, so
+     * only O(log n + limit) nodes are visited.
+     *
+     * @param from  The start of the range.
+     * @param to    The end of the range.
+     * @param limit The count to stop at.
+     * @return The number of overlapping values, or a number of at least the limit if there are at least that many.
+     */
+    int countOverlapping(long from, long to, int limit) {
+        return countOverlapping(root, from, to, limit);
+    }
+
+    private static int countOverlapping(Node<?> node, long from, long to, int limit) {
+        if (node == null || node.maxEnd < from || limit <= 0) {
+            return 0;
+        }
+        int count = countOverlapping(node.left, from, to, limit);
+        if (count >= limit || node.start > to) {
+            return count;
+        }
+        if (node.end >= from) {
+            count += node.values.size();
+        }
+        return count + countOverlapping(node.right, from, to, limit - count);
+    }
+
+    private static <E> void forEachOverlapping(Node<E> node, long from, long to, Consumer<? super E> action) {
+        if (node == null || node.maxEnd < from) {
+            return; // every interval in this subtree ends before the range
+        }
+        forEachOverlapping(node.left, from, to, action);
+        if (node.start > to) {
+            return; // this interval and every interval to its right start after the range
+        }
+        if (node.end >= from) {
+            node.values.forEach(action);
+        }
+        forEachOverlapping(node.right, from, to, action);
+    }
+
+    private static <E> Node<E> insertNode(Node<E> node, long start, long end, E value) {
+        if (node == null) {
+            Node<E> leaf = new Node<>(start, end);
+            leaf.values.add(value);
+            return leaf;
+        }
+        int comparison = compare(start, end, node);
+        if (comparison < 0) {
+            node.left = insertNode(node.left, start, end, value);
+        } else if (comparison > 0) {
+            node.right = insertNode(node.right, start, end, value);
+        } else {
+            node.values.add(value);
+            return node;
+        }
+        return balance(node);
+    }
+
+    private Node<E> removeNode(Node<E> node, long start, long end, E value) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(start, end, node);
+        if (comparison < 0) {
+            node.left = removeNode(node.left, start, end, value);
+        } else if (comparison > 0) {
+            node.right = removeNode(node.right, start, end, value);
+        } else {
+            isRemoved = node.values.remove(value);
+            if (!node.values.isEmpty()) {
+                return node;
+            }
+            if (node.left == null) {
+                return node.right;
+            } else if (node.right == null) {
+                return node.left;
+            }
+
+            // put the successor, the first node of the right subtree, in place of the removed node
+            Node<E> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeFirst(node.right);
+            successor.left = node.left;
+            return balance(successor);
+        }
+        return balance(node);
+    }
+
+    private static <E> Node<E> removeFirst(Node<E> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeFirst(node.left);
+        return balance(node);
+    }
+
+    private static int compare(long start, long end, Node<?> node) {
+        int comparison = Long.compare(start, node.start);
+        return comparison != 0 ? comparison : Long.compare(end, node.end);
+    }
+
+    /**
+     * Updates the node's height and latest end, and rotates it if its subtrees' heights differ by more than one.
+     */
+    private static <E> Node<E> balance(Node<E> node) {
+        update(node);
+        int balanceFactor = heightOf(node.left) - heightOf(node.right);
+        if (balanceFactor > 1) {
+            if (heightOf(node.left.left) < heightOf(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        } else if (balanceFactor < -1) {
+            if (heightOf(node.right.right) < heightOf(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static <E> Node<E> rotateLeft(Node<E> node) {
+        Node<E> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static <E> Node<E> rotateRight(Node<E> node) {
+        Node<E> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node<?> node) {
+        node.height = Math.max(heightOf(node.left), heightOf(node.right)) + 1;
+        node.maxEnd = Math.max(node.end, Math.max(maxEndOf(node.left), maxEndOf(node.right)));
+    }
+
+    private static int heightOf(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static long maxEndOf(Node<?> node) {
+        return node == null ? Long.MIN_VALUE : node.maxEnd;
+    }
+}
@@ -0,0 +1,280 @@
+package songbird.task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Indexes the words in task descriptions, so tasks can be found by keyword without scanning the whole task list.
+ * <p>
+ * Descriptions are lowercased and split into words, which are maximal runs of letters and digits. Each word maps to
+ * the set of tasks whose description contains it, kept in the order the tasks were added. A whole-word query is
+ * answered straight from these sets. A substring query made up of letters and digits must lie within a single word of
+ * every matching description, so it is answered by scanning the distinct words instead of the tasks, and collecting
+ * the tasks of the words that contain it. This serves keywords too short for the {@link TrigramIndex}.
+ * <p>
+ * Words can also be matched with typos, by comparing the query words against the distinct words.
+ * <p>
+ * Results are returned in the order their tasks were first added to the index. That is the order of the task list,
+ * unless a removed task was added back, as undo does, in which case it comes last. A task that was added several
+ * times is returned as many times.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+final class KeywordIndex implements TaskIndex {
+    private final Map<String, Set<Task>> postings = new HashMap<>();
+    private final Map<Task, Occurrences> occurrences = new IdentityHashMap<>();
+    private long nextAddOrder;
+    private int repeatedTaskCount;
+
+    /**
+     * Represents when a task was first added to the index, and how many times it is in the task list.
+     */
+    private static final class Occurrences {
+        private final long addOrder;
+        private int count = 1;
+
+        private Occurrences(long addOrder) {
+            this.addOrder = addOrder;
+        }
+    }
+
+    /**
+     * Represents a position in a set of tasks that is being merged, with the add order of its current task.
+     */
+    private final class Cursor {
+        private final Iterator<Task> remainingTasks;
+        private Task task;
+        private long addOrder;
+
+        private Cursor(Iterator<Task> remainingTasks) {
+            this.remainingTasks = remainingTasks;
+        }
+
+        private boolean advance() {
+            if (!remainingTasks.hasNext()) {
+                return false;
+            }
+            task = remainingTasks.next();
+            addOrder = occurrences.get(task).addOrder;
+            return true;
+        }
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        Occurrences existing = occurrences.get(task);
+        if (existing != null) {
+            if (existing.count == 1) {
+                repeatedTaskCount++;
+            }
+            existing.count++;
+            return;
+        }
+        occurrences.put(task, new Occurrences(nextAddOrder++));
+        for (String word : tokenize(task.getDescription())) {
+            postings.computeIfAbsent(word, key -> new LinkedHashSet<>()).add(task);
+        }
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        Occurrences existing = occurrences.get(task);
+        if (existing == null) {
+            return;
+        }
+        existing.count--;
+        if (existing.count == 1) {
+            repeatedTaskCount--;
+        }
+        if (existing.count > 0) {
+            return;
+        }
+        occurrences.remove(task);
+        for (String word : tokenize(task.getDescription())) {
+            Set<Task> tasksWithWord = postings.get(word);
+            if (tasksWithWord != null && tasksWithWord.remove(task) && tasksWithWord.isEmpty()) {
+                postings.remove(word);
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks whose descriptions contain every word of the query as a whole word, ignoring case.
+     *
+     * @param query The words to search for.
+     * @return A new list of the matching tasks in the order they were added, which is empty if the query has no words.
+     */
+    List<Task> findByWords(String query) {
+        Set<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // intersect starting from the rarest word, so the candidates only ever shrink from the smallest set
+        List<Set<Task>> tasksPerWord = new ArrayList<>(words.size());
+        for (String word : words) {
+            Set<Task> tasksWithWord = postings.get(word);
+            if (tasksWithWord == null) {
+                return new ArrayList<>();
+            }
+            tasksPerWord.add(tasksWithWord);
+        }
+        tasksPerWord.sort(Comparator.comparingInt(Set::size));
+        List<Task> matches = new ArrayList<>(tasksPerWord.get(0));
+        for (Set<Task> tasksWithWord : tasksPerWord.subList(1, tasksPerWord.size())) {
+            matches.removeIf(task -> !tasksWithWord.contains(task));
+        }
+        return withRepeats(matches);
+    }
+
+    /**
+     * Returns the tasks whose descriptions contain the keyword, ignoring case, if the keyword only consists of
+     * letters and digits. Keywords with any other character may span several words, so they cannot be looked up.
+     *
+     * @param keyword The keyword to search for.
+     * @return A new list of the matching tasks in the order they were added, or null if the keyword cannot be looked
+     *         up.
+     */
+    List<Task> findBySubstring(String keyword) {
+        String normalizedKeyword = keyword.toLowerCase();
+        if (normalizedKeyword.isEmpty() || !normalizedKeyword.codePoints().allMatch(KeywordIndex::isWordCharacter)) {
+            return null;
+        }
+
+        List<Set<Task>> matchingPostings = new ArrayList<>();
+        for (Map.Entry<String, Set<Task>> posting : postings.entrySet()) {
+            if (posting.getKey().contains(normalizedKeyword)) {
+                matchingPostings.add(posting.getValue());
+            }
+        }
+        return withRepeats(union(matchingPostings));
+    }
+
+    /**
+     * Returns the tasks whose descriptions contain, for every word of the query, a word that is at most a couple of
+     * typos away from it, ignoring case, as decided by {@link TypoMatcher#forWord(String)}.
+     * Each query word is compared against the distinct words of all descriptions, not against every task.
+     *
+     * @param query The words to search for.
+     * @return A new list of the matching tasks in the order they were added, which is empty if the query has no words.
+     */
+    List<Task> findBySimilarWords(String query) {
+        Set<String> queryWords = tokenize(query);
+        if (queryWords.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Task> matches = null;
+        for (String queryWord : queryWords) {
+            TypoMatcher typoMatcher = TypoMatcher.forWord(queryWord);
+            List<Set<Task>> similarPostings = new ArrayList<>();
+            for (Map.Entry<String, Set<Task>> posting : postings.entrySet()) {
+                if (typoMatcher.matches(posting.getKey())) {
+                    similarPostings.add(posting.getValue());
+                }
+            }
+            if (similarPostings.isEmpty()) {
+                return new ArrayList<>();
+            }
+
+            List<Task> tasksWithSimilarWord = union(similarPostings);
+            if (matches == null) {
+                matches = tasksWithSimilarWord;
+            } else {
+                Set<Task> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+                candidates.addAll(tasksWithSimilarWord);
+                matches.removeIf(task -> !candidates.contains(task));
+            }
+        }
+        return withRepeats(matches);
+    }
+
+    /**
+     * Returns the distinct tasks in the given sets in the order they were added.
+     * Each set is already in that order, so several sets are merged by repeatedly taking the earliest-added of their
+     * next tasks, without sorting.
+     */
+    private List<Task> union(List<Set<Task>> taskSets) {
+        if (taskSets.size() == 1) {
+            return new ArrayList<>(taskSets.get(0));
+        }
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>(Comparator.comparingLong(cursor -> cursor.addOrder));
+        for (Set<Task> taskSet : taskSets) {
+            Cursor cursor = new Cursor(taskSet.iterator());
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+        List<Task> merged = new ArrayList<>();
+        Task lastTask = null;
+        while (!cursors.isEmpty()) {
+            Cursor cursor = cursors.poll();
+            if (cursor.task != lastTask) { // a task in several sets comes out of each of them in a row
+                merged.add(cursor.task);
+                lastTask = cursor.task;
+            }
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Repeats each of the given tasks as many times as it was added, keeping their order.
+     */
+    private List<Task> withRepeats(List<Task> tasks) {
+        if (repeatedTaskCount == 0) {
+            return tasks;
+        }
+        List<Task> repeated = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            for (int i = occurrences.get(task).count; i > 0; i--) {
+                repeated.add(task);
+            }
+        }
+        return repeated;
+    }
+
+    /**
+     * Splits text into its distinct lowercased words.
+     * The whole text is lowercased before it is split, the same as the keyword of a substring query.
+     */
+    private static Set<String> tokenize(String text) {
+        String normalizedText = text.toLowerCase();
+        Set<String> words = new HashSet<>();
+        int wordStart = -1;
+        int index = 0;
+        while (index < normalizedText.length()) {
+            int codePoint = normalizedText.codePointAt(index);
+            if (isWordCharacter(codePoint)) {
+                if (wordStart < 0) {
+                    wordStart = index;
+                }
+            } else if (wordStart >= 0) {
+                words.add(normalizedText.substring(wordStart, index));
+                wordStart = -1;
+            }
+            index += Character.charCount(codePoint);
+        }
+        if (wordStart >= 0) {
+            words.add(normalizedText.substring(wordStart));
+        }
+        return words;
+    }
+
+    private static boolean isWordCharacter(int codePoint) {
+        return Character.isLetterOrDigit(codePoint);
+    }
+}
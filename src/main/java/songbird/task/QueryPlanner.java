@@ -0,0 +1,100 @@
+package songbird.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Plans and runs {@link TaskQuery queries} over the indexes of a {@link TaskList}.
+ * <p>
+ * Each condition of a query estimates how many candidates its index would return: the tasks with the rarest trigram
+ * of a phrase, the tasks of a type, or the tasks in a range of dates, counted only up to the best estimate so far.
+ * A query whose conditions are all combined with 'and' is driven by its condition with the fewest candidates, and
+ * the other conditions are only checked on those candidates, so adding conditions never costs another pass over the
+ * list. A query no index can help with, or one whose candidates would be as many as the tasks themselves, is run as
+ * a single scan instead.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ * @see TaskQuery
+ */
+final class QueryPlanner {
+    private final DateIndex dateIndex;
+    private final TrigramIndex trigramIndex;
+    private final TypeIndex typeIndex;
+
+    /**
+     * Constructs a QueryPlanner over the given indexes.
+     *
+     * @param dateIndex    The index of deadlines and events by date/time.
+     * @param trigramIndex The index of descriptions by trigram.
+     * @param typeIndex    The index of tasks by type.
+     */
+    QueryPlanner(DateIndex dateIndex, TrigramIndex trigramIndex, TypeIndex typeIndex) {
+        this.dateIndex = dateIndex;
+        this.trigramIndex = trigramIndex;
+        this.typeIndex = typeIndex;
+    }
+
+    /**
+     * Returns whether the query should be answered from the indexes, rather than by scanning the tasks.
+     *
+     * @param query     The query to plan.
+     * @param taskCount The number of tasks in the task list.
+     * @return True if the indexes return fewer candidates than there are tasks.
+     */
+    boolean isIndexed(TaskQuery query, int taskCount) {
+        return query.estimate(this, taskCount) < taskCount;
+    }
+
+    /**
+     * Returns the distinct tasks matching the query among its candidates from the indexes, in ID order.
+     * Only valid if the query {@link #isIndexed(TaskQuery, int) is indexed}.
+     *
+     * @param query The query to run.
+     * @return A new list of the matching tasks.
+     */
+    List<Task> findMatches(TaskQuery query) {
+        Set<Task> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Task> matches = new ArrayList<>();
+        for (Task candidate : query.candidates(this)) {
+            if (query.matches(candidate) && seen.add(candidate)) {
+                matches.add(candidate);
+            }
+        }
+        matches.sort(Comparator.comparingLong(Task::getId));
+        return matches;
+    }
+
+    long estimateSubstring(String phrase) {
+        int estimate = trigramIndex.estimateSubstring(phrase);
+        return estimate < 0 ? TaskQuery.NOT_INDEXED : estimate;
+    }
+
+    Collection<Task> findBySubstring(String phrase) {
+        return trigramIndex.findBySubstring(phrase);
+    }
+
+    long countOfType(TaskType taskType) {
+        return typeIndex.isUsable() ? typeIndex.count(taskType) : TaskQuery.NOT_INDEXED;
+    }
+
+    Collection<Task> findByType(TaskType taskType) {
+        return typeIndex.getTasksOfType(taskType);
+    }
+
+    long countBetween(LocalDateTime from, LocalDateTime to, long limit) {
+        return dateIndex.countBetween(from, to, (int) Math.min(limit, Integer.MAX_VALUE));
+    }
+
+    Collection<Task> findBetween(LocalDateTime from, LocalDateTime to) {
+        List<Task> tasks = new ArrayList<>();
+        dateIndex.collectBetween(from, to, tasks);
+        return tasks;
+    }
+}
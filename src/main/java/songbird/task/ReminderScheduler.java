@@ -0,0 +1,158 @@
+package songbird.task;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Reminds the user of deadlines and events when they come due: at the deadline, or at the start of the event. Each
+ * task that is not done and is due in the future is scheduled in a {@link TimingWheel} of seconds, which a background
+ * thread advances once a second, so waiting reminders cost nothing until they come due, however many there are.
+ * <p>
+ * The scheduler is an index of its task list, so a reminder is scheduled when a task is added or marked as not done,
+ * and cancelled when it is deleted or marked as done, without rescanning the list. Tasks are reminded of once; a
+ * task that is due again after being marked as not done is scheduled again.
+ * <p>
+ * Date/times are compared as local date/times, like the tasks hold them, so reminders follow the wall clock.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+final class ReminderScheduler implements TaskIndex {
+    private final Clock clock;
+    private final Consumer<Task> reminderHandler;
+    private final ScheduledThreadPoolExecutor executor;
+
+    // guarded by this
+    private final TimingWheel<Task> wheel;
+    private final Map<Task, Reminder> reminders = new IdentityHashMap<>();
+
+    /**
+     * Represents the reminder of a task, shared by every copy of the task in the task list.
+     */
+    private static final class Reminder {
+        private final TimingWheel.Entry<Task> entry;
+        private int copies = 1;
+
+        private Reminder(TimingWheel.Entry<Task> entry) {
+            this.entry = entry;
+        }
+    }
+
+    /**
+     * Constructs a ReminderScheduler. Its background thread is not started until {@link #start(long)} is called.
+     *
+     * @param clock           The clock that tells the current date/time.
+     * @param reminderHandler Receives each task as it comes due, on the background thread.
+     */
+    ReminderScheduler(Clock clock, Consumer<Task> reminderHandler) {
+        this.clock = clock;
+        this.reminderHandler = reminderHandler;
+        this.wheel = new TimingWheel<>(toTick(LocalDateTime.now(clock)));
+        this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "songbird-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts advancing the reminders on the background thread.
+     *
+     * @param periodMillis The time between advances, which is how late a reminder may be.
+     */
+    void start(long periodMillis) {
+        assert periodMillis > 0 : "Reminder period should be positive";
+        executor.scheduleAtFixedRate(this::remindDueTasks, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background thread. Reminders that are not due yet are dropped.
+     */
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public synchronized void taskAdded(Task task) {
+        if (!task.isDone()) {
+            schedule(task);
+        }
+    }
+
+    @Override
+    public synchronized void taskRemoved(Task task) {
+        if (!task.isDone()) {
+            cancel(task);
+        }
+    }
+
+    @Override
+    public synchronized void taskDoneChanged(Task task) {
+        if (task.isDone()) {
+            cancel(task);
+        } else {
+            schedule(task);
+        }
+    }
+
+    /**
+     * Returns the number of tasks waiting to be reminded of.
+     *
+     * @return The number of tasks.
+     */
+    synchronized int getPendingCount() {
+        return reminders.size();
+    }
+
+    /**
+     * Advances the reminders to the current date/time, and passes the tasks that came due to the reminder handler,
+     * in the order they came due.
+     */
+    void remindDueTasks() {
+        List<Task> dueTasks = new ArrayList<>();
+        synchronized (this) {
+            wheel.advanceTo(toTick(LocalDateTime.now(clock)), task -> {
+                reminders.remove(task);
+                dueTasks.add(task);
+            });
+        }
+        dueTasks.forEach(reminderHandler); // outside the lock, so the handler cannot hold up the task list
+    }
+
+    private void schedule(Task task) {
+        Reminder reminder = reminders.get(task);
+        if (reminder != null) {
+            reminder.copies++;
+            return;
+        }
+        LocalDateTime dueDateTime = UpcomingIndex.dueDateTimeOf(task);
+        if (dueDateTime == null || !dueDateTime.isAfter(LocalDateTime.now(clock))) {
+            return; // already due, so there is nothing left to remind of
+        }
+        reminders.put(task, new Reminder(wheel.schedule(task, toTick(dueDateTime))));
+    }
+
+    private void cancel(Task task) {
+        Reminder reminder = reminders.get(task);
+        if (reminder == null) {
+            return;
+        }
+        reminder.copies--;
+        if (reminder.copies == 0) {
+            wheel.cancel(reminder.entry);
+            reminders.remove(task);
+        }
+    }
+
+    private static long toTick(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,110 @@
+package songbird.task;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Stores strings packed together as UTF-8 in a single byte array, each referred to by an int handle, so a million
+ * strings cost a few arrays instead of a million String objects and their own byte arrays. Equal strings are stored
+ * once and share a handle.
+ * <p>
+ * Handles are found by content in an open-addressing hash table of ints with linear probing, like the one in
+ * {@link TaskIdIndex}, so adding a string neither boxes nor allocates beyond its encoded bytes. Strings are never
+ * removed; a pool that holds many strings no longer in use is rebuilt by adding the live ones to a new pool.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+final class StringPool {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private byte[] bytes = new byte[INITIAL_CAPACITY * 16];
+    private int byteCount;
+    private int[] offsets = new int[INITIAL_CAPACITY + 1]; // string i is bytes[offsets[i]] to bytes[offsets[i + 1]]
+    private int[] table = new int[INITIAL_CAPACITY * 2]; // handle + 1 of the string in each slot, or 0 if empty
+    private int size;
+
+    /**
+     * Adds a string to the pool, unless an equal string is already in it.
+     *
+     * @param string The string to add.
+     * @return The handle of the string.
+     */
+    int add(String string) {
+        byte[] encoded = string.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(encoded, 0, encoded.length);
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != 0) {
+            int handle = table[slot] - 1;
+            if (Arrays.equals(bytes, offsets[handle], offsets[handle + 1], encoded, 0, encoded.length)) {
+                return handle;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (byteCount + encoded.length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, byteCount + encoded.length));
+        }
+        System.arraycopy(encoded, 0, bytes, byteCount, encoded.length);
+        byteCount += encoded.length;
+        if (size + 2 > offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[size + 1] = byteCount;
+        table[slot] = size + 1;
+        size++;
+        if (size * 2 > table.length) { // keep the table at most half full, so probe runs stay short
+            rehash(table.length * 2);
+        }
+        return size - 1;
+    }
+
+    /**
+     * Returns the string with the given handle, decoded into a new String.
+     *
+     * @param handle The handle of the string.
+     * @return The string.
+     */
+    String get(int handle) {
+        assert handle >= 0 && handle < size : "String handle should be in the pool";
+        return new String(bytes, offsets[handle], offsets[handle + 1] - offsets[handle], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the number of distinct strings in the pool.
+     *
+     * @return The number of strings.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Releases the unused capacity of the arrays, for a pool that is done growing.
+     */
+    void trimToSize() {
+        bytes = Arrays.copyOf(bytes, byteCount);
+        offsets = Arrays.copyOf(offsets, size + 1);
+    }
+
+    private void rehash(int capacity) {
+        table = new int[capacity];
+        int mask = capacity - 1;
+        for (int handle = 0; handle < size; handle++) {
+            int slot = hash(bytes, offsets[handle], offsets[handle + 1]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = handle + 1;
+        }
+    }
+
+    private static int hash(byte[] array, int from, int to) {
+        int hash = 1;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + array[i];
+        }
+        return hash ^ (hash >>> 16); // spread the high bits into the low bits the table is indexed by
+    }
+}
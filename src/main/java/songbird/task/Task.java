@@ -6,7 +6,11 @@ import java.io.Serializable;
 /**
  * Represents a Task that the user wants to save.
  * <p>
- * Tasks can either be done or not done, and must have a description.
+ * Tasks can either be done or not done, and must have a description. Whether a task is done may be changed on one
+ * thread and read on another without locking.
+ * <p>
+ * Once a task is added to a {@link TaskList}, it is given a positive ID that identifies it for as long as it exists,
+ * unlike its position in the list.
  *
  * @author Ashe Low
  * @version CS2103T AY24/25 Semester 2
@@ -16,7 +20,8 @@ public abstract class Task implements Serializable {
     private static final long serialVersionUID = 1L;
     protected final TaskType taskType;
     protected final String description;
-    protected boolean isDone;
+    protected volatile boolean isDone;
+    protected long id;
 
     /**
      * Constructs the Task class.
@@ -39,6 +44,44 @@ public abstract class Task implements Serializable {
         return description;
     }
 
+    /**
+     * Returns the ID of the Task.
+     *
+     * @return The ID of the Task, or 0 if it has not been given one yet.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of the Task. A Task's ID cannot be changed once it is set.
+     *
+     * @param id The ID of the Task, which must be positive.
+     */
+    public void setId(long id) {
+        assert id > 0 : "Task ID should be positive";
+        assert this.id == 0 || this.id == id : "Task ID should not be changed once set";
+        this.id = id;
+    }
+
+    /**
+     * Returns the type of the Task.
+     *
+     * @return The type of the Task.
+     */
+    public TaskType getTaskType() {
+        return taskType;
+    }
+
+    /**
+     * Returns whether the Task is done.
+     *
+     * @return True if the Task is done, false otherwise.
+     */
+    public boolean isDone() {
+        return isDone;
+    }
+
     /**
      * Sets the Task as done.
      */
@@ -0,0 +1,58 @@
+package songbird.task;
+
+/**
+ * Counts the tasks of a TaskList, in total, by type, and by whether they are done, so the counts can be read in O(1)
+ * time instead of scanning the list. The counts are updated in O(1) time as tasks are added, removed, marked and
+ * unmarked.
+ * <p>
+ * A task added several times is counted once for each copy, as it is listed.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ * @see TaskStats
+ */
+final class TaskCounters implements TaskIndex {
+    private final int[] countsByType = new int[TaskType.values().length];
+    private final int[] doneCountsByType = new int[TaskType.values().length];
+    private int count;
+    private int doneCount;
+
+    @Override
+    public void taskAdded(Task task) {
+        update(task, 1);
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        update(task, -1);
+    }
+
+    @Override
+    public void taskDoneChanged(Task task) {
+        int change = task.isDone() ? 1 : -1;
+        doneCount += change;
+        doneCountsByType[task.getTaskType().ordinal()] += change;
+        assert doneCount >= 0 && doneCount <= count : "Done count should be within the number of tasks";
+    }
+
+    /**
+     * Returns the current counts, with the given number of overdue tasks.
+     *
+     * @param overdueCount The number of deadlines that are overdue, which is not counted here.
+     * @return The counts.
+     */
+    TaskStats toStats(int overdueCount) {
+        return new TaskStats(count, doneCount, countsByType.clone(), doneCountsByType.clone(), overdueCount);
+    }
+
+    private void update(Task task, int change) {
+        int type = task.getTaskType().ordinal();
+        count += change;
+        countsByType[type] += change;
+        if (task.isDone()) {
+            doneCount += change;
+            doneCountsByType[type] += change;
+        }
+        assert count >= 0 : "Task count should not be negative";
+    }
+}
@@ -0,0 +1,165 @@
+package songbird.task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import songbird.storage.JournalEntry;
+
+/**
+ * Represents the change a single command made to a {@link TaskList}, so it can be persisted, undone and redone.
+ * <p>
+ * Since the task tree is persistent, the edit keeps the versions of the tree from before and after the change, which
+ * share every node the change did not touch. Undoing or redoing the edit switches between them in O(1) time, and
+ * only the tasks the edit added, removed, marked or unmarked need to be updated in the indexes. Keeping an edit
+ * costs the O(log n) nodes the change copied, not a copy of the list.
+ * <p>
+ * The edit also records the journal entries of the change, and the entries that reverse it, so undoing and redoing
+ * are persisted like any other change.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ * @see EditHistory
+ */
+final class TaskEdit {
+    private final String description;
+    private final IndexedTree<Task> before;
+    private final boolean wasSortedById;
+    private IndexedTree<Task> after;
+    private boolean isSortedById;
+    private final List<Task> addedTasks = new ArrayList<>();
+    private final List<Task> removedTasks = new ArrayList<>();
+    private final List<Task> markedTasks = new ArrayList<>();
+    private final List<Task> unmarkedTasks = new ArrayList<>();
+    private final List<JournalEntry> entries = new ArrayList<>();
+    private final List<JournalEntry> reversingEntries = new ArrayList<>();
+
+    /**
+     * Constructs a TaskEdit that starts from the given version of the task list.
+     *
+     * @param description   A short description of the change, shown when it is undone or redone.
+     * @param before        The tree of the task list before the change.
+     * @param wasSortedById Whether the task list was in ID order before the change.
+     */
+    TaskEdit(String description, IndexedTree<Task> before, boolean wasSortedById) {
+        this.description = description;
+        this.before = before;
+        this.wasSortedById = wasSortedById;
+        this.after = before;
+        this.isSortedById = wasSortedById;
+    }
+
+    /**
+     * Records that a task was inserted at the given position.
+     *
+     * @param index The 0-based position the task was inserted at.
+     * @param task  The added task.
+     */
+    void recordAdd(int index, Task task) {
+        addedTasks.add(task);
+        entries.add(JournalEntry.add(index, task));
+        reversingEntries.add(JournalEntry.delete(index));
+    }
+
+    /**
+     * Records that the task at the given position was removed.
+     *
+     * @param index The 0-based position the task was removed from.
+     * @param task  The removed task.
+     */
+    void recordDelete(int index, Task task) {
+        removedTasks.add(task);
+        entries.add(JournalEntry.delete(index));
+        reversingEntries.add(JournalEntry.add(index, task));
+    }
+
+    /**
+     * Records that the task at the given position was marked as done or not done, when it was not already so.
+     *
+     * @param index  The 0-based position of the task.
+     * @param task   The marked or unmarked task.
+     * @param isDone Whether the task was marked as done, rather than not done.
+     */
+    void recordSetDone(int index, Task task, boolean isDone) {
+        (isDone ? markedTasks : unmarkedTasks).add(task);
+        entries.add(isDone ? JournalEntry.mark(index) : JournalEntry.unmark(index));
+        reversingEntries.add(isDone ? JournalEntry.unmark(index) : JournalEntry.mark(index));
+    }
+
+    /**
+     * Records the version of the task list the change ended at.
+     *
+     * @param after        The tree of the task list after the change.
+     * @param isSortedById Whether the task list is in ID order after the change.
+     */
+    void finish(IndexedTree<Task> after, boolean isSortedById) {
+        this.after = after;
+        this.isSortedById = isSortedById;
+    }
+
+    /**
+     * Returns whether the edit changed nothing.
+     *
+     * @return True if nothing was added, removed, marked or unmarked.
+     */
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Returns the journal entries that make the change, in order.
+     *
+     * @return The journal entries.
+     */
+    List<JournalEntry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Returns the journal entries that reverse the change, in order: the reverse of each entry, last entry first.
+     *
+     * @return The journal entries.
+     */
+    List<JournalEntry> getReversingEntries() {
+        List<JournalEntry> reversed = new ArrayList<>(reversingEntries);
+        Collections.reverse(reversed);
+        return reversed;
+    }
+
+    // GETTERS
+    String getDescription() {
+        return description;
+    }
+
+    IndexedTree<Task> getBefore() {
+        return before;
+    }
+
+    IndexedTree<Task> getAfter() {
+        return after;
+    }
+
+    boolean wasSortedById() {
+        return wasSortedById;
+    }
+
+    boolean isSortedById() {
+        return isSortedById;
+    }
+
+    List<Task> getAddedTasks() {
+        return addedTasks;
+    }
+
+    List<Task> getRemovedTasks() {
+        return removedTasks;
+    }
+
+    List<Task> getMarkedTasks() {
+        return markedTasks;
+    }
+
+    List<Task> getUnmarkedTasks() {
+        return unmarkedTasks;
+    }
+}
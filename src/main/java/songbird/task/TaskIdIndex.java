@@ -0,0 +1,146 @@
+package songbird.task;
+
+/**
+ * Indexes tasks by their IDs, so a task can be found by ID in O(1) time, independent of its position in the list.
+ * <p>
+ * IDs are kept in an open-addressing hash table of primitive longs with linear probing, so lookups neither box their
+ * keys nor allocate. Since IDs are positive, 0 marks an empty slot. Removals shift the following entries of their
+ * probe run back, instead of leaving tombstones behind, so lookups never slow down as tasks are deleted.
+ * A task that was added several times keeps a single entry, which is only removed with its last copy.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+final class TaskIdIndex implements TaskIndex {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L; // 2^64 divided by the golden ratio
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private Task[] tasks = new Task[INITIAL_CAPACITY];
+    private int[] counts = new int[INITIAL_CAPACITY];
+    private int size;
+
+    @Override
+    public void taskAdded(Task task) {
+        long id = task.getId();
+        assert id > 0 : "Tasks should be given an ID before they are indexed";
+        int slot = findSlot(id);
+        if (ids[slot] == id) {
+            assert tasks[slot] == task : "Task IDs should be unique";
+            counts[slot]++;
+            return;
+        }
+
+        ids[slot] = id;
+        tasks[slot] = task;
+        counts[slot] = 1;
+        size++;
+        if (size * 2 > ids.length) { // keep the table at most half full, so probe runs stay short
+            resize(ids.length * 2);
+        }
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        int slot = findSlot(task.getId());
+        if (ids[slot] != task.getId() || --counts[slot] > 0) {
+            return;
+        }
+        size--;
+        removeSlot(slot);
+    }
+
+    /**
+     * Returns the task with the given ID.
+     *
+     * @param id The ID of the task.
+     * @return The task, or null if no indexed task has the ID.
+     */
+    Task get(long id) {
+        if (id <= 0) {
+            return null;
+        }
+        int slot = findSlot(id);
+        return ids[slot] == id ? tasks[slot] : null;
+    }
+
+    /**
+     * Returns the number of times the task is in the index.
+     *
+     * @param task The task to count.
+     * @return The number of copies of the task, or 0 if it is not indexed.
+     */
+    int countOf(Task task) {
+        int slot = findSlot(task.getId());
+        return ids[slot] == task.getId() && tasks[slot] == task ? counts[slot] : 0;
+    }
+
+    /**
+     * Returns the number of distinct tasks in the index.
+     *
+     * @return The number of tasks.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the slot holding the given ID, or the empty slot where it would be inserted.
+     */
+    private int findSlot(long id) {
+        int mask = ids.length - 1;
+        int slot = slotOf(id, mask);
+        while (ids[slot] != 0 && ids[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Empties a slot, then moves back every following entry of the probe run that may no longer be reachable from
+     * its home slot, so every entry stays reachable without tombstones.
+     */
+    private void removeSlot(int removedSlot) {
+        int mask = ids.length - 1;
+        int emptySlot = removedSlot;
+        int slot = (emptySlot + 1) & mask;
+        while (ids[slot] != 0) {
+            int homeSlot = slotOf(ids[slot], mask);
+            // the entry can fill the empty slot if its home slot is not strictly between the two, cyclically
+            boolean isMovable = emptySlot <= slot
+                    ? homeSlot <= emptySlot || homeSlot > slot
+                    : homeSlot <= emptySlot && homeSlot > slot;
+            if (isMovable) {
+                ids[emptySlot] = ids[slot];
+                tasks[emptySlot] = tasks[slot];
+                counts[emptySlot] = counts[slot];
+                emptySlot = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        ids[emptySlot] = 0;
+        tasks[emptySlot] = null;
+        counts[emptySlot] = 0;
+    }
+
+    private void resize(int capacity) {
+        long[] oldIds = ids;
+        Task[] oldTasks = tasks;
+        int[] oldCounts = counts;
+        ids = new long[capacity];
+        tasks = new Task[capacity];
+        counts = new int[capacity];
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != 0) {
+                int slot = findSlot(oldIds[i]);
+                ids[slot] = oldIds[i];
+                tasks[slot] = oldTasks[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private static int slotOf(long id, int mask) {
+        return (int) ((id * HASH_MULTIPLIER) >>> 32) & mask;
+    }
+}
@@ -0,0 +1,35 @@
+package songbird.task;
+
+/**
+ * Represents an index over the tasks of a TaskList, which the TaskList keeps up to date as its tasks change, so
+ * that queries do not need to scan the whole list.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ * @see TaskList
+ */
+interface TaskIndex {
+    /**
+     * Adds a task that was added to the task list.
+     *
+     * @param task The added task.
+     */
+    void taskAdded(Task task);
+
+    /**
+     * Removes a task that was deleted from the task list.
+     *
+     * @param task The deleted task.
+     */
+    void taskRemoved(Task task);
+
+    /**
+     * Updates a task that was marked as done or not done, after its status changed. A task that is in the task list
+     * several times is updated once for each copy.
+     *
+     * @param task The marked or unmarked task.
+     */
+    default void taskDoneChanged(Task task) {
+        // most indexes do not depend on whether tasks are done
+    }
+}
@@ -1,27 +1,74 @@
 package songbird.task;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import songbird.exception.SongbirdNonExistentTaskException;
 import songbird.exception.SongbirdStorageException;
+import songbird.storage.JournalEntry;
+import songbird.storage.SaveScheduler;
 import songbird.storage.Storage;
 import songbird.ui.Ui;
 
 /**
  * Represents a list of tasks that the user has saved.
  * The TaskList class is responsible for storing and managing the user's tasks.
+ * Tasks are held in an {@link IndexedTree}, so getting, adding and deleting a task by position all take O(log n)
+ * time, even in very large lists. The TaskList also keeps {@link TaskIndex indexes} over its tasks up to date, so
+ * queries by date, keyword or type, and counts of its tasks, do not need to scan every task. Tasks must be marked
+ * and unmarked through the TaskList, so the indexes see the change.
+ * <p>
+ * Every task is given an ID when it is added, counting up from 1, so a task can also be found by its ID, which stays
+ * the same when other tasks are deleted. Since tasks are only ever appended, IDs ascend along the list, and the
+ * position of a task with a given ID is found with a single search down the tree.
+ * <p>
+ * Every change is recorded as a {@link TaskEdit}, which keeps the versions of the tree from before and after it, so
+ * the most recent changes can be undone and redone without copying the list.
+ * <p>
+ * The TaskList is safe to use from several threads. Mutations and index queries hold the TaskList's lock, so they
+ * happen one at a time. Since the tree is immutable, every mutation publishes a new version of it, and reads by
+ * position, listing and {@link #snapshot() snapshots} only read the latest version, without locking or copying.
  *
  * @author Ashe Low
  * @version CS2103T AY24/25 Semester 2
  * @see Task
  */
 public class TaskList {
-    private final ArrayList<Task> tasks;
+    /** The number of changes that can be undone, unless set otherwise with {@link #setHistoryDepth(int)}. */
+    public static final int DEFAULT_HISTORY_DEPTH = 100;
+
+    private volatile IndexedTree<Task> tasks; // guarded by this for writes, read without locking
     private final Storage storage;
+    private final DateIndex dateIndex = new DateIndex();
+    private final KeywordIndex keywordIndex = new KeywordIndex();
+    private final TrigramIndex trigramIndex = new TrigramIndex();
+    private final TaskIdIndex idIndex = new TaskIdIndex();
+    private final TypeIndex typeIndex = new TypeIndex(idIndex);
+    private final TaskCounters counters = new TaskCounters();
+    private final UpcomingIndex upcomingIndex = new UpcomingIndex();
+    private List<TaskIndex> indexes = List.of(dateIndex, keywordIndex, trigramIndex, idIndex, typeIndex, counters,
+            upcomingIndex); // guarded by this
+    private final QueryPlanner queryPlanner = new QueryPlanner(dateIndex, trigramIndex, typeIndex);
+    private final EditHistory history = new EditHistory(DEFAULT_HISTORY_DEPTH);
+    private SaveScheduler saveScheduler;
+    private ReminderScheduler reminderScheduler;
+    private long nextId = 1;
+    private boolean isSortedById = true; // only false if a task was added twice, or tasks were loaded out of order
 
     /**
      * Creates a TaskList with no initial tasks and the specified storage.
@@ -29,7 +76,7 @@ public class TaskList {
      * @param storage The Storage instance to be used by the TaskList for persistence.
      */
     public TaskList(Storage storage) {
-        this.tasks = new ArrayList<>();
+        this.tasks = IndexedTree.empty();
         this.storage = storage;
     }
 
@@ -40,8 +87,31 @@ public class TaskList {
      * @param storage      The Storage instance to be used by the TaskList for persistence.
      */
     public TaskList(List<Task> initialTasks, Storage storage) {
-        this.tasks = new ArrayList<>(initialTasks);
+        assignMissingIds(initialTasks);
+        this.tasks = IndexedTree.of(initialTasks);
         this.storage = storage;
+        long previousId = 0;
+        for (Task task : initialTasks) {
+            this.indexTask(task);
+            this.isSortedById &= task.getId() > previousId;
+            previousId = task.getId();
+            this.nextId = Math.max(nextId, task.getId() + 1);
+        }
+    }
+
+    /**
+     * Gives every task without an ID a new one, in order, counting up from the highest ID among the tasks.
+     * Tasks saved by older versions of Songbird have no IDs, and are given them with this when they are loaded.
+     *
+     * @param tasks The tasks to give IDs to.
+     */
+    public static void assignMissingIds(List<Task> tasks) {
+        long nextId = tasks.stream().mapToLong(Task::getId).max().orElse(0) + 1;
+        for (Task task : tasks) {
+            if (task.getId() == 0) {
+                task.setId(nextId++);
+            }
+        }
     }
 
     /**
@@ -50,9 +120,21 @@ public class TaskList {
      * @param task The task to be added.
      * @return The task that was added.
      */
-    public Task addTask(Task task) {
-        this.tasks.add(task);
-        this.saveList();
+    public synchronized Task addTask(Task task) {
+        if (task.getId() == 0) {
+            task.setId(nextId++);
+        } else {
+            this.nextId = Math.max(nextId, task.getId() + 1);
+        }
+        TaskEdit edit = startEdit("add: " + task.getDescription());
+        int index = tasks.size();
+        if (index > 0 && tasks.get(index - 1).getId() >= task.getId()) {
+            this.isSortedById = false;
+        }
+        this.tasks = tasks.insert(index, task);
+        this.indexTask(task);
+        edit.recordAdd(index, task);
+        this.commit(edit);
         return task;
     }
 
@@ -64,23 +146,484 @@ public class TaskList {
      * @return The task that was deleted.
      * @throws SongbirdNonExistentTaskException when the task is not found.
      */
-    public Task deleteTask(int index) throws SongbirdNonExistentTaskException {
+    public synchronized Task deleteTask(int index) throws SongbirdNonExistentTaskException {
         if (index < 0 || index >= tasks.size()) {
             throw new SongbirdNonExistentTaskException();
         }
-        Task deletedTask = this.tasks.remove(index);
-        this.saveList();
+        Task deletedTask = this.tasks.get(index);
+        TaskEdit edit = startEdit("delete: " + deletedTask.getDescription());
+        this.tasks = tasks.remove(index);
+        this.unindexTask(deletedTask);
+        edit.recordDelete(index, deletedTask);
+        this.commit(edit);
 
         return deletedTask;
     }
 
+    /**
+     * Marks the specified task in the task list as done by index, if valid. Otherwise, throws a
+     * SongbirdNonExistentTaskException.
+     *
+     * @param index The index of the task to mark as done.
+     * @return The task that was marked as done.
+     * @throws SongbirdNonExistentTaskException when the task is not found.
+     */
+    public synchronized Task markTask(int index) throws SongbirdNonExistentTaskException {
+        Task markedTask = getTask(index);
+        TaskEdit edit = startEdit("mark: " + markedTask.getDescription());
+        setTaskDone(edit, index, markedTask, true);
+        this.commit(edit);
+
+        return markedTask;
+    }
+
+    /**
+     * Marks the specified task in the task list as not done by index, if valid. Otherwise, throws a
+     * SongbirdNonExistentTaskException.
+     *
+     * @param index The index of the task to mark as not done.
+     * @return The task that was marked as not done.
+     * @throws SongbirdNonExistentTaskException when the task is not found.
+     */
+    public synchronized Task unmarkTask(int index) throws SongbirdNonExistentTaskException {
+        Task unmarkedTask = getTask(index);
+        TaskEdit edit = startEdit("unmark: " + unmarkedTask.getDescription());
+        setTaskDone(edit, index, unmarkedTask, false);
+        this.commit(edit);
+
+        return unmarkedTask;
+    }
+
+    /**
+     * Deletes every selected task from the task list as a single batch. The tasks are removed from the tree and the
+     * indexes in one pass, and the whole batch is persisted in a single write. If any selected task does not exist,
+     * nothing is deleted.
+     *
+     * @param selector The tasks to delete.
+     * @return The tasks that were deleted, in task list order.
+     * @throws SongbirdNonExistentTaskException when a selected task is not found.
+     */
+    public synchronized List<Task> deleteTasks(TaskSelector selector) throws SongbirdNonExistentTaskException {
+        int[] positions = selector.resolve(this);
+        List<Task> deletedTasks = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            deletedTasks.add(tasks.get(position));
+        }
+        TaskEdit edit = startEdit(describeBatch("delete", deletedTasks));
+        this.tasks = tasks.removeAll(positions);
+        deletedTasks.forEach(this::unindexTask);
+
+        // deleting from the back keeps the positions of the tasks that are still to be deleted valid on replay
+        for (int i = positions.length - 1; i >= 0; i--) {
+            edit.recordDelete(positions[i], deletedTasks.get(i));
+        }
+        this.commit(edit);
+        return deletedTasks;
+    }
+
+    /**
+     * Moves every task that is done out of the task list and into the archive, as a single batch. The tasks are
+     * written to the archive first, so a failure leaves the task list unchanged. Archiving cannot be undone, and
+     * clears the undo history, since the versions of the task list it kept still hold the archived tasks.
+     *
+     * @return The tasks that were archived, in task list order.
+     * @throws SongbirdStorageException If the tasks cannot be written to the archive.
+     */
+    public synchronized List<Task> archiveDoneTasks() throws SongbirdStorageException {
+        return archiveDoneTasksMatching(task -> true);
+    }
+
+    /**
+     * Moves every task that is done and ended before the given date/time into the archive, as
+     * {@link #archiveDoneTasks()} does. Deadlines end at their deadline and events at their end, while todos have
+     * no end, so they are only archived with {@link #archiveDoneTasks()}.
+     *
+     * @param cutoff The date/time that tasks must have ended before.
+     * @return The tasks that were archived, in task list order.
+     * @throws SongbirdStorageException If the tasks cannot be written to the archive.
+     */
+    public synchronized List<Task> archiveDoneTasksEndedBefore(LocalDateTime cutoff) throws SongbirdStorageException {
+        return archiveDoneTasksMatching(task -> {
+            LocalDateTime end = endOf(task);
+            return end != null && end.isBefore(cutoff);
+        });
+    }
+
+    /**
+     * Returns when the task ends: its deadline, or the end of its event, or null for tasks without dates.
+     */
+    private static LocalDateTime endOf(Task task) {
+        if (task instanceof DeadlineTask deadlineTask) {
+            return deadlineTask.getDeadline();
+        }
+        if (task instanceof EventTask eventTask) {
+            return eventTask.getEventEnd();
+        }
+        return null;
+    }
+
+    private List<Task> archiveDoneTasksMatching(Predicate<Task> filter) throws SongbirdStorageException {
+        if (counters.toStats(0).getDoneCount() == 0) {
+            return new ArrayList<>(); // nothing to archive, so the list is not scanned
+        }
+        List<Integer> positionList = new ArrayList<>();
+        List<Task> archivedTasks = new ArrayList<>();
+        int position = 0;
+        for (Task task : tasks) {
+            if (task.isDone() && filter.test(task)) {
+                positionList.add(position);
+                archivedTasks.add(task);
+            }
+            position++;
+        }
+        if (archivedTasks.isEmpty()) {
+            return archivedTasks;
+        }
+
+        storage.archive(archivedTasks);
+        int[] positions = positionList.stream().mapToInt(Integer::intValue).toArray();
+        TaskEdit edit = startEdit(describeBatch("archive", archivedTasks));
+        this.tasks = tasks.removeAll(positions);
+        archivedTasks.forEach(this::unindexTask);
+        for (int i = positions.length - 1; i >= 0; i--) {
+            edit.recordDelete(positions[i], archivedTasks.get(i));
+        }
+        edit.finish(tasks, isSortedById);
+        this.persist(edit.getEntries());
+        history.clear();
+        return archivedTasks;
+    }
+
+    /**
+     * Returns the number of archived tasks. The archive is read the first time archived tasks are asked for.
+     *
+     * @return The number of archived tasks.
+     * @throws SongbirdStorageException If the archive cannot be read.
+     */
+    public int getArchivedCount() throws SongbirdStorageException {
+        return storage.loadArchive().size();
+    }
+
+    /**
+     * Returns the archived tasks that match the given query, in the order they were archived. The archive has no
+     * indexes, so every archived task is checked. The archive is read the first time archived tasks are asked for.
+     *
+     * @param query The query to match.
+     * @return A new list of the matching tasks, each a copy of the archived task.
+     * @throws SongbirdStorageException If the archive cannot be read.
+     */
+    public List<Task> getArchivedTasksByQuery(TaskQuery query) throws SongbirdStorageException {
+        CompactTaskStore archive = storage.loadArchive();
+        List<Task> matches = new ArrayList<>();
+        for (int i = 0; i < archive.size(); i++) {
+            Task task = archive.get(i);
+            if (query.matches(task)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Marks every selected task as done as a single batch, persisted in a single write. If any selected task does not
+     * exist, nothing is marked.
+     *
+     * @param selector The tasks to mark as done.
+     * @return The selected tasks, in task list order.
+     * @throws SongbirdNonExistentTaskException when a selected task is not found.
+     */
+    public synchronized List<Task> markTasks(TaskSelector selector) throws SongbirdNonExistentTaskException {
+        return setTasksDone(selector, true);
+    }
+
+    /**
+     * Marks every selected task as not done as a single batch, persisted in a single write. If any selected task does
+     * not exist, nothing is unmarked.
+     *
+     * @param selector The tasks to mark as not done.
+     * @return The selected tasks, in task list order.
+     * @throws SongbirdNonExistentTaskException when a selected task is not found.
+     */
+    public synchronized List<Task> unmarkTasks(TaskSelector selector) throws SongbirdNonExistentTaskException {
+        return setTasksDone(selector, false);
+    }
+
+    /**
+     * Marks the selected tasks as done or not done, and persists the change of every task that was not already so.
+     */
+    private List<Task> setTasksDone(TaskSelector selector, boolean isDone) throws SongbirdNonExistentTaskException {
+        int[] positions = selector.resolve(this);
+        List<Task> selectedTasks = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            selectedTasks.add(tasks.get(position));
+        }
+        TaskEdit edit = startEdit(describeBatch(isDone ? "mark" : "unmark", selectedTasks));
+        for (int i = 0; i < positions.length; i++) {
+            setTaskDone(edit, positions[i], selectedTasks.get(i), isDone);
+        }
+        this.commit(edit);
+        return selectedTasks;
+    }
+
+    /**
+     * Marks a task as done or not done, and records the change in the edit if the task was not already so.
+     */
+    private void setTaskDone(TaskEdit edit, int index, Task task, boolean isDone) {
+        if (task.isDone() == isDone) {
+            return;
+        }
+        this.setDone(task, isDone);
+        edit.recordSetDone(index, task, isDone);
+    }
+
+    /**
+     * Marks a task as done or not done, and updates the indexes that depend on it, once for each copy of the task.
+     */
+    private void setDone(Task task, boolean isDone) {
+        if (isDone) {
+            task.setTaskDone();
+        } else {
+            task.setTaskNotDone();
+        }
+        for (int copies = idIndex.countOf(task); copies > 0; copies--) {
+            for (TaskIndex taskIndex : indexes) {
+                taskIndex.taskDoneChanged(task);
+            }
+        }
+    }
+
+    /**
+     * Undoes the most recent changes to the task list that have not been undone yet, up to the given number of them.
+     * The task list returns to the version from before each change, which the history kept, so undoing takes O(1)
+     * time for the tasks themselves, plus updating the indexes for the tasks the change affected. The undone changes
+     * are persisted in a single write, and can be redone until the task list is changed again.
+     *
+     * @param steps The number of changes to undo.
+     * @return Descriptions of the changes that were undone, most recent first, which is empty if there were none.
+     */
+    public synchronized List<String> undo(int steps) {
+        assert steps > 0 : "The number of changes to undo should be positive";
+        List<String> descriptions = new ArrayList<>();
+        List<JournalEntry> entries = new ArrayList<>();
+        while (descriptions.size() < steps) {
+            TaskEdit edit = history.undo();
+            if (edit == null) {
+                break;
+            }
+            assert tasks == edit.getAfter() : "Only the latest version of the task list should be undone";
+            this.tasks = edit.getBefore();
+            this.isSortedById = edit.wasSortedById();
+            edit.getAddedTasks().forEach(this::unindexTask);
+            edit.getRemovedTasks().forEach(this::indexTask);
+            edit.getMarkedTasks().forEach(task -> this.setDone(task, false));
+            edit.getUnmarkedTasks().forEach(task -> this.setDone(task, true));
+            entries.addAll(edit.getReversingEntries());
+            descriptions.add(edit.getDescription());
+        }
+        this.persist(entries);
+        return descriptions;
+    }
+
+    /**
+     * Redoes the most recently undone changes to the task list, up to the given number of them, as {@link #undo(int)}
+     * undid them.
+     *
+     * @param steps The number of changes to redo.
+     * @return Descriptions of the changes that were redone, in the order they were redone, which is empty if there
+     *         were none.
+     */
+    public synchronized List<String> redo(int steps) {
+        assert steps > 0 : "The number of changes to redo should be positive";
+        List<String> descriptions = new ArrayList<>();
+        List<JournalEntry> entries = new ArrayList<>();
+        while (descriptions.size() < steps) {
+            TaskEdit edit = history.redo();
+            if (edit == null) {
+                break;
+            }
+            assert tasks == edit.getBefore() : "Only the latest version of the task list should be redone";
+            this.tasks = edit.getAfter();
+            this.isSortedById = edit.isSortedById();
+            edit.getRemovedTasks().forEach(this::unindexTask);
+            edit.getAddedTasks().forEach(this::indexTask);
+            edit.getMarkedTasks().forEach(task -> this.setDone(task, true));
+            edit.getUnmarkedTasks().forEach(task -> this.setDone(task, false));
+            entries.addAll(edit.getEntries());
+            descriptions.add(edit.getDescription());
+        }
+        this.persist(entries);
+        return descriptions;
+    }
+
+    /**
+     * Sets how many of the most recent changes to the task list can be undone. Older changes are forgotten.
+     *
+     * @param depth The number of changes that can be undone, or 0 to disable undo.
+     */
+    public synchronized void setHistoryDepth(int depth) {
+        history.setDepth(depth);
+    }
+
+    /**
+     * Moves persistence of this task list onto a background thread, so mutations no longer wait for disk I/O.
+     * Bursts of mutations are coalesced into a single write, and pending writes are flushed and forced onto the disk
+     * when the JVM shuts down. Failed writes are reported to the user asynchronously.
+     *
+     * @param maxDelayMillis      The maximum time a mutation may stay unsaved.
+     * @param maxPendingMutations The number of unsaved mutations that triggers an immediate write.
+     */
+    public synchronized void startBackgroundSaves(long maxDelayMillis, int maxPendingMutations) {
+        assert saveScheduler == null : "Background saves should only be started once";
+        saveScheduler = new SaveScheduler(storage, this, this::snapshot, maxDelayMillis, maxPendingMutations,
+                message -> Ui.errorLater("Failed to save tasks: " + message));
+        SaveScheduler scheduler = saveScheduler;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            scheduler.shutdown();
+            try {
+                storage.close();
+            } catch (SongbirdStorageException e) {
+                Ui.errorLater("Failed to save tasks: " + e.getMessage());
+            }
+        }, "songbird-save-shutdown"));
+    }
+
+    /**
+     * Starts reminding of deadlines and events as they come due, at the deadline or the start of the event, on a
+     * background thread. Only tasks that are not done and are due in the future are reminded of. The reminders are
+     * scheduled once for the tasks in the list, and from then on as tasks are added, deleted, marked and unmarked, so
+     * the list is never scanned again. The background thread is stopped when the JVM shuts down.
+     *
+     * @param periodMillis    The time between checks for tasks that came due, which is how late a reminder may be.
+     * @param reminderHandler Receives each task as it comes due, on the background thread.
+     */
+    public synchronized void startReminders(long periodMillis, Consumer<Task> reminderHandler) {
+        assert reminderScheduler == null : "Reminders should only be started once";
+        reminderScheduler = new ReminderScheduler(Clock.systemDefaultZone(), reminderHandler);
+        for (Task task : tasks) {
+            reminderScheduler.taskAdded(task);
+        }
+        List<TaskIndex> newIndexes = new ArrayList<>(indexes);
+        newIndexes.add(reminderScheduler);
+        this.indexes = List.copyOf(newIndexes);
+        reminderScheduler.start(periodMillis);
+        Runtime.getRuntime().addShutdownHook(new Thread(reminderScheduler::shutdown, "songbird-reminders-shutdown"));
+    }
+
+    /**
+     * Writes any mutations that are still waiting to be saved in the background, waits for the write to finish, and
+     * forces any writes the storage has deferred onto the disk.
+     * If there are any errors syncing the storage, an error message is displayed.
+     */
+    public void flushSaves() {
+        if (saveScheduler != null) {
+            saveScheduler.flush();
+        }
+        try {
+            storage.sync();
+        } catch (SongbirdStorageException e) {
+            Ui.error("Failed to save tasks: " + e.getMessage());
+        }
+    }
+
     /**
      * Saves the updated task list to persistent storage.
+     * If background saves were started, the save is queued instead.
      * If there are any errors saving the task list, an error message is displayed.
      */
-    public void saveList() {
+    public synchronized void saveList() {
+        if (saveScheduler != null) {
+            saveScheduler.requestSnapshot();
+            return;
+        }
+
         try {
-            storage.save(getAll());
+            storage.save(snapshot());
+        } catch (SongbirdStorageException e) {
+            Ui.error("Failed to save tasks: " + e.getMessage());
+        }
+    }
+
+    private void indexTask(Task task) {
+        for (TaskIndex taskIndex : indexes) {
+            taskIndex.taskAdded(task);
+        }
+    }
+
+    private void unindexTask(Task task) {
+        for (TaskIndex taskIndex : indexes) {
+            taskIndex.taskRemoved(task);
+        }
+    }
+
+    /**
+     * Puts tasks found in the keyword or trigram index back in task list order. The indexes list tasks in the order
+     * they were added, which differs once undo or redo adds back a removed task. While the list is in ID order, this
+     * is a sort by ID, which takes linear time if the tasks are already in order; otherwise, the list is scanned.
+     */
+    private List<Task> inTaskListOrder(List<Task> indexedMatches) {
+        if (isSortedById) {
+            indexedMatches.sort(Comparator.comparingLong(Task::getId));
+            return indexedMatches;
+        }
+        Set<Task> matchingTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+        matchingTasks.addAll(indexedMatches);
+        return this.tasks.stream()
+                .filter(matchingTasks::contains)
+                .collect(Collectors.toList());
+    }
+
+    private TaskEdit startEdit(String description) {
+        return new TaskEdit(description, tasks, isSortedById);
+    }
+
+    /**
+     * Persists an edit that was just made, and records it in the history so it can be undone.
+     * Edits that changed nothing are neither persisted nor recorded.
+     */
+    private void commit(TaskEdit edit) {
+        if (edit.isEmpty()) {
+            return;
+        }
+        edit.finish(tasks, isSortedById);
+        this.persist(edit.getEntries());
+        history.record(edit);
+    }
+
+    private static String describeBatch(String verb, List<Task> batch) {
+        return verb + ": " + (batch.size() == 1 ? batch.get(0).getDescription() : batch.size() + " tasks");
+    }
+
+    /**
+     * Persists a batch of mutations of the task list in a single write.
+     * If background saves were started, the mutations are queued for the background thread, which writes them
+     * together. Otherwise, if the storage is journaled, only the mutations are appended, and the journal is compacted
+     * into a full snapshot once it grows large enough. A batch with more mutations than there are tasks left is saved
+     * as a snapshot straight away instead, since the snapshot is the smaller write. Otherwise, the whole task list is
+     * saved. Nothing is written for an empty batch.
+     * If there are any errors saving the mutations, an error message is displayed.
+     *
+     * @param entries The mutations to persist, in order.
+     */
+    private void persist(List<JournalEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (saveScheduler != null) {
+            for (JournalEntry entry : entries) {
+                saveScheduler.submit(entry);
+            }
+            return;
+        }
+        if (!storage.isJournaled() || entries.size() > tasks.size()) {
+            saveList();
+            return;
+        }
+
+        try {
+            storage.append(entries);
+            if (storage.isCompactionDue()) {
+                storage.save(snapshot());
+            }
         } catch (SongbirdStorageException e) {
             Ui.error("Failed to save tasks: " + e.getMessage());
         }
@@ -95,10 +638,86 @@ public class TaskList {
      * @throws SongbirdNonExistentTaskException when the task is not found.
      */
     public Task getTask(int index) throws SongbirdNonExistentTaskException {
-        if (index < 0 || index >= tasks.size()) {
+        IndexedTree<Task> snapshot = this.tasks;
+        if (index < 0 || index >= snapshot.size()) {
+            throw new SongbirdNonExistentTaskException();
+        }
+        return snapshot.get(index);
+    }
+
+    /**
+     * Returns the task with the specified ID, if there is one. Otherwise, throws a SongbirdNonExistentTaskException.
+     * The task is looked up in O(1) time, wherever it is in the task list.
+     *
+     * @param id The ID of the task to get.
+     * @return The task with the ID.
+     * @throws SongbirdNonExistentTaskException when the task is not found.
+     */
+    public synchronized Task getTaskById(long id) throws SongbirdNonExistentTaskException {
+        Task task = idIndex.get(id);
+        if (task == null) {
             throw new SongbirdNonExistentTaskException();
         }
-        return this.tasks.get(index);
+        return task;
+    }
+
+    /**
+     * Returns the index of the task with the specified ID, if there is one. Otherwise, throws a
+     * SongbirdNonExistentTaskException.
+     *
+     * @param id The ID of the task to find.
+     * @return The 0-based index of the task in the task list.
+     * @throws SongbirdNonExistentTaskException when the task is not found.
+     */
+    public synchronized int getIndexById(long id) throws SongbirdNonExistentTaskException {
+        Task task = getTaskById(id);
+        int index = isSortedById ? tasks.indexOfKey(Task::getId, id) : indexOfTask(task);
+        assert index >= 0 : "Indexed tasks should be in the task list";
+        return index;
+    }
+
+    /**
+     * Returns the positions of the tasks that satisfy the predicate, in ascending order, found with a single scan.
+     */
+    int[] indexesWhere(Predicate<Task> predicate) {
+        int[] positions = new int[tasks.size()];
+        int count = 0;
+        int position = 0;
+        for (Task task : tasks) {
+            if (predicate.test(task)) {
+                positions[count++] = position;
+            }
+            position++;
+        }
+        return Arrays.copyOf(positions, count);
+    }
+
+    /**
+     * Returns the distinct positions of the given tasks, in ascending order. While the list is in ID order, each
+     * task's position is found with a search down the tree, so a few tasks are found without scanning the list.
+     */
+    int[] indexesOf(List<Task> matchingTasks) {
+        if (!isSortedById) {
+            Set<Task> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+            matches.addAll(matchingTasks);
+            return indexesWhere(matches::contains);
+        }
+        return matchingTasks.stream()
+                .mapToInt(task -> tasks.indexOfKey(Task::getId, task.getId()))
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    private int indexOfTask(Task task) {
+        int index = 0;
+        for (Task candidate : tasks) {
+            if (candidate == task) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
     }
 
     /**
@@ -107,7 +726,18 @@ public class TaskList {
      * @return A copy of the task list.
      */
     List<Task> getAll() {
-        return new ArrayList<>(tasks); // return a copy to maintain encapsulation
+        return tasks.toList(); // return a copy to maintain encapsulation
+    }
+
+    /**
+     * Returns an unmodifiable view of the tasks in the task list as it is now, in O(1) time.
+     * Later additions and deletions do not affect the snapshot, so it can be read on any thread, for as long as
+     * needed, without locking the task list or copying it. Tasks marked or unmarked later do show as such.
+     *
+     * @return A snapshot of the tasks.
+     */
+    public List<Task> snapshot() {
+        return tasks.asList();
     }
 
     /**
@@ -128,45 +758,209 @@ public class TaskList {
         return "You now have " + getSize() + " task(s).";
     }
 
+    /**
+     * Returns the counts of the tasks in the task list: in total, by type, done and not done, and how many deadlines
+     * were due before the given date/time without being done. The counts are kept up to date as tasks change, and
+     * the overdue deadlines are counted in the date index, so the task list is not scanned.
+     *
+     * @param now The current date/time, which deadlines before are overdue.
+     * @return The counts of the tasks.
+     */
+    public synchronized TaskStats getStats(LocalDateTime now) {
+        return counters.toStats(dateIndex.countOverdue(now));
+    }
+
+    /**
+     * Returns the deadlines and events that are not done and are next due at or after the given date/time, ordered
+     * by their deadline or start. The tasks are kept in order of when they are due as they are added, deleted and
+     * marked, so only the tasks returned are visited, however long the task list is.
+     *
+     * @param from  The date/time to look from, usually the current date/time.
+     * @param count The maximum number of tasks to return.
+     * @return A list of at most the given number of tasks.
+     */
+    public synchronized List<Task> getUpcomingTasks(LocalDateTime from, int count) {
+        assert count > 0 : "Number of upcoming tasks should be positive";
+        return upcomingIndex.getNext(from, count);
+    }
+
     /**
      * Returns tasks that occur on the specified date:
      * - For Deadline tasks, the deadline must be on the specified date.
      * - For Event tasks, the event must start or end on the specified date.
      * If there are no tasks that match the criteria, an empty list is returned.
+     * The tasks are looked up in the date index, and are ordered by their deadline or start.
      *
      * @param date The date to filter tasks by.
      *             The time component of the date is ignored.
      * @return A list of tasks that occur on the specified date.
      */
-    public List<Task> getTasksByDate(LocalDateTime date) {
-        LocalDate targetDate = date.toLocalDate();
-        return this.tasks.stream()
-                .filter(task -> {
-                    if (task instanceof DeadlineTask deadlineTask) {
-                        return deadlineTask.getDeadline().toLocalDate().isEqual(targetDate);
-                    } else if (task instanceof EventTask eventTask) {
-                        LocalDate start = eventTask.getEventStart().toLocalDate();
-                        LocalDate end = eventTask.getEventEnd().toLocalDate();
-                        return !targetDate.isBefore(start) && !targetDate.isAfter(end);
-                    }
-                    return false;
-                })
-                .collect(Collectors.toList());
+    public synchronized List<Task> getTasksByDate(LocalDateTime date) {
+        return dateIndex.getTasksOn(date.toLocalDate());
+    }
+
+    /**
+     * Returns tasks that occur between the specified dates, inclusive:
+     * - For Deadline tasks, the deadline must be on or between the specified dates.
+     * - For Event tasks, the event must take place on or between the specified dates, at least in part.
+     * If there are no tasks that match the criteria, an empty list is returned.
+     * The tasks are looked up in the date index, and are ordered by their deadline or start.
+     *
+     * @param from The first date of the range.
+     * @param to   The last date of the range.
+     * @return A list of tasks that occur between the specified dates.
+     */
+    public synchronized List<Task> getTasksBetween(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return new ArrayList<>();
+        }
+        return dateIndex.getTasksBetween(from.atStartOfDay(), to.atTime(LocalTime.MAX));
     }
 
     /**
      * Returns tasks that contain the specified keyword in their description (case-insensitive).
      * If there are no tasks that match the criteria, an empty list is returned.
+     * Keywords of at least three characters are looked up in the trigram index. Shorter keywords made up of letters
+     * and digits are looked up in the keyword index, and the rest fall back to a scan of every task.
      *
      * @param keyword The keyword to search for in the task descriptions.
      * @return A list of tasks that contain the specified keyword.
      */
-    public List<Task> getTasksByKeyword(String keyword) {
+    public synchronized List<Task> getTasksByKeyword(String keyword) {
+        List<Task> indexedMatches = trigramIndex.findBySubstring(keyword);
+        if (indexedMatches == null) {
+            indexedMatches = keywordIndex.findBySubstring(keyword);
+        }
+        if (indexedMatches != null) {
+            return this.inTaskListOrder(indexedMatches);
+        }
+
+        String normalizedKeyword = keyword.toLowerCase();
         return this.tasks.stream()
-                .filter(task -> task.getDescription().toLowerCase().contains(keyword.toLowerCase()))
+                .filter(task -> task.getDescription().toLowerCase().contains(normalizedKeyword))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Returns tasks that match the specified query.
+     * If there are no tasks that match the query, an empty list is returned.
+     * While the list is in ID order, the query is driven by the index with the fewest candidates, and the rest of the
+     * query is checked on those candidates only. Queries that no index helps with are checked on every task.
+     *
+     * @param query The query to match tasks against.
+     * @return A list of the matching tasks, in task list order.
+     */
+    public synchronized List<Task> getTasksByQuery(TaskQuery query) {
+        if (isSortedById && queryPlanner.isIndexed(query, tasks.size())) {
+            return queryPlanner.findMatches(query); // ID order is task list order
+        }
+        return this.tasks.stream()
+                .filter(query::matches)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns tasks that contain every word of the specified query as a whole word in their description
+     * (case-insensitive), where words are runs of letters and digits.
+     * If there are no tasks that match the criteria, an empty list is returned.
+     * The tasks are looked up in the keyword index, without scanning the task list.
+     *
+     * @param query The words to search for in the task descriptions.
+     * @return A list of tasks that contain every word of the query.
+     */
+    public synchronized List<Task> getTasksByWords(String query) {
+        return this.inTaskListOrder(keywordIndex.findByWords(query));
+    }
+
+    /**
+     * Returns tasks that contain a word similar to every word of the specified query in their description
+     * (case-insensitive), allowing up to two typos per word, and fewer for short words.
+     * If there are no tasks that match the criteria, an empty list is returned.
+     *
+     * @param query The words to search for in the task descriptions, possibly misspelled.
+     * @return A list of tasks that contain a similar word for every word of the query.
+     */
+    public synchronized List<Task> getTasksBySimilarWords(String query) {
+        return this.inTaskListOrder(keywordIndex.findBySimilarWords(query));
+    }
+
+    /**
+     * Writes the tasks in the given range to the output in a single pass, one per line, each numbered by its 1-based
+     * position in the task list. Lines are separated by newlines, with no newline after the last line.
+     * Only the tasks in the range are visited, so writing a page of k tasks takes O(log n + k) time.
+     *
+     * @param out       The output to write the tasks to.
+     * @param fromIndex The 0-based position of the first task to write.
+     * @param toIndex   The 0-based position just past the last task to write. It is clamped to the size of the list.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void writeTasks(Appendable out, int fromIndex, int toIndex) throws IOException {
+        writeTasks(this.tasks, out, fromIndex, toIndex, false);
+    }
+
+    /**
+     * Writes the tasks in the given range to the output in a single pass, as {@link #writeTasks(Appendable, int, int)}
+     * does, optionally following each task's number with its ID.
+     *
+     * @param out          The output to write the tasks to.
+     * @param fromIndex    The 0-based position of the first task to write.
+     * @param toIndex      The 0-based position just past the last task to write, clamped to the size of the list.
+     * @param isShowingIds Whether to write the ID of each task, as '#id', after its number.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void writeTasks(Appendable out, int fromIndex, int toIndex, boolean isShowingIds) throws IOException {
+        writeTasks(this.tasks, out, fromIndex, toIndex, isShowingIds);
+    }
+
+    private static void writeTasks(IndexedTree<Task> snapshot, Appendable out, int fromIndex, int toIndex,
+                                   boolean isShowingIds) throws IOException {
+        int endIndex = Math.min(toIndex, snapshot.size());
+        if (fromIndex >= endIndex) {
+            return;
+        }
+
+        Iterator<Task> iterator = snapshot.iterator(fromIndex);
+        for (int index = fromIndex; index < endIndex; index++) {
+            if (index > fromIndex) {
+                out.append('\n');
+            }
+            Task task = iterator.next();
+            out.append(String.valueOf(index + 1)).append(". ");
+            if (isShowingIds) {
+                out.append('#').append(String.valueOf(task.getId())).append(' ');
+            }
+            out.append(task.toString());
+        }
+    }
+
+    /**
+     * Writes the archived tasks in the given range of positions, in the same form as {@link #writeTasks(Appendable,
+     * int, int, boolean)}. Only the tasks written are turned back into Task objects. The archive is read the first
+     * time archived tasks are asked for.
+     *
+     * @param out          The output to write the tasks to.
+     * @param fromIndex    The 0-based position of the first archived task to write.
+     * @param toIndex      The 0-based position just past the last archived task to write, clamped to the archive.
+     * @param isShowingIds Whether to write the ID of each task before it.
+     * @throws IOException              If the output cannot be written to.
+     * @throws SongbirdStorageException If the archive cannot be read.
+     */
+    public void writeArchivedTasks(Appendable out, int fromIndex, int toIndex, boolean isShowingIds)
+            throws IOException, SongbirdStorageException {
+        CompactTaskStore archive = storage.loadArchive();
+        int endIndex = Math.min(toIndex, archive.size());
+        for (int index = fromIndex; index < endIndex; index++) {
+            if (index > fromIndex) {
+                out.append('\n');
+            }
+            out.append(String.valueOf(index + 1)).append(". ");
+            if (isShowingIds) {
+                out.append('#').append(String.valueOf(archive.getId(index))).append(' ');
+            }
+            out.append(archive.get(index).toString());
+        }
+    }
+
     /**
      * Returns a String representation of all the tasks in the TaskList.
      *
@@ -174,16 +968,18 @@ public class TaskList {
      */
     @Override
     public String toString() {
+        IndexedTree<Task> snapshot = this.tasks;
         // handle case where there are no tasks
-        if (this.tasks.isEmpty()) {
+        if (snapshot.isEmpty()) {
             return "You have no saved tasks.";
         }
 
         StringBuilder output = new StringBuilder("Your saved tasks are:\n");
-        String tasksString = this.tasks.stream()
-                .map(task -> (this.tasks.indexOf(task) + 1) + ". " + task.toString())
-                .collect(Collectors.joining("\n"));
-        output.append(tasksString);
+        try {
+            writeTasks(snapshot, output, 0, snapshot.size(), false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // never thrown by a StringBuilder
+        }
         return output.toString();
     }
 }
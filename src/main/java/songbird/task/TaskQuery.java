@@ -0,0 +1,405 @@
+package songbird.task;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Represents a query over tasks, as a tree of conditions combined with 'and', 'or' and 'not'.
+ * <p>
+ * Besides checking whether a task matches, each condition can tell a {@link QueryPlanner} whether one of the task
+ * list's indexes can find its matches, and at most how many there are. The planner drives the query from the index
+ * with the fewest candidates, and checks the rest of the query on those candidates only.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ * @see QueryPlanner
+ */
+public abstract class TaskQuery {
+    /** The estimate of a condition that no index can find the matches of. */
+    static final long NOT_INDEXED = Long.MAX_VALUE;
+
+    /**
+     * Returns a query for tasks whose description contains the phrase, ignoring case.
+     *
+     * @param phrase The phrase to search for.
+     * @return The query.
+     */
+    public static TaskQuery ofPhrase(String phrase) {
+        return new Phrase(phrase);
+    }
+
+    /**
+     * Returns a query for tasks of the given type.
+     *
+     * @param taskType The type of task.
+     * @return The query.
+     */
+    public static TaskQuery ofType(TaskType taskType) {
+        return new Type(taskType);
+    }
+
+    /**
+     * Returns a query for tasks that are done, or not done.
+     *
+     * @param isDone Whether the tasks should be done.
+     * @return The query.
+     */
+    public static TaskQuery ofDone(boolean isDone) {
+        return new Done(isDone);
+    }
+
+    /**
+     * Returns a query for deadlines due between the given date/times and events overlapping them, at least in part.
+     * Both ends are inclusive, to the second.
+     *
+     * @param from The start of the range.
+     * @param to   The end of the range.
+     * @return The query.
+     */
+    public static TaskQuery ofDateRange(LocalDateTime from, LocalDateTime to) {
+        return new DateRange(from, to);
+    }
+
+    /**
+     * Returns a query for tasks that match every one of the given queries.
+     *
+     * @param queries The queries to combine.
+     * @return The query.
+     */
+    public static TaskQuery allOf(List<TaskQuery> queries) {
+        assert !queries.isEmpty() : "Combined queries should not be empty";
+        return queries.size() == 1 ? queries.get(0) : new And(List.copyOf(queries));
+    }
+
+    /**
+     * Returns a query for tasks that match any of the given queries.
+     *
+     * @param queries The queries to combine.
+     * @return The query.
+     */
+    public static TaskQuery anyOf(List<TaskQuery> queries) {
+        assert !queries.isEmpty() : "Combined queries should not be empty";
+        return queries.size() == 1 ? queries.get(0) : new Or(List.copyOf(queries));
+    }
+
+    /**
+     * Returns a query for tasks that do not match the given query.
+     *
+     * @param query The query to negate.
+     * @return The query.
+     */
+    public static TaskQuery not(TaskQuery query) {
+        return new Not(query);
+    }
+
+    /**
+     * Returns whether the task matches the query.
+     *
+     * @param task The task to check.
+     * @return True if the task matches.
+     */
+    public abstract boolean matches(Task task);
+
+    /**
+     * Returns at most how many tasks the planner's indexes return as candidates for this query, or
+     * {@link #NOT_INDEXED} if no index can find them, in which case the tasks must be scanned. Conditions that count
+     * their candidates may stop counting at the limit, since no plan needs an estimate beyond it.
+     *
+     * @param planner The planner, which gives access to the indexes.
+     * @param limit   The estimate beyond which the query is not worth driving from the indexes.
+     * @return The upper bound on the number of candidates, or a number of at least the limit.
+     */
+    abstract long estimate(QueryPlanner planner, long limit);
+
+    /**
+     * Returns the candidates for this query from the planner's indexes: every matching task, and possibly others.
+     * Only called if the estimate is not {@link #NOT_INDEXED}.
+     *
+     * @param planner The planner, which gives access to the indexes.
+     * @return The candidates, in any order, possibly with repeats.
+     */
+    abstract Collection<Task> candidates(QueryPlanner planner);
+
+    /**
+     * Represents a condition on the phrase in a task's description.
+     */
+    private static final class Phrase extends TaskQuery {
+        private final String phrase;
+        private final String normalizedPhrase;
+
+        private Phrase(String phrase) {
+            this.phrase = phrase;
+            this.normalizedPhrase = phrase.toLowerCase();
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            return task.getDescription().toLowerCase().contains(normalizedPhrase);
+        }
+
+        @Override
+        long estimate(QueryPlanner planner, long limit) {
+            return planner.estimateSubstring(phrase);
+        }
+
+        @Override
+        Collection<Task> candidates(QueryPlanner planner) {
+            return planner.findBySubstring(phrase);
+        }
+
+        @Override
+        public String toString() {
+            return "\"" + phrase + "\"";
+        }
+    }
+
+    /**
+     * Represents a condition on a task's type.
+     */
+    private static final class Type extends TaskQuery {
+        private final TaskType taskType;
+
+        private Type(TaskType taskType) {
+            this.taskType = taskType;
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            return task.getTaskType() == taskType;
+        }
+
+        @Override
+        long estimate(QueryPlanner planner, long limit) {
+            return planner.countOfType(taskType);
+        }
+
+        @Override
+        Collection<Task> candidates(QueryPlanner planner) {
+            return planner.findByType(taskType);
+        }
+
+        @Override
+        public String toString() {
+            return "type:" + taskType.name().toLowerCase();
+        }
+    }
+
+    /**
+     * Represents a condition on whether a task is done. It is not indexed, since it is rarely selective.
+     */
+    private static final class Done extends TaskQuery {
+        private final boolean isDone;
+
+        private Done(boolean isDone) {
+            this.isDone = isDone;
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            return task.isDone() == isDone;
+        }
+
+        @Override
+        long estimate(QueryPlanner planner, long limit) {
+            return NOT_INDEXED;
+        }
+
+        @Override
+        Collection<Task> candidates(QueryPlanner planner) {
+            throw new UnsupportedOperationException("Done conditions are not indexed");
+        }
+
+        @Override
+        public String toString() {
+            return "done:" + isDone;
+        }
+    }
+
+    /**
+     * Represents a condition on the date/times of a deadline or event.
+     */
+    private static final class DateRange extends TaskQuery {
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+
+        private DateRange(LocalDateTime from, LocalDateTime to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            if (task instanceof DeadlineTask deadlineTask) {
+                LocalDateTime deadline = deadlineTask.getDeadline();
+                return !deadline.isBefore(from) && !deadline.isAfter(to);
+            }
+            if (task instanceof EventTask eventTask) {
+                LocalDateTime start = eventTask.getEventStart();
+                LocalDateTime end = eventTask.getEventEnd().isBefore(start) ? start : eventTask.getEventEnd();
+                return !start.isAfter(to) && !end.isBefore(from);
+            }
+            return false;
+        }
+
+        @Override
+        long estimate(QueryPlanner planner, long limit) {
+            return planner.countBetween(from, to, limit);
+        }
+
+        @Override
+        Collection<Task> candidates(QueryPlanner planner) {
+            return planner.findBetween(from, to);
+        }
+
+        @Override
+        public String toString() {
+            return "due:" + format(from) + ".." + format(to);
+        }
+
+        private static String format(LocalDateTime dateTime) {
+            if (dateTime.equals(LocalDateTime.MIN) || dateTime.equals(LocalDateTime.MAX)) {
+                return "";
+            }
+            return dateTime.toLocalTime().equals(LocalTime.MIDNIGHT) || dateTime.toLocalTime().equals(LocalTime.MAX)
+                    ? dateTime.toLocalDate().toString()
+                    : dateTime.toString();
+        }
+    }
+
+    /**
+     * Represents tasks that match every one of several conditions. Its matches are found from the condition with the
+     * fewest candidates, and the others are checked on those candidates only.
+     */
+    private static final class And extends TaskQuery {
+        private final List<TaskQuery> queries;
+
+        private And(List<TaskQuery> queries) {
+            this.queries = queries;
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            for (TaskQuery query : queries) {
+                if (!query.matches(task)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        long estimate(QueryPlanner planner, long limit) {
+            long estimate = NOT_INDEXED;
+            for (TaskQuery query : queries) {
+                estimate = Math.min(estimate, query.estimate(planner, Math.min(estimate, limit)));
+            }
+            return estimate;
+        }
+
+        @Override
+        Collection<Task> candidates(QueryPlanner planner) {
+            TaskQuery drivingQuery = null;
+            long drivingEstimate = NOT_INDEXED;
+            for (TaskQuery query : queries) {
+                long estimate = query.estimate(planner, drivingEstimate);
+                if (drivingQuery == null || estimate < drivingEstimate) {
+                    drivingQuery = query;
+                    drivingEstimate = estimate;
+                }
+            }
+            return drivingQuery.candidates(planner);
+        }
+
+        @Override
+        public String toString() {
+            return queries.stream().map(TaskQuery::toString).collect(Collectors.joining(" ", "(", ")"));
+        }
+    }
+
+    /**
+     * Represents tasks that match any of several conditions. Its matches can only be found from the indexes if every
+     * condition's can, as the union of their candidates.
+     */
+    private static final class Or extends TaskQuery {
+        private final List<TaskQuery> queries;
+
+        private Or(List<TaskQuery> queries) {
+            this.queries = queries;
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            for (TaskQuery query : queries) {
+                if (query.matches(task)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        long estimate(QueryPlanner planner, long limit) {
+            long estimate = 0;
+            for (TaskQuery query : queries) {
+                long queryEstimate = query.estimate(planner, limit - estimate);
+                if (queryEstimate == NOT_INDEXED) {
+                    return NOT_INDEXED;
+                }
+                estimate += queryEstimate;
+                if (estimate >= limit) {
+                    return estimate;
+                }
+            }
+            return estimate;
+        }
+
+        @Override
+        Collection<Task> candidates(QueryPlanner planner) {
+            List<Task> candidates = new ArrayList<>();
+            for (TaskQuery query : queries) {
+                candidates.addAll(query.candidates(planner));
+            }
+            return candidates;
+        }
+
+        @Override
+        public String toString() {
+            return queries.stream().map(TaskQuery::toString).collect(Collectors.joining(" or ", "(", ")"));
+        }
+    }
+
+    /**
+     * Represents tasks that do not match a condition. Its matches are never found from the indexes.
+     */
+    private static final class Not extends TaskQuery {
+        private final TaskQuery query;
+
+        private Not(TaskQuery query) {
+            this.query = query;
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            return !query.matches(task);
+        }
+
+        @Override
+        long estimate(QueryPlanner planner, long limit) {
+            return NOT_INDEXED;
+        }
+
+        @Override
+        Collection<Task> candidates(QueryPlanner planner) {
+            throw new UnsupportedOperationException("Negated conditions are not indexed");
+        }
+
+        @Override
+        public String toString() {
+            return "-" + query;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package songbird.task;
+
+import songbird.exception.SongbirdNonExistentTaskException;
+
+/**
+ * Represents a way of referring to a task in a {@link TaskList}: either by its position, which changes as earlier
+ * tasks are deleted, or by its ID, which does not.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+public final class TaskReference {
+    private final int index;
+    private final long id;
+
+    private TaskReference(int index, long id) {
+        this.index = index;
+        this.id = id;
+    }
+
+    /**
+     * Returns a reference to the task at the given position.
+     *
+     * @param index The 0-based index of the task.
+     * @return The reference to the task.
+     */
+    public static TaskReference ofIndex(int index) {
+        return new TaskReference(index, 0);
+    }
+
+    /**
+     * Returns a reference to the task with the given ID.
+     *
+     * @param id The ID of the task.
+     * @return The reference to the task.
+     */
+    public static TaskReference ofId(long id) {
+        return new TaskReference(-1, id);
+    }
+
+    /**
+     * Returns whether this reference refers to a task by its ID.
+     *
+     * @return True if the task is referred to by its ID, false if by its position.
+     */
+    public boolean isById() {
+        return id > 0;
+    }
+
+    /**
+     * Returns the current index of the task this reference refers to.
+     *
+     * @param tasks The task list the task is in.
+     * @return The 0-based index of the task.
+     * @throws SongbirdNonExistentTaskException If there is no such task in the task list.
+     */
+    public int resolveIndex(TaskList tasks) throws SongbirdNonExistentTaskException {
+        return isById() ? tasks.getIndexById(id) : index;
+    }
+
+    /**
+     * Returns the reference as the user would write it: a 1-based task number, or an ID prefixed by '#'.
+     *
+     * @return The reference as a String.
+     */
+    @Override
+    public String toString() {
+        return isById() ? "#" + id : String.valueOf(index + 1);
+    }
+}
@@ -0,0 +1,181 @@
+package songbird.task;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import songbird.exception.SongbirdNonExistentTaskException;
+
+/**
+ * Represents a selection of tasks in a {@link TaskList} that a command applies to at once: a list of tasks and
+ * ranges of tasks, each end referred to by its position or ID, or every task that is done, not done, or contains a
+ * keyword.
+ * <p>
+ * A selection is resolved to positions by the task list it is applied to, while the list is locked, so the positions
+ * stay valid until the whole batch is applied.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ * @see TaskReference
+ */
+public final class TaskSelector {
+    private final Kind kind;
+    private final List<Range> ranges;
+    private final String keyword;
+
+    /**
+     * Represents how the tasks of a selection are chosen.
+     */
+    private enum Kind {
+        RANGES,
+        DONE,
+        NOT_DONE,
+        KEYWORD
+    }
+
+    /**
+     * Represents a run of consecutive tasks, from its first task to its last task inclusive.
+     */
+    public static final class Range {
+        private final TaskReference first;
+        private final TaskReference last;
+
+        /**
+         * Constructs a Range between two tasks. The tasks may be given in either order.
+         *
+         * @param first The task at one end of the range.
+         * @param last  The task at the other end of the range.
+         */
+        public Range(TaskReference first, TaskReference last) {
+            this.first = first;
+            this.last = last;
+        }
+    }
+
+    private TaskSelector(Kind kind, List<Range> ranges, String keyword) {
+        this.kind = kind;
+        this.ranges = ranges;
+        this.keyword = keyword;
+    }
+
+    /**
+     * Returns a selection of a single task.
+     *
+     * @param reference The task to select.
+     * @return The selection.
+     */
+    public static TaskSelector ofTask(TaskReference reference) {
+        return ofRanges(List.of(new Range(reference, reference)));
+    }
+
+    /**
+     * Returns a selection of every task in the given ranges. Tasks in several ranges are only selected once.
+     *
+     * @param ranges The ranges of tasks to select.
+     * @return The selection.
+     */
+    public static TaskSelector ofRanges(List<Range> ranges) {
+        assert !ranges.isEmpty() : "A selection should have at least one range";
+        return new TaskSelector(Kind.RANGES, List.copyOf(ranges), null);
+    }
+
+    /**
+     * Returns a selection of every task that is done.
+     *
+     * @return The selection.
+     */
+    public static TaskSelector ofDone() {
+        return new TaskSelector(Kind.DONE, List.of(), null);
+    }
+
+    /**
+     * Returns a selection of every task that is not done.
+     *
+     * @return The selection.
+     */
+    public static TaskSelector ofNotDone() {
+        return new TaskSelector(Kind.NOT_DONE, List.of(), null);
+    }
+
+    /**
+     * Returns a selection of every task whose description contains the keyword, as the 'find' command matches it.
+     *
+     * @param keyword The keyword to search for.
+     * @return The selection.
+     */
+    public static TaskSelector ofKeyword(String keyword) {
+        return new TaskSelector(Kind.KEYWORD, List.of(), keyword);
+    }
+
+    /**
+     * Returns whether this selection refers to exactly one task, rather than a range or a filter.
+     *
+     * @return True if a single task is selected.
+     */
+    public boolean isSingleTask() {
+        return kind == Kind.RANGES && ranges.size() == 1 && ranges.get(0).first == ranges.get(0).last;
+    }
+
+    /**
+     * Returns the positions of the selected tasks in the task list. Must be called while holding the task list's lock.
+     * Every position of a list of ranges is checked first, so a batch referring to any missing task is rejected as a
+     * whole.
+     *
+     * @param tasks The task list the tasks are in.
+     * @return The distinct 0-based positions of the selected tasks, in ascending order.
+     * @throws SongbirdNonExistentTaskException If a task in a list of ranges is not in the task list.
+     */
+    int[] resolve(TaskList tasks) throws SongbirdNonExistentTaskException {
+        assert Thread.holdsLock(tasks) : "Selections should be resolved while holding the task list lock";
+        return switch (kind) {
+            case RANGES -> resolveRanges(tasks);
+            case DONE -> tasks.indexesWhere(Task::isDone);
+            case NOT_DONE -> tasks.indexesWhere(task -> !task.isDone());
+            case KEYWORD -> tasks.indexesOf(tasks.getTasksByKeyword(keyword));
+        };
+    }
+
+    /**
+     * Resolves every range to its positions, then merges overlapping and adjacent ranges, so the positions can be
+     * listed in order without sorting each of them.
+     */
+    private int[] resolveRanges(TaskList tasks) throws SongbirdNonExistentTaskException {
+        List<int[]> bounds = new ArrayList<>(ranges.size());
+        for (Range range : ranges) {
+            int firstIndex = resolveIndex(range.first, tasks);
+            int lastIndex = range.last == range.first ? firstIndex : resolveIndex(range.last, tasks);
+            bounds.add(new int[] {Math.min(firstIndex, lastIndex), Math.max(firstIndex, lastIndex)});
+        }
+        bounds.sort(Comparator.comparingInt(bound -> bound[0]));
+
+        List<int[]> mergedBounds = new ArrayList<>(bounds.size());
+        int count = 0;
+        for (int[] bound : bounds) {
+            int[] previous = mergedBounds.isEmpty() ? null : mergedBounds.get(mergedBounds.size() - 1);
+            if (previous != null && bound[0] <= previous[1] + 1) {
+                count += Math.max(0, bound[1] - previous[1]);
+                previous[1] = Math.max(previous[1], bound[1]);
+            } else {
+                count += bound[1] - bound[0] + 1;
+                mergedBounds.add(bound);
+            }
+        }
+
+        int[] indexes = new int[count];
+        int next = 0;
+        for (int[] bound : mergedBounds) {
+            for (int index = bound[0]; index <= bound[1]; index++) {
+                indexes[next++] = index;
+            }
+        }
+        return indexes;
+    }
+
+    private static int resolveIndex(TaskReference reference, TaskList tasks) throws SongbirdNonExistentTaskException {
+        int index = reference.resolveIndex(tasks);
+        if (index < 0 || index >= tasks.getSize()) {
+            throw new SongbirdNonExistentTaskException();
+        }
+        return index;
+    }
+}
@@ -0,0 +1,59 @@
+package songbird.task;
+
+/**
+ * Represents the counts of the tasks in a TaskList at one point in time: how many there are in total and of each
+ * type, how many of them are done, and how many deadlines are overdue.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ * @see TaskList#getStats(java.time.LocalDateTime)
+ */
+public final class TaskStats {
+    private final int count;
+    private final int doneCount;
+    private final int[] countsByType;
+    private final int[] doneCountsByType;
+    private final int overdueCount;
+
+    /**
+     * Constructs a TaskStats with the given counts.
+     *
+     * @param count            The number of tasks.
+     * @param doneCount        The number of tasks that are done.
+     * @param countsByType     The number of tasks of each type, indexed by the type's ordinal.
+     * @param doneCountsByType The number of tasks of each type that are done, indexed by the type's ordinal.
+     * @param overdueCount     The number of deadlines that are past due and not done.
+     */
+    TaskStats(int count, int doneCount, int[] countsByType, int[] doneCountsByType, int overdueCount) {
+        this.count = count;
+        this.doneCount = doneCount;
+        this.countsByType = countsByType;
+        this.doneCountsByType = doneCountsByType;
+        this.overdueCount = overdueCount;
+    }
+
+    // GETTERS
+    public int getCount() {
+        return count;
+    }
+
+    public int getDoneCount() {
+        return doneCount;
+    }
+
+    public int getPendingCount() {
+        return count - doneCount;
+    }
+
+    public int getCount(TaskType taskType) {
+        return countsByType[taskType.ordinal()];
+    }
+
+    public int getDoneCount(TaskType taskType) {
+        return doneCountsByType[taskType.ordinal()];
+    }
+
+    public int getOverdueCount() {
+        return overdueCount;
+    }
+}
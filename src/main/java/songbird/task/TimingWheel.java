@@ -0,0 +1,207 @@
+package songbird.task;
+
+import java.util.function.Consumer;
+
+/**
+ * Schedules items to expire at given ticks, in a hierarchical timing wheel, so scheduling and cancelling an item take
+ * O(1) time however many items are scheduled, and nothing is sorted or scanned while they wait.
+ * <p>
+ * The wheel has {@value #LEVELS} levels of {@value #SLOTS} slots. Level 0 has a slot for each of the next
+ * {@value #SLOTS} ticks, and each slot of a higher level spans {@value #SLOTS} times as many ticks as a slot of the
+ * level below. An item is placed in the lowest level whose span reaches its expiry. Whenever the current tick crosses
+ * into the next slot of a level, the items in that slot are cascaded down into the levels below, until they reach
+ * level 0 and expire on their own tick. Items further away than the whole wheel spans are parked in the top level and
+ * placed again each time it comes around.
+ * <p>
+ * Each slot is a doubly-linked list of {@link Entry entries}, so an item is cancelled through the entry it was
+ * scheduled with. Ticks in which nothing can expire or cascade are skipped over in bulk, so advancing an idle wheel
+ * far ahead is cheap. The wheel is not thread-safe.
+ *
+ * @param <T> The type of the scheduled items.
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+final class TimingWheel<T> {
+    private static final int LEVEL_BITS = 6;
+    private static final int SLOTS = 1 << LEVEL_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+    private static final long MAX_DELAY = (1L << (LEVEL_BITS * LEVELS)) - 1;
+
+    @SuppressWarnings({"unchecked", "rawtypes"}) // generic arrays cannot be created directly
+    private final Entry<T>[][] slots = new Entry[LEVELS][SLOTS]; // the first entry in each slot, or null if empty
+    private final int[] levelSizes = new int[LEVELS];
+    private long currentTick;
+    private int size;
+
+    /**
+     * Represents an item scheduled in a TimingWheel, which cancels it.
+     *
+     * @param <T> The type of the scheduled item.
+     */
+    static final class Entry<T> {
+        private final T item;
+        private final long expiryTick;
+        private Entry<T> previous;
+        private Entry<T> next;
+        private int level = -1; // -1 once the entry is no longer scheduled
+        private int slot;
+
+        private Entry(T item, long expiryTick) {
+            this.item = item;
+            this.expiryTick = expiryTick;
+        }
+
+        T getItem() {
+            return item;
+        }
+
+        long getExpiryTick() {
+            return expiryTick;
+        }
+    }
+
+    /**
+     * Constructs a TimingWheel starting at the given tick.
+     *
+     * @param startTick The current tick.
+     */
+    TimingWheel(long startTick) {
+        this.currentTick = startTick;
+    }
+
+    /**
+     * Schedules an item to expire at the given tick. An item scheduled at or before the current tick expires on the
+     * next one.
+     *
+     * @param item       The item to schedule.
+     * @param expiryTick The tick at which the item expires.
+     * @return The entry of the item, which cancels it.
+     */
+    Entry<T> schedule(T item, long expiryTick) {
+        Entry<T> entry = new Entry<>(item, expiryTick);
+        place(entry, currentTick + 1); // the current tick has already expired
+        size++;
+        return entry;
+    }
+
+    /**
+     * Cancels a scheduled item, unless it already expired or was cancelled.
+     *
+     * @param entry The entry the item was scheduled with.
+     * @return True if the item was cancelled.
+     */
+    boolean cancel(Entry<T> entry) {
+        if (entry.level < 0) {
+            return false;
+        }
+        unlink(entry);
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances the wheel up to the given tick, passing each item that expires on the way to the consumer, in the
+     * order they expire.
+     *
+     * @param tick     The tick to advance to. Ticks at or before the current tick do nothing.
+     * @param consumer Receives the expired items.
+     */
+    void advanceTo(long tick, Consumer<? super T> consumer) {
+        while (currentTick < tick) {
+            if (size == 0) {
+                currentTick = tick;
+                return;
+            }
+            // Nothing in the empty levels can expire or cascade until the next slot of the lowest non-empty level.
+            int lowestLevel = 0;
+            while (levelSizes[lowestLevel] == 0) {
+                lowestLevel++;
+            }
+            int shift = LEVEL_BITS * lowestLevel;
+            currentTick = Math.min(tick, ((currentTick >> shift) + 1) << shift);
+            cascade();
+            expire(consumer);
+        }
+    }
+
+    /**
+     * Returns the number of scheduled items.
+     *
+     * @return The number of items.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Moves the items in the slots the current tick has just reached down into the levels below.
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentTick & ((1L << (LEVEL_BITS * level)) - 1)) != 0) {
+                return; // the current tick is not the first of a slot at this level, nor of any higher level
+            }
+            int slot = (int) (currentTick >> (LEVEL_BITS * level)) & SLOT_MASK;
+            Entry<T> entry = slots[level][slot];
+            slots[level][slot] = null;
+            while (entry != null) {
+                Entry<T> next = entry.next;
+                levelSizes[level]--;
+                place(entry, currentTick); // expires below, if it is due on the current tick
+                entry = next;
+            }
+        }
+    }
+
+    private void expire(Consumer<? super T> consumer) {
+        int slot = (int) currentTick & SLOT_MASK;
+        Entry<T> entry = slots[0][slot];
+        slots[0][slot] = null;
+        while (entry != null) {
+            Entry<T> next = entry.next;
+            entry.level = -1;
+            levelSizes[0]--;
+            size--;
+            consumer.accept(entry.item);
+            entry = next;
+        }
+    }
+
+    /**
+     * Links the entry into the slot of the lowest level that reaches its expiry from the current tick, or the given
+     * earliest tick if it expires before then.
+     */
+    private void place(Entry<T> entry, long earliestTick) {
+        long placedTick = Math.min(Math.max(entry.expiryTick, earliestTick), currentTick + MAX_DELAY);
+        int level = 0;
+        while (level < LEVELS - 1 && placedTick - currentTick >= 1L << (LEVEL_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) (placedTick >> (LEVEL_BITS * level)) & SLOT_MASK;
+        entry.level = level;
+        entry.slot = slot;
+        entry.previous = null;
+        entry.next = slots[level][slot];
+        if (entry.next != null) {
+            entry.next.previous = entry;
+        }
+        slots[level][slot] = entry;
+        levelSizes[level]++;
+    }
+
+    private void unlink(Entry<T> entry) {
+        if (entry.previous != null) {
+            entry.previous.next = entry.next;
+        } else {
+            slots[entry.level][entry.slot] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.previous = entry.previous;
+        }
+        levelSizes[entry.level]--;
+        entry.level = -1;
+        entry.previous = null;
+        entry.next = null;
+    }
+}
@@ -0,0 +1,173 @@
+package songbird.task;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indexes every run of three characters in task descriptions, so tasks can be found by substring without scanning
+ * the whole task list.
+ * <p>
+ * Descriptions are lowercased, and each trigram, a run of three consecutive characters, maps to the tasks whose
+ * description contains it, in the order the tasks were added. Every description that contains a keyword also
+ * contains each of the keyword's trigrams, so only the tasks of its rarest trigram need to be checked for the keyword
+ * itself. Unlike a word index, this also finds keywords that span several words or contain punctuation.
+ * <p>
+ * Removing a task only forgets it, and its entries stay in the trigram lists until they make up half of all entries,
+ * when the lists are rebuilt. This keeps removals from searching through the lists of common trigrams. Descriptions
+ * never change, so a removed task that is added back before then, as undo does, takes its old entries back, in their
+ * old places, without touching the lists.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+final class TrigramIndex implements TaskIndex {
+    private static final int TRIGRAM_LENGTH = 3;
+
+    private final Map<String, List<Task>> postings = new HashMap<>();
+    private final Map<Task, Entry> entries = new IdentityHashMap<>();
+    private final Map<Task, Entry> removedEntries = new IdentityHashMap<>(); // still in the trigram lists
+    private long liveTrigramCount;
+    private long removedTrigramCount;
+
+    /**
+     * Represents an indexed task's lowercased description, and how many times it is in the task list.
+     */
+    private static final class Entry {
+        private final String normalizedDescription;
+        private final int trigramCount;
+        private int count = 1;
+
+        private Entry(String normalizedDescription, int trigramCount) {
+            this.normalizedDescription = normalizedDescription;
+            this.trigramCount = trigramCount;
+        }
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        Entry existing = entries.get(task);
+        if (existing != null) {
+            existing.count++;
+            return;
+        }
+        Entry removed = removedEntries.remove(task);
+        if (removed != null) {
+            removed.count = 1;
+            entries.put(task, removed);
+            removedTrigramCount -= removed.trigramCount;
+            liveTrigramCount += removed.trigramCount;
+            return;
+        }
+
+        String normalizedDescription = task.getDescription().toLowerCase();
+        Set<String> trigrams = trigramsOf(normalizedDescription);
+        for (String trigram : trigrams) {
+            postings.computeIfAbsent(trigram, key -> new ArrayList<>()).add(task);
+        }
+        entries.put(task, new Entry(normalizedDescription, trigrams.size()));
+        liveTrigramCount += trigrams.size();
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        Entry existing = entries.get(task);
+        if (existing == null) {
+            return;
+        }
+        if (--existing.count > 0) {
+            return;
+        }
+
+        entries.remove(task);
+        removedEntries.put(task, existing);
+        liveTrigramCount -= existing.trigramCount;
+        removedTrigramCount += existing.trigramCount;
+        if (removedTrigramCount > liveTrigramCount) {
+            compact();
+        }
+    }
+
+    /**
+     * Returns the tasks whose descriptions contain the keyword, ignoring case, if the keyword is long enough to have
+     * a trigram. Shorter keywords cannot be looked up.
+     *
+     * @param keyword The keyword to search for.
+     * @return A new list of the matching tasks in the order they were first added, which is task list order unless a
+     *         task was added back after its entries were rebuilt away, or null if the keyword cannot be looked up.
+     */
+    List<Task> findBySubstring(String keyword) {
+        String normalizedKeyword = keyword.toLowerCase();
+        if (normalizedKeyword.length() < TRIGRAM_LENGTH) {
+            return null;
+        }
+
+        List<Task> candidates = null;
+        for (String trigram : trigramsOf(normalizedKeyword)) {
+            List<Task> tasksWithTrigram = postings.get(trigram);
+            if (tasksWithTrigram == null) {
+                return new ArrayList<>();
+            }
+            if (candidates == null || tasksWithTrigram.size() < candidates.size()) {
+                candidates = tasksWithTrigram;
+            }
+        }
+
+        List<Task> matches = new ArrayList<>();
+        for (Task candidate : candidates) {
+            Entry entry = entries.get(candidate);
+            if (entry == null || !entry.normalizedDescription.contains(normalizedKeyword)) {
+                continue; // removed since it was indexed, or only shares the trigram
+            }
+            for (int i = entry.count; i > 0; i--) {
+                matches.add(candidate);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns at most how many tasks {@link #findBySubstring(String)} checks for the keyword: the number of tasks
+     * with its rarest trigram, including removed tasks that have not been compacted away yet.
+     *
+     * @param keyword The keyword to search for.
+     * @return The number of candidates, or -1 if the keyword cannot be looked up.
+     */
+    int estimateSubstring(String keyword) {
+        String normalizedKeyword = keyword.toLowerCase();
+        if (normalizedKeyword.length() < TRIGRAM_LENGTH) {
+            return -1;
+        }
+
+        int estimate = Integer.MAX_VALUE;
+        for (String trigram : trigramsOf(normalizedKeyword)) {
+            List<Task> tasksWithTrigram = postings.get(trigram);
+            estimate = Math.min(estimate, tasksWithTrigram == null ? 0 : tasksWithTrigram.size());
+        }
+        return estimate;
+    }
+
+    /**
+     * Rebuilds the trigram lists from the tasks that are still indexed, dropping the entries of removed tasks.
+     */
+    private void compact() {
+        for (List<Task> tasksWithTrigram : postings.values()) {
+            tasksWithTrigram.removeIf(task -> !entries.containsKey(task));
+        }
+        postings.values().removeIf(List::isEmpty);
+        removedEntries.clear();
+        removedTrigramCount = 0;
+    }
+
+    private static Set<String> trigramsOf(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + TRIGRAM_LENGTH <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + TRIGRAM_LENGTH));
+        }
+        return trigrams;
+    }
+}
@@ -0,0 +1,110 @@
+package songbird.task;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes tasks by their type, as a bitmap of task IDs for each type, so the tasks of a type can be counted in O(1)
+ * time and listed without scanning the task list.
+ * <p>
+ * Since IDs count up from 1, the bitmaps stay about as long as the number of tasks ever added, at one bit per task
+ * for each type. Tasks are listed by looking their IDs up in the {@link TaskIdIndex}, which must be updated before
+ * this index, so a task added several times is only removed from its bitmap with its last copy. Tasks whose IDs do
+ * not fit in a bitmap, which only a hand-edited save file can give, are counted but not listed, and the index cannot
+ * be used while there are any.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+final class TypeIndex implements TaskIndex {
+    private final TaskIdIndex idIndex;
+    private final Map<TaskType, BitSet> idsByType = new EnumMap<>(TaskType.class);
+    private final Map<TaskType, Integer> countsByType = new EnumMap<>(TaskType.class);
+    private int unlistedTaskCount;
+
+    /**
+     * Constructs a TypeIndex that lists its tasks from the given ID index.
+     *
+     * @param idIndex The index of the same tasks by ID, which is updated before this index.
+     */
+    TypeIndex(TaskIdIndex idIndex) {
+        this.idIndex = idIndex;
+        for (TaskType taskType : TaskType.values()) {
+            idsByType.put(taskType, new BitSet());
+            countsByType.put(taskType, 0);
+        }
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        if (!fitsBitmap(task)) {
+            unlistedTaskCount++;
+            return;
+        }
+        BitSet ids = idsByType.get(task.getTaskType());
+        int id = (int) task.getId();
+        if (!ids.get(id)) {
+            ids.set(id);
+            countsByType.merge(task.getTaskType(), 1, Integer::sum);
+        }
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        if (!fitsBitmap(task)) {
+            unlistedTaskCount--;
+            return;
+        }
+        if (idIndex.get(task.getId()) != null) {
+            return; // another copy of the task is still in the list
+        }
+        BitSet ids = idsByType.get(task.getTaskType());
+        int id = (int) task.getId();
+        if (ids.get(id)) {
+            ids.clear(id);
+            countsByType.merge(task.getTaskType(), -1, Integer::sum);
+        }
+    }
+
+    /**
+     * Returns whether the index can list the tasks of each type.
+     *
+     * @return False if some task's ID does not fit in a bitmap.
+     */
+    boolean isUsable() {
+        return unlistedTaskCount == 0;
+    }
+
+    /**
+     * Returns the number of distinct tasks of the given type.
+     *
+     * @param taskType The type of task.
+     * @return The number of tasks.
+     */
+    int count(TaskType taskType) {
+        return countsByType.get(taskType);
+    }
+
+    /**
+     * Returns the distinct tasks of the given type. Only valid while the index is {@link #isUsable() usable}.
+     *
+     * @param taskType The type of task.
+     * @return A new list of the tasks, in ID order.
+     */
+    List<Task> getTasksOfType(TaskType taskType) {
+        assert isUsable() : "Tasks should only be listed by type while every ID fits in a bitmap";
+        BitSet ids = idsByType.get(taskType);
+        List<Task> tasks = new ArrayList<>(count(taskType));
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            tasks.add(idIndex.get(id));
+        }
+        return tasks;
+    }
+
+    private static boolean fitsBitmap(Task task) {
+        return task.getId() < Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,123 @@
+package songbird.task;
+
+import java.util.Arrays;
+
+/**
+ * Matches words against a given word, allowing a few typos. A typo inserts, deletes or replaces a character, or swaps
+ * two adjacent characters.
+ * <p>
+ * Most words are ruled out without comparing them character by character: by their length, and by the characters
+ * of the given word that they are missing, since each missing character needs its own typo. The remaining words are
+ * compared with the usual table of typo distances between their prefixes, of which only the diagonal band that can
+ * stay within the limit is filled in, stopping as soon as a whole row exceeds it.
+ * <p>
+ * A TypoMatcher reuses its table between words, so it must not be shared between threads.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+final class TypoMatcher {
+    private static final int MAX_TYPOS = 2;
+
+    private final String word;
+    private final int maxTypos;
+    private final long signature;
+    private int[] rowBeforePrevious;
+    private int[] previousRow;
+    private int[] currentRow;
+
+    /**
+     * Constructs a TypoMatcher that allows the given number of typos.
+     *
+     * @param word     The word to match against.
+     * @param maxTypos The maximum number of typos a matching word may have.
+     */
+    TypoMatcher(String word, int maxTypos) {
+        assert maxTypos >= 0 : "Maximum typos should not be negative";
+        this.word = word;
+        this.maxTypos = maxTypos;
+        this.signature = signatureOf(word);
+        int rowLength = word.length() + maxTypos + 1;
+        this.rowBeforePrevious = new int[rowLength];
+        this.previousRow = new int[rowLength];
+        this.currentRow = new int[rowLength];
+    }
+
+    /**
+     * Returns a TypoMatcher that allows fewer typos in shorter words. Words of up to two characters must match
+     * exactly, words of up to five characters may have one typo, and longer words may have two.
+     *
+     * @param word The word to match against.
+     * @return The TypoMatcher for the word.
+     */
+    static TypoMatcher forWord(String word) {
+        if (word.length() <= 2) {
+            return new TypoMatcher(word, 0);
+        }
+        return new TypoMatcher(word, word.length() <= 5 ? 1 : MAX_TYPOS);
+    }
+
+    /**
+     * Returns whether the candidate is at most the allowed number of typos away from the word.
+     *
+     * @param candidate The word to match.
+     * @return True if the candidate matches.
+     */
+    boolean matches(String candidate) {
+        if (Math.abs(candidate.length() - word.length()) > maxTypos
+                || Long.bitCount(signature & ~signatureOf(candidate)) > maxTypos) {
+            return false;
+        }
+        if (maxTypos == 0) {
+            return word.equals(candidate);
+        }
+
+        // distances beyond the limit are all recorded as one more than it, the value of every cell outside the band
+        int outOfReach = maxTypos + 1;
+        Arrays.fill(previousRow, 0, candidate.length() + 1, outOfReach);
+        for (int j = 0; j <= Math.min(maxTypos, candidate.length()); j++) {
+            previousRow[j] = j;
+        }
+        for (int i = 1; i <= word.length(); i++) {
+            int from = Math.max(1, i - maxTypos);
+            int to = Math.min(candidate.length(), i + maxTypos);
+            currentRow[from - 1] = from == 1 ? Math.min(i, outOfReach) : outOfReach;
+            int rowMinimum = currentRow[from - 1];
+            for (int j = from; j <= to; j++) {
+                int replaceCost = word.charAt(i - 1) == candidate.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(previousRow[j - 1] + replaceCost,
+                        Math.min(previousRow[j], currentRow[j - 1]) + 1);
+                if (i > 1 && j > 1 && word.charAt(i - 1) == candidate.charAt(j - 2)
+                        && word.charAt(i - 2) == candidate.charAt(j - 1)) {
+                    distance = Math.min(distance, rowBeforePrevious[j - 2] + 1);
+                }
+                currentRow[j] = Math.min(distance, outOfReach);
+                rowMinimum = Math.min(rowMinimum, currentRow[j]);
+            }
+            if (to < candidate.length()) {
+                currentRow[to + 1] = outOfReach;
+            }
+            if (rowMinimum > maxTypos) {
+                return false;
+            }
+
+            int[] recycledRow = rowBeforePrevious;
+            rowBeforePrevious = previousRow;
+            previousRow = currentRow;
+            currentRow = recycledRow;
+        }
+        return previousRow[candidate.length()] <= maxTypos;
+    }
+
+    /**
+     * Returns a set of the characters in a word, as a bit for each character's remainder modulo 64.
+     * The number of bits set only in the word's signature is a lower bound on the typos to reach another word.
+     */
+    private static long signatureOf(String word) {
+        long signature = 0;
+        for (int i = 0; i < word.length(); i++) {
+            signature |= 1L << word.charAt(i);
+        }
+        return signature;
+    }
+}
@@ -0,0 +1,101 @@
+package songbird.task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Orders the deadlines and events that are not done by when they are next due: their deadline, or the start of the
+ * event. The next tasks due after a given date/time are then found without sorting every dated task.
+ * <p>
+ * Tasks are kept in a sorted map keyed by their due epoch second, in UTC as in the storage format, and leave it as
+ * soon as they are marked as done. Finding the next k tasks takes O(log n + k) time.
+ *
+ * @author Ashe Low
+ * @version CS2103T AY24/25 Semester 2
+ */
+final class UpcomingIndex implements TaskIndex {
+    private final NavigableMap<Long, List<Task>> pendingTasks = new TreeMap<>();
+
+    @Override
+    public void taskAdded(Task task) {
+        if (!task.isDone()) {
+            addPending(task);
+        }
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        if (!task.isDone()) {
+            removePending(task);
+        }
+    }
+
+    @Override
+    public void taskDoneChanged(Task task) {
+        if (task.isDone()) {
+            removePending(task);
+        } else {
+            addPending(task);
+        }
+    }
+
+    /**
+     * Returns the tasks that are not done and are next due at or after the given date/time.
+     *
+     * @param from  The date/time to look from.
+     * @param count The maximum number of tasks to return.
+     * @return A new list of at most the given number of tasks, ordered by when they are due.
+     */
+    List<Task> getNext(LocalDateTime from, int count) {
+        List<Task> tasks = new ArrayList<>(Math.min(count, 16));
+        for (List<Task> tasksAtKey : pendingTasks.tailMap(toEpochSecond(from), true).values()) {
+            for (Task task : tasksAtKey) {
+                if (tasks.size() == count) {
+                    return tasks;
+                }
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    private void addPending(Task task) {
+        LocalDateTime dueDateTime = dueDateTimeOf(task);
+        if (dueDateTime != null) {
+            pendingTasks.computeIfAbsent(toEpochSecond(dueDateTime), key -> new ArrayList<>(1)).add(task);
+        }
+    }
+
+    private void removePending(Task task) {
+        LocalDateTime dueDateTime = dueDateTimeOf(task);
+        if (dueDateTime == null) {
+            return;
+        }
+        long key = toEpochSecond(dueDateTime);
+        List<Task> tasksAtKey = pendingTasks.get(key);
+        if (tasksAtKey != null && tasksAtKey.remove(task) && tasksAtKey.isEmpty()) {
+            pendingTasks.remove(key);
+        }
+    }
+
+    /**
+     * Returns when the task is next due: its deadline, or the start of its event, or null for tasks without dates.
+     */
+    static LocalDateTime dueDateTimeOf(Task task) {
+        if (task instanceof DeadlineTask deadlineTask) {
+            return deadlineTask.getDeadline();
+        }
+        if (task instanceof EventTask eventTask) {
+            return eventTask.getEventStart();
+        }
+        return null;
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -1,5 +1,9 @@
 package songbird.ui;
 
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javafx.application.Platform;
 import songbird.MainWindow;
 
 /**
@@ -9,9 +13,9 @@ import songbird.MainWindow;
  * @version CS2103T AY24/25 Semester 2
  */
 public class Ui {
-    private static MainWindow mainWindow;
+    private static final Queue<String> BUFFERED_RESPONSES = new ConcurrentLinkedQueue<>();
+    private static volatile MainWindow mainWindow;
     private static String currentUserInput = null;
-    private static String bufferedResponse = null;
 
     /**
      * Greets the user with the Songbird logo and a welcome message.
@@ -31,7 +35,9 @@ public class Ui {
      * @param window The MainWindow to respond to.
      */
     public static void setMainWindow(MainWindow window) {
-        mainWindow = window;
+        synchronized (BUFFERED_RESPONSES) {
+            mainWindow = window;
+        }
     }
 
     /**
@@ -53,8 +59,7 @@ public class Ui {
      */
     public static void respond(String... messages) {
         // if there's no MainWindow, buffer the messages until it's ready.
-        if (mainWindow == null) {
-            bufferedResponse = String.join("\n", messages);
+        if (bufferIfNoWindow(messages)) {
             return;
         }
 
@@ -65,9 +70,8 @@ public class Ui {
         }
 
         // if there are buffered messages, display them first.
-        if (bufferedResponse != null) {
-            mainWindow.handleSongbirdResponse(bufferedResponse);
-            bufferedResponse = null; // clear buffered messages
+        while (!BUFFERED_RESPONSES.isEmpty()) {
+            mainWindow.handleSongbirdResponse(BUFFERED_RESPONSES.poll());
         }
 
         // display response messages
@@ -76,6 +80,18 @@ public class Ui {
         }
     }
 
+    /**
+     * Responds to the user with the given messages from a thread other than the JavaFX application thread.
+     * The messages are displayed on the JavaFX application thread once it is free.
+     *
+     * @param messages The messages to respond with.
+     */
+    public static void respondLater(String... messages) {
+        if (!bufferIfNoWindow(messages)) {
+            Platform.runLater(() -> respond(messages));
+        }
+    }
+
     /**
      * Responds to the user with an error message.
      *
@@ -86,4 +102,33 @@ public class Ui {
             respond("ERROR :: " + message);
         }
     }
+
+    /**
+     * Responds to the user with an error message from a thread other than the JavaFX application thread.
+     * The message is displayed on the JavaFX application thread once it is free.
+     *
+     * @param messages The error messages to respond with.
+     */
+    public static void errorLater(String... messages) {
+        for (String message : messages) {
+            respondLater("ERROR :: " + message);
+        }
+    }
+
+    /**
+     * Buffers the messages, joined into a single response, if there is no MainWindow yet. Messages may be buffered
+     * from any thread, and every buffered message is displayed by the first response once the window is set, since
+     * the check and the buffering happen together, before the window can be set.
+     *
+     * @return True if the messages were buffered.
+     */
+    private static boolean bufferIfNoWindow(String... messages) {
+        synchronized (BUFFERED_RESPONSES) {
+            if (mainWindow != null) {
+                return false;
+            }
+            BUFFERED_RESPONSES.add(String.join("\n", messages));
+            return true;
+        }
+    }
 }
@@ -0,0 +1,70 @@
+package songbird.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import songbird.exception.SongbirdMalformedCommandException;
+
+/**
+ * Tests the CommandTokenizer class.
+ */
+public class CommandTokenizerTest {
+    /**
+     * Tests that the command word, parameters, description and flags are found, with flags in any order.
+     */
+    @Test
+    public void tokenize_flagsInAnyOrder_found() throws SongbirdMalformedCommandException {
+        CommandTokenizer tokens = new CommandTokenizer("  event   Project meeting /to friday 4pm  /from friday 2pm ");
+
+        assertEquals("event", tokens.getCommandWord());
+        assertEquals("Project meeting /to friday 4pm  /from friday 2pm", tokens.getParameters());
+        assertEquals("Project meeting", tokens.getDescription());
+        assertEquals("friday 2pm", tokens.getFlag(CommandTokenizer.FROM_FLAG));
+        assertEquals("friday 4pm", tokens.getFlag(CommandTokenizer.TO_FLAG));
+        assertNull(tokens.getFlag(CommandTokenizer.BY_FLAG));
+    }
+
+    /**
+     * Tests that flags within quotes or other words are part of the text, and that quotes are left out of it.
+     */
+    @Test
+    public void tokenize_quotedFlag_keptInDescription() throws SongbirdMalformedCommandException {
+        CommandTokenizer tokens =
+                new CommandTokenizer("deadline Back up \"/home /by hand\" and a/by /byte /by 2025-03-14");
+
+        assertEquals("Back up /home /by hand and a/by /byte", tokens.getDescription());
+        assertEquals("2025-03-14", tokens.getFlag(CommandTokenizer.BY_FLAG));
+    }
+
+    /**
+     * Tests that quotes are left out of the whole parameters in the same way, for commands that take no flags.
+     */
+    @Test
+    public void tokenize_unquotedParameters_keepFlagsAsWords() {
+        CommandTokenizer tokens = new CommandTokenizer("todo  \"Read\" chapter /by \"Knuth\"  ");
+
+        assertEquals("\"Read\" chapter /by \"Knuth\"", tokens.getParameters());
+        assertEquals("Read chapter /by Knuth", tokens.getUnquotedParameters());
+        assertEquals("", new CommandTokenizer("todo \"\"").getUnquotedParameters());
+    }
+
+    /**
+     * Tests that blank input, a flag with no value, and a repeated flag are told apart.
+     */
+    @Test
+    public void tokenize_missingEmptyAndRepeatedFlags() throws SongbirdMalformedCommandException {
+        CommandTokenizer blank = new CommandTokenizer("   ");
+        assertEquals("", blank.getCommandWord());
+        assertEquals("", blank.getParameters());
+
+        CommandTokenizer empty = new CommandTokenizer("deadline /by");
+        assertEquals("", empty.getDescription());
+        assertEquals("", empty.getFlag(CommandTokenizer.BY_FLAG));
+
+        CommandTokenizer repeated = new CommandTokenizer("deadline a /by monday /by tuesday");
+        assertThrows(SongbirdMalformedCommandException.class, () -> repeated.getFlag(CommandTokenizer.BY_FLAG));
+    }
+}
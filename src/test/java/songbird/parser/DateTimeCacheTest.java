@@ -0,0 +1,99 @@
+package songbird.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import songbird.exception.SongbirdMalformedCommandException;
+
+/**
+ * Tests the DateTimeCache class.
+ */
+public class DateTimeCacheTest {
+    private static final LocalDateTime MORNING = LocalDateTime.of(2025, 3, 12, 8, 15, 30);
+
+    private final List<String> resolvedInputs = new ArrayList<>();
+
+    /**
+     * Resolves every input to 9am the next day, or 2 hours from now if it mentions hours, and records each call.
+     */
+    private LocalDateTime resolve(String input, LocalDateTime now) throws SongbirdMalformedCommandException {
+        resolvedInputs.add(input);
+        if (input.contains("bad")) {
+            throw new SongbirdMalformedCommandException("Unable to parse date/time: " + input);
+        }
+        return input.contains("hours") ? now.plusHours(2) : now.toLocalDate().plusDays(1).atTime(9, 0);
+    }
+
+    /**
+     * Tests that an input repeated on the same day, however it is spaced or capitalised, is only resolved once.
+     */
+    @Test
+    public void get_repeatedInput_resolvedOnce() throws SongbirdMalformedCommandException {
+        DateTimeCache cache = new DateTimeCache(8);
+        LocalDateTime expected = LocalDateTime.of(2025, 3, 13, 9, 0);
+
+        assertEquals(expected, cache.get("tomorrow 9am", MORNING, this::resolve));
+        assertEquals(expected, cache.get("  Tomorrow   9AM ", MORNING.plusHours(6), this::resolve));
+
+        assertEquals(List.of("tomorrow 9am"), resolvedInputs);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    /**
+     * Tests that a relative input is resolved again on the next day.
+     */
+    @Test
+    public void get_nextDay_resolvedAgain() throws SongbirdMalformedCommandException {
+        DateTimeCache cache = new DateTimeCache(8);
+
+        cache.get("tomorrow 9am", MORNING, this::resolve);
+        assertEquals(LocalDateTime.of(2025, 3, 14, 9, 0),
+                cache.get("tomorrow 9am", MORNING.plusDays(1), this::resolve));
+
+        assertEquals(2, resolvedInputs.size());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    /**
+     * Tests that an input counting in hours is kept as an offset, so a hit later in the day moves with the clock.
+     */
+    @Test
+    public void get_clockRelativeInput_offsetFromNow() throws SongbirdMalformedCommandException {
+        DateTimeCache cache = new DateTimeCache(8);
+
+        assertEquals(MORNING.plusHours(2), cache.get("in 2 hours", MORNING, this::resolve));
+        assertEquals(MORNING.plusHours(5), cache.get("in 2 hours", MORNING.plusHours(3), this::resolve));
+
+        assertEquals(1, resolvedInputs.size());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    /**
+     * Tests that the least recently used input is forgotten first, and that failed inputs are not remembered.
+     */
+    @Test
+    public void get_overCapacity_leastRecentlyUsedForgotten() throws SongbirdMalformedCommandException {
+        DateTimeCache cache = new DateTimeCache(2);
+
+        cache.get("a", MORNING, this::resolve);
+        cache.get("b", MORNING, this::resolve);
+        cache.get("a", MORNING, this::resolve); // a is now more recently used than b
+        cache.get("c", MORNING, this::resolve); // forgets b
+        cache.get("a", MORNING, this::resolve);
+        cache.get("b", MORNING, this::resolve);
+        assertThrows(SongbirdMalformedCommandException.class, () -> cache.get("bad", MORNING, this::resolve));
+        assertThrows(SongbirdMalformedCommandException.class, () -> cache.get("bad", MORNING, this::resolve));
+
+        assertEquals(List.of("a", "b", "c", "b", "bad", "bad"), resolvedInputs);
+        assertEquals(2, cache.getHitCount());
+        assertEquals(6, cache.getMissCount());
+        assertEquals(2, cache.size());
+    }
+}
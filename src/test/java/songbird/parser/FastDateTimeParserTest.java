@@ -0,0 +1,58 @@
+package songbird.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the FastDateTimeParser class.
+ */
+public class FastDateTimeParserTest {
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 12); // a Wednesday
+
+    /**
+     * Tests that absolute dates are recognised in each format, with and without a time.
+     */
+    @Test
+    public void tryParse_absoluteDates_parsed() {
+        assertEquals(LocalDateTime.of(2025, 3, 14, 0, 0), FastDateTimeParser.tryParse("2025-03-14", TODAY));
+        assertEquals(LocalDateTime.of(2025, 3, 14, 18, 30), FastDateTimeParser.tryParse("2025-03-14 18:30", TODAY));
+        assertEquals(LocalDateTime.of(2025, 3, 14, 18, 30, 15),
+                FastDateTimeParser.tryParse("2025-03-14T18:30:15", TODAY));
+        assertEquals(LocalDateTime.of(2025, 3, 4, 0, 0), FastDateTimeParser.tryParse("4/3/2025", TODAY));
+        assertEquals(LocalDateTime.of(2025, 3, 14, 9, 5), FastDateTimeParser.tryParse("  14/03/2025 09:05 ", TODAY));
+    }
+
+    /**
+     * Tests that relative dates are resolved against today, and weekdays to the next such day, including today.
+     */
+    @Test
+    public void tryParse_relativeDates_resolvedAgainstToday() {
+        assertEquals(LocalDateTime.of(2025, 3, 12, 0, 0), FastDateTimeParser.tryParse("today", TODAY));
+        assertEquals(LocalDateTime.of(2025, 3, 13, 14, 0), FastDateTimeParser.tryParse("Tomorrow 14:00", TODAY));
+        assertEquals(LocalDateTime.of(2025, 3, 12, 0, 0), FastDateTimeParser.tryParse("wednesday", TODAY));
+        assertEquals(LocalDateTime.of(2025, 3, 17, 0, 0), FastDateTimeParser.tryParse("MONDAY", TODAY));
+        assertEquals(LocalDateTime.of(2025, 3, 14, 23, 59), FastDateTimeParser.tryParse("fri 23:59", TODAY));
+    }
+
+    /**
+     * Tests that natural language, 12-hour times and dates that do not exist are left to the natural language model.
+     */
+    @Test
+    public void tryParse_otherInputs_notRecognised() {
+        assertNull(FastDateTimeParser.tryParse("next friday at 6pm", TODAY));
+        assertNull(FastDateTimeParser.tryParse("tomorrow at 2pm", TODAY));
+        assertNull(FastDateTimeParser.tryParse("tomorrow 2pm", TODAY));
+        assertNull(FastDateTimeParser.tryParse("in 3 days", TODAY));
+        assertNull(FastDateTimeParser.tryParse("2025-02-30", TODAY));
+        assertNull(FastDateTimeParser.tryParse("2025-13-01", TODAY));
+        assertNull(FastDateTimeParser.tryParse("14/03/25", TODAY));
+        assertNull(FastDateTimeParser.tryParse("2025-03-14 24:00", TODAY));
+        assertNull(FastDateTimeParser.tryParse("fr", TODAY));
+        assertNull(FastDateTimeParser.tryParse("", TODAY));
+    }
+}
@@ -0,0 +1,77 @@
+package songbird.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the ParserPool class.
+ */
+public class ParserPoolTest {
+    private static final int CAPACITY = 4;
+    private static final int THREADS = 16;
+    private static final int BORROWS_PER_THREAD = 5_000;
+
+    /**
+     * Tests that when many more threads than parsers borrow and release parsers at once, no parser is ever lent to
+     * two threads at the same time, and no more parsers are created than the capacity.
+     */
+    @Test
+    public void borrow_concurrentThreads_parserNeverShared() throws Exception {
+        ParserPool<AtomicBoolean> pool = new ParserPool<>(CAPACITY, AtomicBoolean::new); // true while lent out
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                startLatch.await();
+                int sharedCount = 0;
+                for (int j = 0; j < BORROWS_PER_THREAD; j++) {
+                    AtomicBoolean parser = pool.borrow();
+                    if (!parser.compareAndSet(false, true)) {
+                        sharedCount++;
+                    }
+                    Thread.onSpinWait();
+                    parser.set(false);
+                    pool.release(parser);
+                }
+                return sharedCount;
+            }));
+        }
+
+        startLatch.countDown();
+        for (Future<Integer> result : results) {
+            int sharedCount = result.get(30, TimeUnit.SECONDS);
+            assertEquals(0, sharedCount, "A parser was lent to two threads at once");
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(pool.getCreatedCount() <= CAPACITY, "More parsers created than the capacity of the pool");
+    }
+
+    /**
+     * Tests that an idle parser is reused rather than a new one created.
+     */
+    @Test
+    public void borrow_idleParser_reused() throws InterruptedException {
+        ParserPool<Object> pool = new ParserPool<>(CAPACITY, Object::new);
+        Object parser = pool.borrow();
+        pool.release(parser);
+
+        assertSame(parser, pool.borrow());
+        assertEquals(1, pool.getCreatedCount());
+        assertNotSame(parser, pool.borrow(), "A lent out parser should not be lent again");
+    }
+}
@@ -0,0 +1,74 @@
+package songbird.parser;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import songbird.command.FindCommand;
+import songbird.exception.SongbirdException;
+import songbird.exception.SongbirdMalformedCommandException;
+import songbird.storage.Storage;
+import songbird.task.TaskList;
+
+/**
+ * Tests the Parser class.
+ */
+public class ParserTest {
+    private Parser parser;
+
+    /**
+     * Creates a parser over an empty task list backed by a mock Storage object.
+     */
+    @BeforeEach
+    public void setUp() {
+        parser = new Parser(new TaskList(mock(Storage.class)));
+    }
+
+    /**
+     * Tests that dates with no date/time in them are reported as malformed, rather than failing with an exception
+     * that has no message.
+     */
+    @Test
+    public void parse_betweenWithoutDates_throwsMalformedCommandException() {
+        assertThrows(SongbirdMalformedCommandException.class, () -> parser.parse("between foo and bar"));
+    }
+
+    /**
+     * Tests that a due condition with no date/time in it is reported as a malformed query.
+     */
+    @Test
+    public void parse_findDueWithoutDate_throwsMalformedCommandException() {
+        assertThrows(SongbirdMalformedCommandException.class, () -> parser.parse("find due<blah"));
+    }
+
+    /**
+     * Tests that a todo with only quotes for a description is rejected as empty, as for deadlines and events.
+     */
+    @Test
+    public void parse_todoWithEmptyQuotes_throwsMalformedCommandException() {
+        assertThrows(SongbirdMalformedCommandException.class, () -> parser.parse("todo \"  \""));
+    }
+
+    /**
+     * Tests that keywords which only look like query operators are searched for as they are, rather than rejected as
+     * malformed queries.
+     */
+    @Test
+    public void parse_findOperatorLikeKeyword_searchesForKeyword() throws SongbirdException {
+        for (String keyword : new String[] {"-", "-1", "or", "not", "(draft)", "a ) b"}) {
+            assertInstanceOf(FindCommand.class, parser.parse("find " + keyword), "Failed on: find " + keyword);
+        }
+    }
+
+    /**
+     * Tests that malformed queries are still reported once they have a filter.
+     */
+    @Test
+    public void parse_findMalformedQueryWithFilter_throwsMalformedCommandException() {
+        assertThrows(SongbirdMalformedCommandException.class, () -> parser.parse("find (type:todo"));
+        assertThrows(SongbirdMalformedCommandException.class, () -> parser.parse("find -type:note"));
+    }
+}
@@ -0,0 +1,172 @@
+package songbird.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import songbird.exception.SongbirdStorageException;
+import songbird.task.Task;
+import songbird.task.ToDoTask;
+
+/**
+ * Tests the SaveScheduler class in the songbird.storage package.
+ * The SaveScheduler class is responsible for persisting task list mutations on a background thread.
+ */
+public class SaveSchedulerTest {
+    @TempDir
+    Path tempDir;
+
+    private final Object lock = new Object();
+    private final List<Task> tasks = new ArrayList<>();
+    private final AtomicInteger writeCount = new AtomicInteger();
+    private String filePath;
+    private Storage storage;
+
+    /**
+     * Sets up a journaled Storage that counts how many times it is written to.
+     */
+    @BeforeEach
+    public void setUp() throws SongbirdStorageException {
+        filePath = tempDir.resolve("test_tasklistDB").toString();
+        storage = new Storage(filePath, true) {
+            @Override
+            public void append(List<JournalEntry> entries) throws SongbirdStorageException {
+                writeCount.incrementAndGet();
+                super.append(entries);
+            }
+        };
+        storage.load();
+    }
+
+    /**
+     * Adds a task and submits the mutation while holding the lock, as TaskList does.
+     */
+    private void addTask(SaveScheduler scheduler, String description) {
+        synchronized (lock) {
+            Task task = new ToDoTask(description);
+            tasks.add(task);
+            scheduler.submit(JournalEntry.add(tasks.size() - 1, task));
+        }
+    }
+
+    /**
+     * Creates a scheduler over the test's tasks that reports errors to the given list.
+     */
+    private SaveScheduler createScheduler(long maxDelayMillis, int maxPendingMutations, List<String> errors) {
+        return new SaveScheduler(storage, lock, () -> new ArrayList<>(tasks), maxDelayMillis, maxPendingMutations,
+                errors::add);
+    }
+
+    /**
+     * Tests that a burst of mutations is coalesced into a single write when flushed.
+     */
+    @Test
+    public void testFlush_burstOfMutations_singleWrite() throws SongbirdStorageException {
+        List<String> errors = new ArrayList<>();
+        SaveScheduler scheduler = createScheduler(60_000, 1000, errors);
+        for (int i = 0; i < 20; i++) {
+            addTask(scheduler, "Task " + i);
+        }
+        assertEquals(0, writeCount.get(), "Expected no write before the maximum delay or a flush.");
+
+        scheduler.shutdown();
+
+        assertEquals(1, writeCount.get(), "Expected the burst to be written once.");
+        assertTrue(errors.isEmpty(), "Expected no errors.");
+        List<Task> loadedTasks = new Storage(filePath, true).load();
+        assertEquals(20, loadedTasks.size(), "Expected every mutation to be persisted.");
+        assertEquals("[T][ ] Task 19", loadedTasks.get(19).toString());
+    }
+
+    /**
+     * Tests that pending mutations are written without a flush once the maximum delay has passed.
+     */
+    @Test
+    public void testSubmit_maxDelayElapsed_writtenInBackground() throws InterruptedException {
+        List<String> errors = new ArrayList<>();
+        SaveScheduler scheduler = createScheduler(20, 1000, errors);
+        addTask(scheduler, "Delayed");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (writeCount.get() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, writeCount.get(), "Expected the mutation to be written after the maximum delay.");
+        scheduler.shutdown();
+    }
+
+    /**
+     * Tests that failed writes are reported through the error handler, off the calling thread.
+     */
+    @Test
+    public void testFlush_failingStorage_errorReported() throws SongbirdStorageException, InterruptedException {
+        CountDownLatch reported = new CountDownLatch(1);
+        Storage failingStorage = new Storage(filePath, true) {
+            @Override
+            public void append(List<JournalEntry> entries) throws SongbirdStorageException {
+                throw new SongbirdStorageException("disk full");
+            }
+        };
+        failingStorage.load();
+        SaveScheduler scheduler = new SaveScheduler(failingStorage, lock, () -> new ArrayList<>(tasks), 0, 1,
+                message -> reported.countDown());
+        addTask(scheduler, "Doomed");
+
+        assertTrue(reported.await(5, TimeUnit.SECONDS), "Expected the failure to be reported.");
+        scheduler.shutdown();
+    }
+
+    /**
+     * Tests that a failed write is retried in the background without any further mutations, and reported only once.
+     */
+    @Test
+    public void testSubmit_transientFailure_retriedWithoutMutation() throws SongbirdStorageException,
+            InterruptedException {
+        AtomicInteger attemptCount = new AtomicInteger();
+        Storage flakyStorage = new Storage(filePath, true) {
+            @Override
+            public void append(List<JournalEntry> entries) throws SongbirdStorageException {
+                attemptCount.incrementAndGet();
+                throw new SongbirdStorageException("disk busy");
+            }
+
+            @Override
+            public void save(List<Task> tasks) throws SongbirdStorageException {
+                attemptCount.incrementAndGet();
+                super.save(tasks);
+            }
+        };
+        flakyStorage.load();
+        List<String> errors = new ArrayList<>();
+        SaveScheduler scheduler = new SaveScheduler(flakyStorage, lock, () -> new ArrayList<>(tasks), 0, 1,
+                message -> {
+                    synchronized (errors) {
+                        errors.add(message);
+                    }
+                });
+        addTask(scheduler, "Retried");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (attemptCount.get() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, attemptCount.get(), "Expected the failed write to be retried once, as a snapshot.");
+        scheduler.shutdown();
+
+        synchronized (errors) {
+            assertEquals(1, errors.size(), "Expected the failure to be reported once.");
+        }
+        List<Task> loadedTasks = new Storage(filePath, true).load();
+        assertEquals(1, loadedTasks.size(), "Expected the retry to persist the mutation.");
+    }
+}
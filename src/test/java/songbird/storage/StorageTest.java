@@ -1,12 +1,18 @@
 package songbird.storage;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.DataInputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -17,10 +23,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import songbird.exception.SongbirdException;
 import songbird.exception.SongbirdStorageException;
+import songbird.task.CompactTaskStore;
 import songbird.task.DeadlineTask;
 import songbird.task.EventTask;
 import songbird.task.Task;
+import songbird.task.TaskList;
+import songbird.task.TaskReference;
+import songbird.task.TaskSelector;
 import songbird.task.ToDoTask;
 
 /**
@@ -235,4 +246,336 @@ public class StorageTest {
             }
         }
     }
+
+    /**
+     * Tests that mutations appended to the journal are replayed on top of the snapshot when loading.
+     */
+    @Test
+    public void testJournaledStorage_appendedEntriesReplayedOnLoad() throws SongbirdStorageException {
+        Storage journaledStorage = new Storage(testFilePath.toString(), true);
+        assertTrue(journaledStorage.load().isEmpty(), "Expected an empty list for a new journaled storage.");
+
+        journaledStorage.append(JournalEntry.add(0, new ToDoTask("First")));
+        journaledStorage.append(JournalEntry.add(1, new ToDoTask("Second")));
+        journaledStorage.append(JournalEntry.add(2, new DeadlineTask("Third",
+                LocalDateTime.of(2025, 10, 30, 23, 59))));
+        journaledStorage.append(JournalEntry.mark(2));
+        journaledStorage.append(JournalEntry.delete(0));
+
+        List<Task> loadedTasks = new Storage(testFilePath.toString(), true).load();
+        assertEquals(2, loadedTasks.size(), "Expected the journal to be replayed after loading.");
+        assertEquals("[T][ ] Second", loadedTasks.get(0).toString());
+        assertEquals("[D][X] Third (deadline: 2025-10-30T23:59:00)", loadedTasks.get(1).toString());
+    }
+
+    /**
+     * Tests that saving a snapshot folds the journal into it, so journaled mutations are not applied twice.
+     */
+    @Test
+    public void testJournaledStorage_saveCompactsJournal() throws SongbirdStorageException {
+        Storage journaledStorage = new Storage(testFilePath.toString(), true);
+        journaledStorage.load();
+
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new ToDoTask("First"));
+        journaledStorage.append(JournalEntry.add(0, tasks.get(0)));
+        journaledStorage.save(tasks);
+        journaledStorage.append(JournalEntry.add(1, new ToDoTask("Second")));
+
+        List<Task> loadedTasks = new Storage(testFilePath.toString(), true).load();
+        assertEquals(2, loadedTasks.size(), "Expected compacted entries to be loaded exactly once.");
+        assertEquals("[T][ ] First", loadedTasks.get(0).toString());
+        assertEquals("[T][ ] Second", loadedTasks.get(1).toString());
+
+        List<Task> reloadedTasks = new Storage(testFilePath.toString(), true).load();
+        assertEquals(2, reloadedTasks.size(), "Expected the journal compacted on load to not be replayed again.");
+    }
+
+    /**
+     * Tests that a batch of deletions and marks made through a task list is replayed from the journal to the same
+     * tasks, in the same order.
+     */
+    @Test
+    public void testJournaledStorage_batchMutationsReplayedOnLoad() throws SongbirdException {
+        Storage journaledStorage = new Storage(testFilePath.toString(), true);
+        TaskList taskList = new TaskList(journaledStorage.load(), journaledStorage);
+        for (int i = 1; i <= 50; i++) {
+            taskList.addTask(new ToDoTask(i % 7 == 0 ? "Weekly report " + i : "Task " + i));
+        }
+
+        taskList.deleteTasks(TaskSelector.ofRanges(List.of(
+                new TaskSelector.Range(TaskReference.ofIndex(2), TaskReference.ofIndex(2)),
+                new TaskSelector.Range(TaskReference.ofIndex(8), TaskReference.ofIndex(39)),
+                new TaskSelector.Range(TaskReference.ofIndex(4), TaskReference.ofIndex(4)))));
+        taskList.markTasks(TaskSelector.ofKeyword("report"));
+
+        List<Task> loadedTasks = new Storage(testFilePath.toString(), true).load();
+        assertEquals(taskList.snapshot().stream().map(Task::toString).toList(),
+                loadedTasks.stream().map(Task::toString).toList());
+        assertEquals(16, loadedTasks.size());
+        assertEquals("[T][X] Weekly report 7", loadedTasks.get(4).toString());
+    }
+
+    /**
+     * Tests that undoing and redoing changes made through a task list is journaled, so the task list loads as it was
+     * left.
+     */
+    @Test
+    public void testJournaledStorage_undoAndRedoReplayedOnLoad() throws SongbirdException {
+        Storage journaledStorage = new Storage(testFilePath.toString(), true);
+        TaskList taskList = new TaskList(journaledStorage.load(), journaledStorage);
+        for (int i = 1; i <= 10; i++) {
+            taskList.addTask(new ToDoTask("Task " + i));
+        }
+        taskList.markTasks(TaskSelector.ofRanges(List.of(
+                new TaskSelector.Range(TaskReference.ofIndex(0), TaskReference.ofIndex(4)))));
+        taskList.deleteTasks(TaskSelector.ofDone());
+        taskList.undo(2);
+        taskList.redo(1);
+        taskList.deleteTask(9);
+
+        List<Task> loadedTasks = new Storage(testFilePath.toString(), true).load();
+        assertEquals(taskList.snapshot().stream().map(Task::toString).toList(),
+                loadedTasks.stream().map(Task::toString).toList());
+        assertEquals(taskList.snapshot().stream().map(Task::getId).toList(),
+                loadedTasks.stream().map(Task::getId).toList());
+        assertEquals("[T][X] Task 1", loadedTasks.get(0).toString());
+    }
+
+    /**
+     * Tests that a record torn by a crash mid-append is ignored, while the records before it are kept.
+     */
+    @Test
+    public void testJournaledStorage_tornTrailingRecordIgnored() throws SongbirdStorageException, IOException {
+        Storage journaledStorage = new Storage(testFilePath.toString(), true);
+        journaledStorage.load();
+        journaledStorage.append(JournalEntry.add(0, new ToDoTask("Intact")));
+        journaledStorage.append(JournalEntry.add(1, new ToDoTask("Torn")));
+
+        try (RandomAccessFile journalFile = new RandomAccessFile(testFilePath + ".journal", "rw")) {
+            journalFile.setLength(journalFile.length() - 3);
+        }
+
+        List<Task> loadedTasks = new Storage(testFilePath.toString(), true).load();
+        assertEquals(1, loadedTasks.size(), "Expected only the intact record to be replayed.");
+        assertEquals("[T][ ] Intact", loadedTasks.get(0).toString());
+    }
+
+    /**
+     * Tests that an unreadable snapshot is not compacted over with the journal replayed onto an empty list, but
+     * moved aside together with its journal, so the user's data survives.
+     */
+    @Test
+    public void testLoad_unreadableSnapshot_movedAsideNotOverwritten() throws SongbirdException, IOException {
+        Storage journaledStorage = new Storage(testFilePath.toString(), true);
+        journaledStorage.load();
+        journaledStorage.save(List.of(new ToDoTask("Task 1"), new ToDoTask("Task 2")));
+        journaledStorage.append(JournalEntry.mark(0));
+        journaledStorage.close();
+        long snapshotLength = testFilePath.toFile().length();
+        try (RandomAccessFile snapshotFile = new RandomAccessFile(testFilePath.toFile(), "rw")) {
+            snapshotFile.setLength(snapshotLength - 3);
+        }
+
+        List<Task> loadedTasks = new Storage(testFilePath.toString(), true).load();
+
+        assertTrue(loadedTasks.isEmpty());
+        assertFalse(testFilePath.toFile().exists(), "Unreadable snapshot should be moved aside");
+        assertEquals(snapshotLength - 3, new File(testFilePath + ".corrupt").length(),
+                "Unreadable snapshot should be kept as it was");
+        assertTrue(new File(testFilePath + ".journal.corrupt").exists(), "Journal should be moved aside with it");
+    }
+
+    /**
+     * Tests that a snapshot with a corrupt task count is reported as unreadable, rather than crashing the load.
+     */
+    @Test
+    public void testLoad_negativeTaskCount_loadsEmptyList() throws SongbirdStorageException, IOException {
+        storage.save(List.of(new ToDoTask("Task 1")));
+        try (RandomAccessFile snapshotFile = new RandomAccessFile(testFilePath.toFile(), "rw")) {
+            snapshotFile.seek(Integer.BYTES + Byte.BYTES + Long.BYTES); // magic, format version and generation
+            snapshotFile.writeInt(-1);
+        }
+
+        assertTrue(new Storage(testFilePath.toString()).load().isEmpty());
+        assertTrue(new File(testFilePath + ".corrupt").exists(), "Unreadable snapshot should be moved aside");
+    }
+
+    /**
+     * Tests that a task list written with Java serialization by an older version is loaded and migrated to the
+     * binary format.
+     */
+    @Test
+    public void testLoad_legacySnapshot_migratedToBinaryFormat() throws IOException, SongbirdStorageException {
+        ArrayList<Task> legacyTasks = new ArrayList<>();
+        legacyTasks.add(new ToDoTask("Legacy ToDo"));
+        legacyTasks.add(new EventTask("Legacy Event",
+                LocalDateTime.of(2025, 9, 30, 14, 0),
+                LocalDateTime.of(2025, 9, 30, 16, 0)));
+        legacyTasks.get(1).setTaskDone();
+        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(testFilePath.toFile()))) {
+            oos.writeObject(legacyTasks);
+        }
+
+        List<Task> loadedTasks = storage.load();
+        assertEquals(legacyTasks.size(), loadedTasks.size(), "Expected the legacy tasks to be loaded.");
+        assertEquals(legacyTasks.get(1).toString(), loadedTasks.get(1).toString());
+
+        try (DataInputStream in = new DataInputStream(new FileInputStream(testFilePath.toFile()))) {
+            assertEquals(0x53424442, in.readInt(), "Expected the task list to be rewritten in the binary format.");
+        }
+        List<Task> reloadedTasks = new Storage(testFilePath.toString()).load();
+        assertEquals(legacyTasks.get(0).toString(), reloadedTasks.get(0).toString());
+        assertEquals(legacyTasks.get(1).toString(), reloadedTasks.get(1).toString());
+    }
+
+    /**
+     * Tests that task IDs survive both the journal and snapshots, and that tasks saved without IDs are given IDs that
+     * stay the same on every later load.
+     */
+    @Test
+    public void testLoad_taskIds_stableAcrossLoads() throws IOException, SongbirdStorageException {
+        ArrayList<Task> legacyTasks = new ArrayList<>();
+        legacyTasks.add(new ToDoTask("First"));
+        legacyTasks.add(new ToDoTask("Second"));
+        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(testFilePath.toFile()))) {
+            oos.writeObject(legacyTasks);
+        }
+
+        Storage journaledStorage = new Storage(testFilePath.toString(), true);
+        List<Task> loadedTasks = journaledStorage.load();
+        assertEquals(1, loadedTasks.get(0).getId());
+        assertEquals(2, loadedTasks.get(1).getId());
+        Task journaledTask = new ToDoTask("Third");
+        journaledTask.setId(7);
+        journaledStorage.append(JournalEntry.add(2, journaledTask));
+
+        List<Task> reloadedTasks = new Storage(testFilePath.toString(), true).load();
+        assertEquals(List.of(1L, 2L, 7L), reloadedTasks.stream().map(Task::getId).toList(),
+                "Expected the same IDs after replaying the journal.");
+        List<Task> compactedTasks = new Storage(testFilePath.toString(), true).load();
+        assertEquals(List.of(1L, 2L, 7L), compactedTasks.stream().map(Task::getId).toList(),
+                "Expected the same IDs after the journal was compacted into a snapshot.");
+    }
+
+    /**
+     * Tests that a failed save leaves the previous snapshot intact, since snapshots are never written in place.
+     */
+    @Test
+    public void testSave_failedSave_previousSnapshotIntact() throws SongbirdStorageException {
+        List<Task> tasksToSave = new ArrayList<>();
+        tasksToSave.add(new ToDoTask("Kept"));
+        storage.save(tasksToSave);
+
+        // a directory in place of the temporary file makes the next save fail before the rename
+        File tempFile = new File(testFilePath + ".tmp");
+        assertTrue(tempFile.mkdir(), "Failed to block the temporary file.");
+        tasksToSave.add(new ToDoTask("Lost"));
+        assertThrows(SongbirdStorageException.class, () -> storage.save(tasksToSave),
+                "Expected a SongbirdStorageException when the temporary file cannot be written.");
+
+        List<Task> loadedTasks = new Storage(testFilePath.toString()).load();
+        assertEquals(1, loadedTasks.size(), "Expected the previous snapshot to survive the failed save.");
+        assertEquals("[T][ ] Kept", loadedTasks.get(0).toString());
+    }
+
+    /**
+     * Tests that a temporary file left behind by an interrupted save is ignored on load and replaced by the next
+     * save.
+     */
+    @Test
+    public void testSave_staleTempFile_replaced() throws SongbirdStorageException, IOException {
+        File tempFile = new File(testFilePath + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tempFile)) {
+            out.write(new byte[] {1, 2, 3});
+        }
+
+        assertTrue(storage.load().isEmpty(), "Expected the stale temporary file to be ignored.");
+        List<Task> tasksToSave = new ArrayList<>();
+        tasksToSave.add(new ToDoTask("Saved"));
+        storage.save(tasksToSave);
+
+        assertFalse(tempFile.exists(), "Expected the temporary file to be renamed over the storage file.");
+        List<Task> loadedTasks = new Storage(testFilePath.toString()).load();
+        assertEquals("[T][ ] Saved", loadedTasks.get(0).toString());
+    }
+
+    /**
+     * Tests that snapshots and journal appends round-trip in every durability mode.
+     */
+    @Test
+    public void testJournaledStorage_allDurabilityModes_roundTrip() throws SongbirdStorageException {
+        for (DurabilityMode mode : DurabilityMode.values()) {
+            String filePath = tempDir.resolve("durability_" + mode).toString();
+            Storage durableStorage = new Storage(filePath, true, mode, 10);
+            durableStorage.load();
+
+            List<Task> tasks = new ArrayList<>();
+            tasks.add(new ToDoTask("Snapshot"));
+            durableStorage.save(tasks);
+            durableStorage.append(JournalEntry.add(1, new ToDoTask("Journaled")));
+            durableStorage.append(JournalEntry.mark(0));
+            durableStorage.sync();
+            durableStorage.close();
+
+            List<Task> loadedTasks = new Storage(filePath, true).load();
+            assertEquals(2, loadedTasks.size(), "Expected every save to be loaded in " + mode + " mode.");
+            assertEquals("[T][X] Snapshot", loadedTasks.get(0).toString());
+            assertEquals("[T][ ] Journaled", loadedTasks.get(1).toString());
+        }
+    }
+
+    /**
+     * Tests that archiving done tasks with a journaled task list moves them out of the snapshot and into the archive,
+     * which is only read once archived tasks are asked for, and survives a reload.
+     */
+    @Test
+    public void testArchive_doneTasksMovedOutOfTaskList() throws SongbirdException {
+        Storage journaledStorage = new Storage(testFilePath.toString(), true);
+        TaskList taskList = new TaskList(journaledStorage.load(), journaledStorage);
+        for (int i = 1; i <= 6; i++) {
+            taskList.addTask(new ToDoTask("Task " + i));
+        }
+        taskList.markTasks(TaskSelector.ofRanges(List.of(
+                new TaskSelector.Range(TaskReference.ofIndex(1), TaskReference.ofIndex(3)))));
+        List<Task> archivedTasks = taskList.archiveDoneTasks();
+        assertEquals(3, archivedTasks.size());
+        assertFalse(journaledStorage.isArchiveLoaded(), "Archiving should not read the archive.");
+
+        Storage reloadedStorage = new Storage(testFilePath.toString(), true);
+        List<Task> loadedTasks = reloadedStorage.load();
+        assertEquals(List.of("[T][ ] Task 1", "[T][ ] Task 5", "[T][ ] Task 6"),
+                loadedTasks.stream().map(Task::toString).toList());
+        assertFalse(reloadedStorage.isArchiveLoaded(), "Loading the task list should not read the archive.");
+        CompactTaskStore archive = reloadedStorage.loadArchive();
+        assertEquals(List.of("[T][X] Task 2", "[T][X] Task 3", "[T][X] Task 4"),
+                archive.toList().stream().map(Task::toString).toList());
+        assertEquals(List.of(2L, 3L, 4L), archive.toList().stream().map(Task::getId).toList());
+    }
+
+    /**
+     * Tests that a task archived twice, after a crash between archiving it and deleting it, is only read back once,
+     * and that a record torn by a crash mid-append is cut off before the next append.
+     */
+    @Test
+    public void testArchive_duplicateAndTornRecordsRecovered() throws SongbirdStorageException, IOException {
+        Task task = new ToDoTask("Archived twice");
+        task.setId(7);
+        task.setTaskDone();
+        storage.archive(List.of(task));
+        storage.archive(List.of(new ToDoTask("Torn")));
+        try (RandomAccessFile archiveFile = new RandomAccessFile(testFilePath + ".archive", "rw")) {
+            archiveFile.setLength(archiveFile.length() - 3);
+        }
+
+        Storage restartedStorage = new Storage(testFilePath.toString());
+        restartedStorage.archive(List.of(task));
+        Task lastTask = new ToDoTask("Archived last");
+        lastTask.setId(8);
+        restartedStorage.archive(List.of(lastTask));
+
+        List<Task> archivedTasks = new Storage(testFilePath.toString()).loadArchive().toList();
+        assertEquals(List.of("[T][X] Archived twice", "[T][ ] Archived last"),
+                archivedTasks.stream().map(Task::toString).toList());
+    }
 }
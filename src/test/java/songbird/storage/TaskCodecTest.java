@@ -0,0 +1,121 @@
+package songbird.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import songbird.task.DeadlineTask;
+import songbird.task.EventTask;
+import songbird.task.Task;
+import songbird.task.ToDoTask;
+
+/**
+ * Tests the TaskCodec class in the songbird.storage package.
+ * The TaskCodec class is responsible for the compact binary encoding of tasks.
+ */
+public class TaskCodecTest {
+    /**
+     * Encodes the given task and decodes it again.
+     */
+    private static Task roundTrip(Task task) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TaskCodec.encode(task, new DataOutputStream(bytes));
+        return TaskCodec.decode(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    /**
+     * Tests that every task type survives an encode/decode round trip.
+     */
+    @Test
+    public void testRoundTrip_allTaskTypes_preserved() throws IOException {
+        Task todo = new ToDoTask("Buy groceries");
+        Task deadline = new DeadlineTask("Submit report", LocalDateTime.of(2025, 10, 30, 23, 59));
+        Task event = new EventTask("Team meeting", LocalDateTime.of(2025, 9, 30, 14, 0),
+                LocalDateTime.of(2025, 9, 30, 16, 0));
+        event.setTaskDone();
+
+        assertEquals(todo.toString(), roundTrip(todo).toString());
+        assertEquals(deadline.toString(), roundTrip(deadline).toString());
+        assertEquals(event.toString(), roundTrip(event).toString());
+        assertTrue(roundTrip(event).isDone(), "Expected the done flag to be preserved.");
+    }
+
+    /**
+     * Tests that descriptions needing a multi-byte length and non-ASCII characters are preserved.
+     */
+    @Test
+    public void testRoundTrip_longUnicodeDescription_preserved() throws IOException {
+        Task task = new ToDoTask("測試 тест 😊 ".repeat(100));
+        assertEquals(task.getDescription(), roundTrip(task).getDescription());
+    }
+
+    /**
+     * Tests that a task's ID survives a round trip, and that tasks written in format 1 are decoded without one.
+     */
+    @Test
+    public void testDecode_taskIds() throws IOException {
+        Task task = new ToDoTask("Buy groceries");
+        task.setId(300);
+        assertEquals(300, roundTrip(task).getId());
+
+        byte[] formatOne = {'T', 1, 3, 'B', 'u', 'y'};
+        Task decoded = TaskCodec.decode(new DataInputStream(new ByteArrayInputStream(formatOne)), 1);
+        assertEquals("Buy", decoded.getDescription());
+        assertTrue(decoded.isDone());
+        assertEquals(0, decoded.getId(), "Tasks written in format 1 should have no ID.");
+    }
+
+    /**
+     * Tests that the encoding is much smaller than Java serialization of the same task.
+     */
+    @Test
+    public void testEncode_deadlineTask_compact() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TaskCodec.encode(new DeadlineTask("Submit report", LocalDateTime.of(2025, 10, 30, 23, 59)),
+                new DataOutputStream(bytes));
+
+        // type + done flag + ID + length + 13 description bytes + 8 byte timestamp
+        assertEquals(25, bytes.size());
+    }
+
+    /**
+     * Tests that an unknown type code and a truncated encoding are rejected.
+     */
+    @Test
+    public void testDecode_invalidInput_throwsIOException() {
+        byte[] unknownType = {'X', 0, 0};
+        assertThrows(IOException.class,
+                () -> TaskCodec.decode(new DataInputStream(new ByteArrayInputStream(unknownType))));
+
+        byte[] truncated = {'D', 0, 4, 'a', 'b'};
+        assertThrows(EOFException.class,
+                () -> TaskCodec.decode(new DataInputStream(new ByteArrayInputStream(truncated))));
+    }
+
+    /**
+     * Tests that corrupt lengths and date/times are rejected as I/O errors, rather than failing with runtime
+     * exceptions or allocating whatever a corrupt length asks for.
+     */
+    @Test
+    public void testDecode_corruptValues_throwsIOException() {
+        byte[] hugeLength = {'T', 0, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        byte[] negativeLength = {'T', 0, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        byte[] deadlineOutOfRange = {'D', 0, 0, 1, 'a', 0x7F, -1, -1, -1, -1, -1, -1, -1};
+        for (byte[] bytes : new byte[][] {hugeLength, negativeLength, deadlineOutOfRange}) {
+            IOException e = assertThrows(IOException.class,
+                    () -> TaskCodec.decode(new DataInputStream(new ByteArrayInputStream(bytes))));
+            assertFalse(e instanceof EOFException, "Expected the corrupt value itself to be rejected.");
+        }
+    }
+}
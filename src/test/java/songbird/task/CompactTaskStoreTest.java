@@ -0,0 +1,89 @@
+package songbird.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the CompactTaskStore class.
+ */
+public class CompactTaskStoreTest {
+    /**
+     * Tests that every kind of task reads back with the same type, description, date/times, ID and status.
+     */
+    @Test
+    public void get_roundTripsEveryTaskType() {
+        Task todo = new ToDoTask("Read a book ✓");
+        todo.setId(3);
+        Task deadline = new DeadlineTask("Submit report", LocalDateTime.of(2025, 3, 14, 23, 59));
+        deadline.setId(7);
+        deadline.setTaskDone();
+        Task event = new EventTask("Team meeting", LocalDateTime.of(2025, 3, 15, 14, 0),
+                LocalDateTime.of(2025, 3, 15, 16, 30));
+
+        CompactTaskStore store = CompactTaskStore.of(List.of(todo, deadline, event));
+        assertEquals(3, store.size());
+        for (int i = 0; i < store.size(); i++) {
+            Task expected = List.of(todo, deadline, event).get(i);
+            Task actual = store.get(i);
+            assertEquals(expected.toString(), actual.toString());
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getTaskType(), store.getTaskType(i));
+        }
+        assertEquals(LocalDateTime.of(2025, 3, 15, 16, 30), ((EventTask) store.get(2)).getEventEnd());
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(3));
+    }
+
+    /**
+     * Tests that marking, removing and adding after trimming keep every other task intact, including after the
+     * description pool is rebuilt, and that equal descriptions share a pooled string.
+     */
+    @Test
+    public void setDoneAndRemove_keepOtherTasks() {
+        List<Task> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Task task = new DeadlineTask("Pay rent " + (i % 10), LocalDateTime.of(2025, 1, 1, 0, 0).plusDays(i));
+            task.setId(i + 1);
+            expected.add(task);
+        }
+        CompactTaskStore store = CompactTaskStore.of(expected);
+
+        store.setDone(5, true);
+        assertTrue(store.isDone(5));
+        store.setDone(5, false);
+        assertFalse(store.isDone(5));
+        assertEquals(TaskType.DEADLINE, store.getTaskType(5), "Marking should not change the task's type.");
+
+        for (int i = 0; i < 60; i++) {
+            store.remove(i % store.size());
+            expected.remove(i % expected.size());
+        }
+        store.add(new ToDoTask("Pay rent 3"));
+        expected.add(new ToDoTask("Pay rent 3"));
+        assertEquals(expected.stream().map(Task::toString).toList(),
+                store.toList().stream().map(Task::toString).toList());
+        assertEquals(expected.get(10).getId(), store.getId(10));
+    }
+
+    /**
+     * Tests that the string pool stores equal strings once, and grows past its initial capacity.
+     */
+    @Test
+    public void stringPool_sharesEqualStrings() {
+        StringPool pool = new StringPool();
+        List<Integer> handles = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            handles.add(pool.add("Task " + (i % 300)));
+        }
+        assertEquals(300, pool.size());
+        assertEquals(handles.get(5), handles.get(305));
+        assertEquals("Task 99", pool.get(handles.get(999)));
+    }
+}
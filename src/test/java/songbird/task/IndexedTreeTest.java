@@ -0,0 +1,150 @@
+package songbird.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the IndexedTree class.
+ */
+public class IndexedTreeTest {
+    /**
+     * Tests that a long random sequence of insertions and removals leaves the tree holding the same
+     * elements as an ArrayList given the same operations.
+     */
+    @Test
+    public void randomOperations_matchArrayList() {
+        Random random = new Random(42);
+        List<Integer> expected = new ArrayList<>();
+        IndexedTree<Integer> tree = IndexedTree.empty();
+
+        for (int i = 0; i < 20_000; i++) {
+            int operation = random.nextInt(10);
+            if (expected.isEmpty() || operation < 6) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, i);
+                tree = tree.insert(index, i);
+            } else {
+                int index = random.nextInt(expected.size());
+                expected.remove(index);
+                tree = tree.remove(index);
+            }
+            assertEquals(expected.size(), tree.size());
+        }
+
+        assertEquals(expected, tree.toList());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), tree.get(i));
+        }
+    }
+
+    /**
+     * Tests that searching by key finds every element of a tree in ascending order of key, and nothing else.
+     */
+    @Test
+    public void indexOfKey_ascendingKeys() {
+        List<Long> keys = IntStream.range(0, 1000).mapToObj(i -> i * 3L).collect(Collectors.toList());
+        IndexedTree<Long> tree = IndexedTree.of(keys);
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(i, tree.indexOfKey(Long::longValue, keys.get(i)));
+            assertEquals(-1, tree.indexOfKey(Long::longValue, keys.get(i) + 1));
+        }
+        assertEquals(-1, IndexedTree.<Long>empty().indexOfKey(Long::longValue, 0));
+    }
+
+    /**
+     * Tests that removing a few positions, and removing most positions, which rebuilds the tree, both match removing
+     * the same positions from a list.
+     */
+    @Test
+    public void removeAll_matchesList() {
+        List<Integer> values = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        IndexedTree<Integer> tree = IndexedTree.of(values);
+        for (int step : new int[] {1, 2, 97}) {
+            int[] positions = IntStream.range(0, values.size()).filter(i -> i % step == 0).toArray();
+            List<Integer> expected = IntStream.range(0, values.size()).filter(i -> i % step != 0).boxed()
+                    .collect(Collectors.toList());
+            IndexedTree<Integer> remaining = tree.removeAll(positions);
+            assertEquals(expected, remaining.toList());
+        }
+        assertSame(tree, tree.removeAll(new int[0]));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.removeAll(new int[] {3, 1000}));
+    }
+
+    /**
+     * Tests that operations leave older versions of the tree, and list views of them, unchanged.
+     */
+    @Test
+    public void operations_doNotModifyOlderVersions() {
+        IndexedTree<String> original = IndexedTree.of(List.of("a", "b", "c"));
+        List<String> originalView = original.asList();
+
+        IndexedTree<String> inserted = original.insert(1, "x");
+        IndexedTree<String> removed = original.remove(0);
+
+        assertEquals(List.of("a", "b", "c"), original.toList());
+        assertEquals(List.of("a", "b", "c"), originalView);
+        assertEquals(List.of("a", "x", "b", "c"), inserted.toList());
+        assertEquals(List.of("b", "c"), removed.toList());
+    }
+
+    /**
+     * Tests that appending in order and deleting from the front, the access patterns of a task list, work on a large
+     * tree, and that iteration and streaming visit the elements in order.
+     */
+    @Test
+    public void appendThenDeleteFront_largeTree() {
+        IndexedTree<Integer> tree = IndexedTree.empty();
+        for (int i = 0; i < 100_000; i++) {
+            tree = tree.insert(tree.size(), i);
+        }
+        for (int i = 0; i < 50_000; i++) {
+            tree = tree.remove(0);
+        }
+
+        List<Integer> expected = IntStream.range(50_000, 100_000).boxed().collect(Collectors.toList());
+        assertEquals(expected, tree.stream().collect(Collectors.toList()));
+        List<Integer> iterated = new ArrayList<>();
+        tree.forEach(iterated::add);
+        assertEquals(expected, iterated);
+    }
+
+    /**
+     * Tests that iterating from any position visits exactly the elements from that position onwards.
+     */
+    @Test
+    public void iteratorFromIndex_visitsRemainingElements() {
+        List<Integer> values = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        IndexedTree<Integer> tree = IndexedTree.of(values);
+
+        for (int from = 0; from <= values.size(); from++) {
+            List<Integer> iterated = new ArrayList<>();
+            tree.iterator(from).forEachRemaining(iterated::add);
+            assertEquals(values.subList(from, values.size()), iterated);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.iterator(101));
+    }
+
+    /**
+     * Tests that positions outside the tree are rejected.
+     */
+    @Test
+    public void invalidIndex_throwsIndexOutOfBoundsException() {
+        IndexedTree<String> tree = IndexedTree.of(List.of("a"));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.insert(2, "b"));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.remove(1));
+        assertTrue(tree.remove(0).isEmpty(), "Expected removing the only element to leave an empty tree.");
+    }
+}
@@ -0,0 +1,89 @@
+package songbird.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the IntervalTree class.
+ */
+public class IntervalTreeTest {
+    /**
+     * Represents an interval in the brute-force model the tree is checked against.
+     */
+    private record Interval(long start, long end, int value) {
+    }
+
+    /**
+     * Tests that after a random sequence of additions and removals, every range search returns the same values as a
+     * brute-force scan, in order of their start.
+     */
+    @Test
+    public void randomOperations_matchBruteForce() {
+        Random random = new Random(7);
+        List<Interval> expected = new ArrayList<>();
+        IntervalTree<Integer> tree = new IntervalTree<>();
+
+        for (int i = 0; i < 5_000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                long start = random.nextInt(1_000);
+                Interval interval = new Interval(start, start + random.nextInt(50), i);
+                expected.add(interval);
+                tree.add(interval.start(), interval.end(), interval.value());
+            } else {
+                Interval interval = expected.remove(random.nextInt(expected.size()));
+                assertTrue(tree.remove(interval.start(), interval.end(), interval.value()));
+            }
+        }
+        assertEquals(expected.size(), tree.size());
+
+        expected.sort(Comparator.comparingLong(Interval::start).thenComparingLong(Interval::end));
+        for (int i = 0; i < 200; i++) {
+            long from = random.nextInt(1_100) - 50;
+            long to = from + random.nextInt(100);
+            List<Long> expectedStarts = new ArrayList<>();
+            List<Integer> expectedValues = new ArrayList<>();
+            for (Interval interval : expected) {
+                if (interval.start() <= to && interval.end() >= from) {
+                    expectedStarts.add(interval.start());
+                    expectedValues.add(interval.value());
+                }
+            }
+
+            List<Integer> found = tree.findOverlapping(from, to);
+            assertEquals(expectedValues.size(), found.size(), "Wrong number of values overlapping " + from + "-" + to);
+            assertTrue(found.containsAll(expectedValues));
+            List<Long> foundStarts = new ArrayList<>();
+            for (Integer value : found) {
+                foundStarts.add(expected.stream().filter(interval -> interval.value() == value).findFirst()
+                        .orElseThrow().start());
+            }
+            assertEquals(expectedStarts, foundStarts, "Expected values in order of their start.");
+        }
+    }
+
+    /**
+     * Tests that values sharing an interval are removed individually, and that removing a missing value does nothing.
+     */
+    @Test
+    public void sharedInterval_valuesRemovedIndividually() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.add(10, 20, "a");
+        tree.add(10, 20, "b");
+
+        assertFalse(tree.remove(10, 20, "c"), "Expected a missing value to not be removed.");
+        assertFalse(tree.remove(10, 21, "a"), "Expected a value to only be removed from its own interval.");
+        assertTrue(tree.remove(10, 20, "a"));
+        assertEquals(List.of("b"), tree.findOverlapping(20, 30));
+        assertTrue(tree.remove(10, 20, "b"));
+        assertTrue(tree.findOverlapping(0, 100).isEmpty());
+        assertEquals(0, tree.size());
+    }
+}
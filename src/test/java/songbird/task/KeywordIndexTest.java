@@ -0,0 +1,116 @@
+package songbird.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the KeywordIndex class.
+ */
+public class KeywordIndexTest {
+    private static final String[] WORDS = {"Read", "a", "book", "notebook", "Book-club", "ÉCOLE", "école", "42"};
+
+    /**
+     * Tests that substring lookups return exactly the tasks a case-insensitive scan would, in task list order, after
+     * random additions and removals.
+     */
+    @Test
+    public void findBySubstring_matchesScan() {
+        Random random = new Random(3);
+        KeywordIndex index = new KeywordIndex();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            if (tasks.isEmpty() || random.nextInt(4) > 0) {
+                String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+                Task task = new ToDoTask(description);
+                tasks.add(task);
+                index.taskAdded(task);
+            } else {
+                index.taskRemoved(tasks.remove(random.nextInt(tasks.size())));
+            }
+        }
+
+        for (String keyword : new String[] {"book", "BOOK", "ook", "école", "ÉCOLE", "4", "a", "missing"}) {
+            List<Task> expected = tasks.stream()
+                    .filter(task -> task.getDescription().toLowerCase().contains(keyword.toLowerCase()))
+                    .collect(Collectors.toList());
+            assertEquals(expected, index.findBySubstring(keyword), "Wrong tasks found for: " + keyword);
+        }
+    }
+
+    /**
+     * Tests that keywords spanning several words cannot be looked up, so the caller falls back to a scan.
+     */
+    @Test
+    public void findBySubstring_keywordSpanningWords_returnsNull() {
+        KeywordIndex index = new KeywordIndex();
+        index.taskAdded(new ToDoTask("Book-club"));
+
+        assertNull(index.findBySubstring("book-club"));
+        assertNull(index.findBySubstring("read a"));
+        assertNull(index.findBySubstring(""));
+    }
+
+    /**
+     * Tests that whole-word lookups require every word of the query, ignore case and punctuation, and do not match
+     * words that merely contain a query word.
+     */
+    @Test
+    public void findByWords_requiresEveryWholeWord() {
+        KeywordIndex index = new KeywordIndex();
+        Task readBook = new ToDoTask("Read a book");
+        Task notebook = new ToDoTask("Read a notebook");
+        Task bookClub = new ToDoTask("book-club: read");
+        index.taskAdded(readBook);
+        index.taskAdded(notebook);
+        index.taskAdded(bookClub);
+
+        assertEquals(List.of(readBook, bookClub), index.findByWords("BOOK"));
+        assertEquals(List.of(readBook, bookClub), index.findByWords("read book"));
+        assertEquals(List.of(notebook), index.findByWords("notebook, read!"));
+        assertEquals(List.of(), index.findByWords("read magazine"));
+        assertEquals(List.of(), index.findByWords("..."));
+    }
+
+    /**
+     * Tests that a task added twice is found twice, and is still found after one of its copies is removed.
+     */
+    @Test
+    public void sameTaskAddedTwice_countedSeparately() {
+        KeywordIndex index = new KeywordIndex();
+        Task task = new ToDoTask("Read a book");
+        index.taskAdded(task);
+        index.taskAdded(task);
+
+        assertEquals(List.of(task, task), index.findByWords("book"));
+        index.taskRemoved(task);
+        assertEquals(List.of(task), index.findBySubstring("boo"));
+        index.taskRemoved(task);
+        assertEquals(List.of(), index.findBySubstring("boo"));
+    }
+
+    /**
+     * Tests that similar-word lookups tolerate more typos in longer words, and still require every query word.
+     */
+    @Test
+    public void findBySimilarWords_typosAllowedByWordLength() {
+        KeywordIndex index = new KeywordIndex();
+        Task report = new ToDoTask("Submit quarterly report");
+        Task book = new ToDoTask("Read a book");
+        index.taskAdded(report);
+        index.taskAdded(book);
+
+        assertEquals(List.of(report), index.findBySimilarWords("reprot"));
+        assertEquals(List.of(report), index.findBySimilarWords("QUARTELY rport"));
+        assertEquals(List.of(book), index.findBySimilarWords("bok"));
+        assertEquals(List.of(), index.findBySimilarWords("bk"));
+        assertEquals(List.of(), index.findBySimilarWords("reprot book"));
+        assertEquals(List.of(), index.findBySimilarWords("..."));
+    }
+}
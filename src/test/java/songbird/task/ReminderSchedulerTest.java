@@ -0,0 +1,114 @@
+package songbird.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the ReminderScheduler class, with a clock that the tests move forward by hand.
+ */
+public class ReminderSchedulerTest {
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 10, 12, 0);
+
+    private MovableClock clock;
+    private List<Task> reminded;
+    private ReminderScheduler scheduler;
+
+    /**
+     * Represents a clock that only moves when told to.
+     */
+    private static final class MovableClock extends Clock {
+        private Instant instant = START.toInstant(ZoneOffset.UTC);
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        clock = new MovableClock();
+        reminded = new ArrayList<>();
+        scheduler = new ReminderScheduler(clock, reminded::add);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void remindDueTasks_remindsOfPendingTasksAsTheyComeDue() {
+        Task report = new DeadlineTask("Submit report", START.plusMinutes(10));
+        Task meeting = new EventTask("Team meeting", START.plusMinutes(5), START.plusHours(1));
+        Task bills = new DeadlineTask("Pay bills", START.minusDays(1));
+        Task taxes = new DeadlineTask("File taxes", START.plusMinutes(1));
+        taxes.setTaskDone();
+        for (Task task : List.of(report, meeting, bills, taxes, new ToDoTask("Read a book"))) {
+            scheduler.taskAdded(task);
+        }
+        assertEquals(2, scheduler.getPendingCount(), "Only pending tasks due in the future should be scheduled.");
+
+        clock.advance(Duration.ofMinutes(5).minusSeconds(1));
+        scheduler.remindDueTasks();
+        assertTrue(reminded.isEmpty(), "No task should be reminded of before it is due.");
+
+        clock.advance(Duration.ofMinutes(6));
+        scheduler.remindDueTasks();
+        assertEquals(List.of(meeting, report), reminded, "Tasks should be reminded of in the order they come due.");
+        scheduler.remindDueTasks();
+        assertEquals(2, reminded.size(), "Tasks should be reminded of once.");
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void taskChanges_rescheduleReminders() {
+        Task report = new DeadlineTask("Submit report", START.plusMinutes(10));
+        Task meeting = new EventTask("Team meeting", START.plusMinutes(20), START.plusHours(1));
+        Task taxes = new DeadlineTask("File taxes", START.plusMinutes(30));
+        scheduler.taskAdded(report);
+        scheduler.taskAdded(meeting);
+        scheduler.taskAdded(meeting); // a second copy of the same task
+        scheduler.taskAdded(taxes);
+
+        report.setTaskDone();
+        scheduler.taskDoneChanged(report);
+        scheduler.taskRemoved(meeting);
+        scheduler.taskRemoved(taxes);
+        assertEquals(1, scheduler.getPendingCount(), "The remaining copy of the meeting should still be scheduled.");
+
+        clock.advance(Duration.ofMinutes(15));
+        report.setTaskNotDone();
+        scheduler.taskDoneChanged(report); // already due again, so not reminded of
+        clock.advance(Duration.ofMinutes(30));
+        scheduler.remindDueTasks();
+        assertEquals(List.of(meeting), reminded);
+    }
+}
@@ -0,0 +1,74 @@
+package songbird.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the TaskIdIndex class.
+ */
+public class TaskIdIndexTest {
+    /**
+     * Tests that lookups agree with a HashMap after random additions and removals, which grow the table and shift
+     * entries back within colliding probe runs.
+     */
+    @Test
+    public void randomOperations_matchHashMap() {
+        Random random = new Random(11);
+        TaskIdIndex index = new TaskIdIndex();
+        Map<Long, Task> expected = new HashMap<>();
+        List<Task> indexedTasks = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            if (indexedTasks.isEmpty() || random.nextInt(3) > 0) {
+                Task task = new ToDoTask("Task " + i);
+                task.setId(1 + random.nextInt(1_000_000) * 64L); // ids sharing low bits, to provoke collisions
+                if (expected.containsKey(task.getId())) {
+                    continue;
+                }
+                index.taskAdded(task);
+                expected.put(task.getId(), task);
+                indexedTasks.add(task);
+            } else {
+                Task task = indexedTasks.remove(random.nextInt(indexedTasks.size()));
+                index.taskRemoved(task);
+                expected.remove(task.getId());
+            }
+        }
+
+        assertEquals(expected.size(), index.size());
+        for (Task task : indexedTasks) {
+            assertSame(task, index.get(task.getId()), "Wrong task for ID " + task.getId());
+        }
+        for (int i = 0; i < 1000; i++) {
+            long id = 1 + random.nextInt(1_000_000) * 64L;
+            assertSame(expected.get(id), index.get(id), "Wrong task for ID " + id);
+        }
+    }
+
+    /**
+     * Tests that a task added twice keeps its entry until both copies are removed, and that invalid IDs are not found.
+     */
+    @Test
+    public void sameTaskAddedTwice_removedWithLastCopy() {
+        TaskIdIndex index = new TaskIdIndex();
+        Task task = new ToDoTask("Read a book");
+        task.setId(5);
+        index.taskAdded(task);
+        index.taskAdded(task);
+
+        index.taskRemoved(task);
+        assertSame(task, index.get(5));
+        index.taskRemoved(task);
+        assertNull(index.get(5));
+        assertNull(index.get(0));
+        assertNull(index.get(-5));
+    }
+}
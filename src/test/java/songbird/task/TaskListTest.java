@@ -2,6 +2,8 @@ package songbird.task;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -10,13 +12,18 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import songbird.exception.SongbirdException;
 import songbird.exception.SongbirdNonExistentTaskException;
 import songbird.exception.SongbirdStorageException;
 import songbird.storage.Storage;
@@ -380,6 +387,59 @@ public class TaskListTest {
         assertFalse(tasksOnDate.contains(eventTask2), "EventTask not matching the date should not be included.");
     }
 
+    /**
+     * Tests that deleted tasks are no longer returned by getTasksByDate, and that matching tasks are ordered by their
+     * deadline or start.
+     *
+     * @throws SongbirdNonExistentTaskException If a task cannot be deleted.
+     */
+    @Test
+    public void testGetTasksByDate_deletedTasksRemovedAndTimeOrdered() throws SongbirdNonExistentTaskException {
+        LocalDateTime date = LocalDateTime.of(2025, 10, 30, 0, 0);
+        DeadlineTask lateDeadline = new DeadlineTask("Late", LocalDateTime.of(2025, 10, 30, 23, 0));
+        EventTask earlyEvent = new EventTask("Early", LocalDateTime.of(2025, 10, 30, 8, 0),
+                LocalDateTime.of(2025, 10, 30, 9, 0));
+        DeadlineTask deletedDeadline = new DeadlineTask("Deleted", LocalDateTime.of(2025, 10, 30, 12, 0));
+        EventTask spanningEvent = new EventTask("Spanning", LocalDateTime.of(2025, 10, 29, 9, 0),
+                LocalDateTime.of(2025, 11, 2, 9, 0));
+        taskList.addTask(lateDeadline);
+        taskList.addTask(earlyEvent);
+        taskList.addTask(deletedDeadline);
+        taskList.addTask(spanningEvent);
+
+        taskList.deleteTask(2);
+
+        assertEquals(List.of(spanningEvent, earlyEvent, lateDeadline), taskList.getTasksByDate(date),
+                "getTasksByDate should return the remaining tasks in time order.");
+    }
+
+    /**
+     * Tests that getTasksBetween returns the deadlines and overlapping events between two dates, inclusive, in time
+     * order, and nothing for a reversed range.
+     */
+    @Test
+    public void testGetTasksBetween_inclusiveRange() {
+        DeadlineTask before = new DeadlineTask("Before", LocalDateTime.of(2025, 10, 26, 23, 59));
+        DeadlineTask firstDay = new DeadlineTask("First day", LocalDateTime.of(2025, 10, 27, 0, 0));
+        EventTask overlapping = new EventTask("Overlapping", LocalDateTime.of(2025, 10, 25, 9, 0),
+                LocalDateTime.of(2025, 10, 27, 9, 0));
+        DeadlineTask lastDay = new DeadlineTask("Last day", LocalDateTime.of(2025, 10, 31, 23, 59));
+        EventTask after = new EventTask("After", LocalDateTime.of(2025, 11, 1, 0, 0),
+                LocalDateTime.of(2025, 11, 1, 1, 0));
+        taskList.addTask(lastDay);
+        taskList.addTask(after);
+        taskList.addTask(before);
+        taskList.addTask(firstDay);
+        taskList.addTask(overlapping);
+        taskList.addTask(new ToDoTask("No date"));
+
+        LocalDate from = LocalDate.of(2025, 10, 27);
+        LocalDate to = LocalDate.of(2025, 10, 31);
+        assertEquals(List.of(overlapping, firstDay, lastDay), taskList.getTasksBetween(from, to),
+                "getTasksBetween should return the tasks in the range in time order.");
+        assertTrue(taskList.getTasksBetween(to, from).isEmpty(), "A reversed range should contain no tasks.");
+    }
+
     /**
      * Tests the string representation of an empty task list.
      * Verifies correct message for empty list.
@@ -421,6 +481,46 @@ public class TaskListTest {
         assertEquals(expectedOutput, result, "toString should list all tasks with correct formatting.");
     }
 
+    /**
+     * Tests the string representation of a task list holding the same task twice.
+     * Verifies that each occurrence is numbered by its own position.
+     */
+    @Test
+    public void testToStringWithSameTaskTwice() {
+        Task todo = new ToDoTask("Read a book");
+        taskList.addTask(todo);
+        taskList.addTask(todo);
+
+        assertEquals("Your saved tasks are:\n1. [T][ ] Read a book\n2. [T][ ] Read a book", taskList.toString(),
+                "toString should number repeated tasks by position.");
+    }
+
+    /**
+     * Tests writing a range of tasks.
+     * Verifies that only the tasks in the range are written, numbered by their position in the whole list, and that
+     * a range running past the end of the list is clamped.
+     *
+     * @throws IOException If the output cannot be written to.
+     */
+    @Test
+    public void testWriteTasks_range() throws IOException {
+        for (int i = 1; i <= 5; i++) {
+            taskList.addTask(new ToDoTask("Task " + i));
+        }
+
+        StringBuilder middle = new StringBuilder();
+        taskList.writeTasks(middle, 1, 3);
+        assertEquals("2. [T][ ] Task 2\n3. [T][ ] Task 3", middle.toString());
+
+        StringBuilder end = new StringBuilder();
+        taskList.writeTasks(end, 4, 10);
+        assertEquals("5. [T][ ] Task 5", end.toString());
+
+        StringBuilder empty = new StringBuilder();
+        taskList.writeTasks(empty, 5, 10);
+        assertEquals("", empty.toString(), "A range past the end of the list should write nothing.");
+    }
+
     /**
      * Tests adding duplicate tasks to the task list.
      * Verifies that duplicate tasks are allowed and handled correctly.
@@ -490,6 +590,59 @@ public class TaskListTest {
         verify(mockStorage, times(2)).save(anyList());
     }
 
+    /**
+     * Tests marking a task as done through the TaskList.
+     * Verifies that the task's status is updated and the change is persisted.
+     */
+    @Test
+    public void testMarkTask_validIndex() throws SongbirdStorageException, SongbirdNonExistentTaskException {
+        // Arrange
+        Task task = new ToDoTask("Read a book");
+        taskList.addTask(task);
+
+        // Act
+        Task markedTask = taskList.markTask(0);
+
+        // Assert
+        assertEquals(task, markedTask, "The marked task should be the task at the given index.");
+        assertTrue(task.isDone, "Task should be marked as done.");
+        verify(mockStorage, times(2)).save(anyList()); // once for addTask, once for markTask
+    }
+
+    /**
+     * Tests marking a task as not done through the TaskList.
+     * Verifies that the task's status is updated and the change is persisted.
+     */
+    @Test
+    public void testUnmarkTask_validIndex() throws SongbirdStorageException, SongbirdNonExistentTaskException {
+        // Arrange
+        Task task = new ToDoTask("Read a book");
+        task.setTaskDone();
+        taskList.addTask(task);
+
+        // Act
+        Task unmarkedTask = taskList.unmarkTask(0);
+
+        // Assert
+        assertEquals(task, unmarkedTask, "The unmarked task should be the task at the given index.");
+        assertFalse(task.isDone, "Task should be marked as not done.");
+        verify(mockStorage, times(2)).save(anyList()); // once for addTask, once for unmarkTask
+    }
+
+    /**
+     * Tests marking a task at an invalid index.
+     * Verifies that the appropriate exception is thrown and nothing is persisted.
+     */
+    @Test
+    public void testMarkTask_invalidIndex() throws SongbirdStorageException {
+        // Act & Assert
+        assertThrows(SongbirdNonExistentTaskException.class, () -> taskList.markTask(0),
+                "Marking with an invalid index should throw SongbirdNonExistentTaskException.");
+        assertThrows(SongbirdNonExistentTaskException.class, () -> taskList.unmarkTask(-1),
+                "Unmarking with an invalid index should throw SongbirdNonExistentTaskException.");
+        verify(mockStorage, times(0)).save(anyList());
+    }
+
     /**
      * Tests the encapsulation of the getAll method.
      * Verifies that modifications to the returned list don't affect the original list.
@@ -511,6 +664,261 @@ public class TaskListTest {
                 "Modifying the returned list should not affect the original TaskList.");
     }
 
+    /**
+     * Tests that a snapshot keeps showing the tasks as they were when it was taken, and cannot be modified.
+     *
+     * @throws SongbirdNonExistentTaskException If the task to delete does not exist.
+     */
+    @Test
+    public void testSnapshot_unaffectedByLaterMutations() throws SongbirdNonExistentTaskException {
+        Task task1 = new ToDoTask("Read a book");
+        Task task2 = new ToDoTask("Buy groceries");
+        taskList.addTask(task1);
+        taskList.addTask(task2);
+
+        List<Task> snapshot = taskList.snapshot();
+        taskList.deleteTask(0);
+        taskList.addTask(new ToDoTask("Pay bills"));
+
+        assertEquals(List.of(task1, task2), snapshot, "The snapshot should not show later additions or deletions.");
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(task1),
+                "The snapshot should not be modifiable.");
+    }
+
+    /**
+     * Tests that snapshots and listings can be read on another thread while tasks are added and deleted, and always
+     * show a whole version of the task list.
+     *
+     * @throws Exception If the reading thread fails or is interrupted.
+     */
+    @Test
+    public void testSnapshotReads_concurrentWithMutations() throws Exception {
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        Thread reader = new Thread(() -> {
+            while (isWriting.get()) {
+                List<Task> snapshot = taskList.snapshot();
+                int count = 0;
+                for (Task task : snapshot) {
+                    assertTrue(task.getDescription().startsWith("Task "), "Snapshots should only hold added tasks.");
+                    count++;
+                }
+                assertEquals(snapshot.size(), count, "A snapshot should not change while it is read.");
+                assertTrue(taskList.toString().startsWith("You"));
+            }
+        });
+        AtomicReference<Throwable> readerFailure = new AtomicReference<>();
+        reader.setUncaughtExceptionHandler((thread, throwable) -> readerFailure.set(throwable));
+        reader.start();
+
+        for (int i = 0; i < 2000; i++) {
+            taskList.addTask(new ToDoTask("Task " + i));
+            if (i % 3 == 0) {
+                taskList.deleteTask(0);
+            }
+        }
+        isWriting.set(false);
+        reader.join();
+
+        assertNull(readerFailure.get(), "Reading snapshots concurrently should not fail.");
+        assertEquals(1333, taskList.getSize());
+    }
+
+    /**
+     * Tests that tasks are given IDs that stay the same when earlier tasks are deleted, and can be found by them.
+     *
+     * @throws SongbirdNonExistentTaskException If a task that should exist is not found.
+     */
+    @Test
+    public void testTaskIds_stableAcrossDeletes() throws SongbirdNonExistentTaskException {
+        Task task1 = taskList.addTask(new ToDoTask("Read a book"));
+        Task task2 = taskList.addTask(new ToDoTask("Buy groceries"));
+        Task task3 = taskList.addTask(new ToDoTask("Pay bills"));
+        assertEquals(List.of(1L, 2L, 3L), List.of(task1.getId(), task2.getId(), task3.getId()));
+
+        taskList.deleteTask(0);
+        assertSame(task3, taskList.getTaskById(3));
+        assertEquals(1, taskList.getIndexById(3), "The index should follow the task as earlier tasks are deleted.");
+        assertThrows(SongbirdNonExistentTaskException.class, () -> taskList.getTaskById(1),
+                "A deleted task should no longer be found by its ID.");
+        assertThrows(SongbirdNonExistentTaskException.class, () -> taskList.getIndexById(42));
+
+        Task task4 = taskList.addTask(new ToDoTask("Call mum"));
+        assertEquals(4, task4.getId(), "IDs of deleted tasks should not be reused.");
+    }
+
+    /**
+     * Tests that loaded tasks keep their IDs, tasks without IDs are given new ones, and that tasks are still found by
+     * ID when the list is no longer in ID order.
+     *
+     * @throws SongbirdNonExistentTaskException If a task that should exist is not found.
+     */
+    @Test
+    public void testTaskIds_loadedAndOutOfOrder() throws SongbirdNonExistentTaskException {
+        Task loadedTask = new ToDoTask("Read a book");
+        loadedTask.setId(10);
+        Task newTask = new ToDoTask("Buy groceries");
+        TaskList loadedList = new TaskList(List.of(loadedTask, newTask), mockStorage);
+        assertEquals(11, newTask.getId());
+        assertEquals(12, loadedList.addTask(new ToDoTask("Pay bills")).getId());
+
+        loadedList.addTask(loadedTask); // the same task again, so IDs no longer ascend along the list
+        loadedList.deleteTask(0);
+        assertEquals(2, loadedList.getIndexById(10));
+        assertEquals(0, loadedList.getIndexById(11));
+    }
+
+    /**
+     * Tests that marking and unmarking a selection of tasks changes each selected task once, and saves the list once
+     * per batch that changes anything.
+     *
+     * @throws SongbirdException If a task that should exist is not found, or the list cannot be saved.
+     */
+    @Test
+    public void testMarkTasks_rangesAndIds_savedOnce() throws SongbirdException {
+        for (int i = 1; i <= 10; i++) {
+            taskList.addTask(new ToDoTask("Task " + i));
+        }
+        TaskSelector selector = TaskSelector.ofRanges(List.of(
+                new TaskSelector.Range(TaskReference.ofIndex(0), TaskReference.ofIndex(2)),
+                new TaskSelector.Range(TaskReference.ofId(5), TaskReference.ofId(5)),
+                new TaskSelector.Range(TaskReference.ofIndex(3), TaskReference.ofIndex(1))));
+
+        List<Task> markedTasks = taskList.markTasks(selector);
+        assertEquals(List.of("Task 1", "Task 2", "Task 3", "Task 4", "Task 5"),
+                markedTasks.stream().map(Task::getDescription).toList());
+        assertTrue(markedTasks.stream().allMatch(Task::isDone));
+        assertFalse(taskList.getTask(5).isDone());
+        verify(mockStorage, times(11)).save(anyList());
+
+        taskList.markTasks(selector);
+        verify(mockStorage, times(11)).save(anyList()); // nothing changed, so nothing is saved
+
+        List<Task> unmarkedTasks = taskList.unmarkTasks(TaskSelector.ofDone());
+        assertEquals(5, unmarkedTasks.size());
+        assertTrue(taskList.snapshot().stream().noneMatch(Task::isDone));
+        verify(mockStorage, times(12)).save(anyList());
+    }
+
+    /**
+     * Tests that deleting a selection of tasks removes them from the list and its indexes in a single batch, and that
+     * a selection referring to a missing task deletes nothing.
+     *
+     * @throws SongbirdException If a task that should exist is not found, or the list cannot be saved.
+     */
+    @Test
+    public void testDeleteTasks_filtersAndMissingTasks() throws SongbirdException {
+        taskList.addTask(new ToDoTask("Write report"));
+        taskList.addTask(new ToDoTask("Read a book"));
+        taskList.addTask(new DeadlineTask("Submit report", LocalDateTime.of(2025, 3, 14, 23, 59)));
+        Task keptTask = taskList.addTask(new ToDoTask("Pay bills"));
+
+        TaskSelector missingTask = TaskSelector.ofRanges(List.of(
+                new TaskSelector.Range(TaskReference.ofIndex(0), TaskReference.ofIndex(0)),
+                new TaskSelector.Range(TaskReference.ofIndex(4), TaskReference.ofIndex(4))));
+        assertThrows(SongbirdNonExistentTaskException.class, () -> taskList.deleteTasks(missingTask));
+        assertEquals(4, taskList.getSize(), "No task should be deleted if any selected task is missing.");
+
+        List<Task> deletedTasks = taskList.deleteTasks(TaskSelector.ofKeyword("REPORT"));
+        assertEquals(List.of("Write report", "Submit report"),
+                deletedTasks.stream().map(Task::getDescription).toList());
+        assertEquals(List.of("Read a book", "Pay bills"),
+                taskList.snapshot().stream().map(Task::getDescription).toList());
+        assertTrue(taskList.getTasksByKeyword("report").isEmpty());
+        assertTrue(taskList.getTasksByDate(LocalDateTime.of(2025, 3, 14, 0, 0)).isEmpty());
+        assertEquals(1, taskList.getIndexById(keptTask.getId()));
+        verify(mockStorage, times(5)).save(anyList());
+
+        taskList.markTask(1);
+        assertEquals(List.of(keptTask), taskList.deleteTasks(TaskSelector.ofDone()));
+        assertEquals(1, taskList.getSize());
+    }
+
+    /**
+     * Tests that undoing and redoing changes restores the tasks, their states and the indexes, that each undo or redo
+     * is saved once, and that a new change cannot be redone past.
+     *
+     * @throws SongbirdException If a task that should exist is not found, or the list cannot be saved.
+     */
+    @Test
+    public void testUndoRedo_restoresTasksAndIndexes() throws SongbirdException {
+        Task report = taskList.addTask(new DeadlineTask("Submit report", LocalDateTime.of(2025, 3, 14, 23, 59)));
+        Task book = taskList.addTask(new ToDoTask("Read a book"));
+        Task bills = taskList.addTask(new ToDoTask("Pay bills"));
+        taskList.markTask(1);
+        taskList.deleteTasks(TaskSelector.ofRanges(List.of(
+                new TaskSelector.Range(TaskReference.ofIndex(0), TaskReference.ofIndex(1)))));
+        assertEquals(List.of(bills), taskList.snapshot());
+        verify(mockStorage, times(5)).save(anyList());
+
+        assertEquals(List.of("delete: 2 tasks", "mark: Read a book"), taskList.undo(2));
+        assertEquals(List.of(report, book, bills), taskList.snapshot());
+        assertFalse(book.isDone(), "Undoing a mark should mark the task as not done again.");
+        assertEquals(List.of(report), taskList.getTasksByKeyword("report"));
+        assertEquals(List.of(report), taskList.getTasksByDate(LocalDateTime.of(2025, 3, 14, 0, 0)));
+        assertEquals(1, taskList.getIndexById(book.getId()));
+        verify(mockStorage, times(6)).save(anyList());
+
+        assertEquals(List.of("mark: Read a book"), taskList.redo(1));
+        assertTrue(book.isDone());
+        assertEquals(List.of(report, book, bills), taskList.snapshot());
+
+        taskList.deleteTask(2);
+        assertTrue(taskList.redo(1).isEmpty(), "A new change should discard the changes that could be redone.");
+        assertEquals(List.of("delete: Pay bills", "mark: Read a book", "add: Pay bills", "add: Read a book",
+                "add: Submit report"), taskList.undo(10));
+        assertEquals(0, taskList.getSize());
+        assertTrue(taskList.getTasksByKeyword("report").isEmpty());
+        assertThrows(SongbirdNonExistentTaskException.class, () -> taskList.getTaskById(report.getId()));
+        assertTrue(taskList.undo(1).isEmpty());
+    }
+
+    /**
+     * Tests that a task brought back by undo is found in its place in the task list, rather than after the tasks that
+     * stayed, whichever index the search uses.
+     *
+     * @throws SongbirdException If a task that should exist is not found, or the list cannot be saved.
+     */
+    @Test
+    public void testUndo_deletedTaskFoundInTaskListOrder() throws SongbirdException {
+        Task alpha = taskList.addTask(new ToDoTask("alpha report"));
+        Task beta = taskList.addTask(new ToDoTask("beta report"));
+        Task gamma = taskList.addTask(new ToDoTask("gamma report"));
+        List<Task> expected = List.of(alpha, beta, gamma);
+
+        taskList.deleteTask(1);
+        taskList.undo(1);
+
+        assertEquals(expected, taskList.getTasksByKeyword("report"));
+        assertEquals(expected, taskList.getTasksByKeyword("re"));
+        assertEquals(expected, taskList.getTasksByWords("report"));
+        assertEquals(expected, taskList.getTasksBySimilarWords("reprot"));
+        assertEquals(expected, taskList.getTasksByQuery(TaskQuery.ofPhrase("report")));
+
+        taskList.redo(1);
+        assertEquals(List.of(alpha, gamma), taskList.getTasksByKeyword("report"));
+    }
+
+    /**
+     * Tests that only as many changes as the history depth can be undone, and that changes which changed nothing are
+     * not recorded.
+     *
+     * @throws SongbirdException If a task that should exist is not found, or the list cannot be saved.
+     */
+    @Test
+    public void testUndo_limitedToHistoryDepth() throws SongbirdException {
+        taskList.setHistoryDepth(2);
+        for (int i = 1; i <= 4; i++) {
+            taskList.addTask(new ToDoTask("Task " + i));
+        }
+        taskList.unmarkTask(0); // already not done, so nothing changes
+
+        assertEquals(2, taskList.undo(3).size());
+        assertEquals(2, taskList.getSize());
+        taskList.setHistoryDepth(0);
+        taskList.addTask(new ToDoTask("Task 5"));
+        assertTrue(taskList.undo(1).isEmpty());
+    }
+
     /**
      * Tests retrieving tasks by keyword when the list is empty.
      * Verifies that an empty list is returned.
@@ -588,4 +996,167 @@ public class TaskListTest {
         assertTrue(tasksWithKeyword.contains(task1), "The list should contain the first task.");
         assertTrue(tasksWithKeyword.contains(task3), "The list should contain the third task.");
     }
+
+    /**
+     * Tests that keywords spanning several words, which cannot be looked up in the keyword index, are still found.
+     */
+    @Test
+    public void testGetTasksByKeyword_keywordSpanningWords() {
+        Task task1 = new ToDoTask("Read a Book");
+        Task task2 = new ToDoTask("Read another book");
+        taskList.addTask(task1);
+        taskList.addTask(task2);
+
+        assertEquals(List.of(task1), taskList.getTasksByKeyword("a book"),
+                "getTasksByKeyword should match keywords spanning several words.");
+    }
+
+    /**
+     * Tests that getTasksByWords only returns tasks containing every word of the query as a whole word, and no longer
+     * returns deleted tasks.
+     *
+     * @throws SongbirdNonExistentTaskException If a task cannot be deleted.
+     */
+    @Test
+    public void testGetTasksByWords_wholeWordsOnly() throws SongbirdNonExistentTaskException {
+        Task task1 = new ToDoTask("Read a Book");
+        Task task2 = new ToDoTask("Write in notebook");
+        Task task3 = new ToDoTask("Book a flight");
+        taskList.addTask(task1);
+        taskList.addTask(task2);
+        taskList.addTask(task3);
+
+        assertEquals(List.of(task1, task3), taskList.getTasksByWords("book"),
+                "getTasksByWords should not match words that merely contain the query.");
+        assertEquals(List.of(task1), taskList.getTasksByWords("READ book"));
+
+        taskList.deleteTask(0);
+        assertEquals(List.of(task3), taskList.getTasksByWords("book"), "Deleted tasks should no longer be found.");
+    }
+
+    /**
+     * Tests that compound queries return the same tasks in list order, whether they are driven by an index or scanned,
+     * and that the type index follows deletions and undos.
+     *
+     * @throws SongbirdException If a task that should exist is not found.
+     */
+    @Test
+    public void testGetTasksByQuery_matchesScanOfEveryTask() throws SongbirdException {
+        for (int i = 0; i < 30; i++) {
+            LocalDateTime date = LocalDateTime.of(2025, 11, 20, 9, 0).plusDays(i);
+            Task task = switch (i % 3) {
+                case 0 -> new ToDoTask("Draft report " + i);
+                case 1 -> new DeadlineTask("Submit report " + i, date);
+                default -> new EventTask("Review meeting " + i, date, date.plusHours(2));
+            };
+            if (i % 4 == 0) {
+                task.setTaskDone();
+            }
+            taskList.addTask(task);
+        }
+        LocalDateTime december = LocalDateTime.of(2025, 12, 1, 0, 0);
+        TaskQuery dueReports = TaskQuery.allOf(List.of(TaskQuery.ofPhrase("report"),
+                TaskQuery.ofType(TaskType.DEADLINE), TaskQuery.ofDone(false),
+                TaskQuery.ofDateRange(LocalDateTime.MIN, december.minusNanos(1))));
+        TaskQuery eventsOrTodos = TaskQuery.anyOf(List.of(TaskQuery.ofType(TaskType.EVENT),
+                TaskQuery.allOf(List.of(TaskQuery.ofType(TaskType.TODO), TaskQuery.not(TaskQuery.ofPhrase("1"))))));
+        TaskQuery notDone = TaskQuery.not(TaskQuery.ofDone(true));
+
+        for (TaskQuery query : List.of(dueReports, eventsOrTodos, notDone)) {
+            List<Task> scannedMatches = taskList.snapshot().stream().filter(query::matches).toList();
+            assertEquals(scannedMatches, taskList.getTasksByQuery(query),
+                    "Query " + query + " should match the same tasks as a scan.");
+        }
+        assertEquals(List.of("Submit report 1", "Submit report 7", "Submit report 10"),
+                taskList.getTasksByQuery(dueReports).stream().map(Task::getDescription).toList());
+
+        taskList.deleteTask(1);
+        assertEquals(List.of("Submit report 7", "Submit report 10"), taskList.getTasksByQuery(dueReports).stream()
+                .map(Task::getDescription).toList(), "Deleted tasks should no longer be found.");
+        taskList.undo(1);
+        assertEquals(3, taskList.getTasksByQuery(dueReports).size(), "Undone deletions should be found again.");
+    }
+
+    /**
+     * Tests that the task counts and the overdue count follow additions, deletions, marks and undos.
+     *
+     * @throws SongbirdException If a task that should exist is not found.
+     */
+    @Test
+    public void testGetStats_followsChanges() throws SongbirdException {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 10, 12, 0);
+        taskList.addTask(new ToDoTask("Read a book"));
+        taskList.addTask(new DeadlineTask("Submit report", now.minusDays(1)));
+        taskList.addTask(new DeadlineTask("Pay bills", now.minusDays(1)));
+        taskList.addTask(new DeadlineTask("File taxes", now.plusDays(1)));
+        taskList.addTask(new EventTask("Team meeting", now.minusHours(2), now.plusHours(1)));
+        taskList.markTask(1);
+
+        TaskStats stats = taskList.getStats(now);
+        assertEquals(5, stats.getCount());
+        assertEquals(1, stats.getDoneCount());
+        assertEquals(4, stats.getPendingCount());
+        assertEquals(3, stats.getCount(TaskType.DEADLINE));
+        assertEquals(1, stats.getDoneCount(TaskType.DEADLINE));
+        assertEquals(1, stats.getCount(TaskType.EVENT));
+        assertEquals(1, stats.getOverdueCount(), "Only deadlines that are past due and not done should be overdue.");
+        assertEquals(2, taskList.getStats(now.plusDays(2)).getOverdueCount());
+
+        taskList.markTasks(TaskSelector.ofNotDone());
+        assertEquals(0, taskList.getStats(now).getOverdueCount());
+        assertEquals(5, taskList.getStats(now).getDoneCount());
+        taskList.undo(1);
+        taskList.deleteTask(2);
+        stats = taskList.getStats(now);
+        assertEquals(4, stats.getCount());
+        assertEquals(1, stats.getDoneCount());
+        assertEquals(0, stats.getOverdueCount());
+        assertEquals(2, stats.getCount(TaskType.DEADLINE));
+    }
+
+    @Test
+    public void testGetUpcomingTasks_ordersPendingTasksByDueTime() throws SongbirdException {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 10, 12, 0);
+        taskList.addTask(new ToDoTask("Read a book"));
+        Task report = taskList.addTask(new DeadlineTask("Submit report", now.plusDays(3)));
+        taskList.addTask(new DeadlineTask("Pay bills", now.minusDays(1)));
+        Task meeting = taskList.addTask(new EventTask("Team meeting", now.plusHours(2), now.plusHours(3)));
+        Task taxes = taskList.addTask(new DeadlineTask("File taxes", now.plusDays(1)));
+
+        assertEquals(List.of(meeting, taxes, report), taskList.getUpcomingTasks(now, 5),
+                "Only tasks due from now should be listed, in the order they are due.");
+        assertEquals(List.of(meeting, taxes), taskList.getUpcomingTasks(now, 2));
+
+        taskList.markTask(3);
+        assertEquals(List.of(taxes, report), taskList.getUpcomingTasks(now, 5), "Done tasks should not be listed.");
+        taskList.deleteTask(4);
+        assertEquals(List.of(report), taskList.getUpcomingTasks(now, 5));
+        taskList.undo(2);
+        assertEquals(List.of(meeting, taxes, report), taskList.getUpcomingTasks(now, 5));
+    }
+
+    @Test
+    public void testArchiveDoneTasksEndedBefore_archivesOnlyOldDoneTasks() throws SongbirdException {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 10, 12, 0);
+        taskList.addTask(new ToDoTask("Read a book"));
+        taskList.addTask(new DeadlineTask("Submit report", now.minusDays(40)));
+        taskList.addTask(new DeadlineTask("Pay bills", now.minusDays(40)));
+        taskList.addTask(new EventTask("Team meeting", now.minusDays(50), now.minusDays(1)));
+        taskList.markTasks(TaskSelector.ofRanges(List.of(
+                new TaskSelector.Range(TaskReference.ofIndex(0), TaskReference.ofIndex(1)))));
+        taskList.markTask(3);
+
+        List<Task> archivedTasks = taskList.archiveDoneTasksEndedBefore(now.minusDays(30));
+        assertEquals(1, archivedTasks.size(), "Only done tasks that ended before the cutoff should be archived.");
+        assertEquals("Submit report", archivedTasks.get(0).getDescription());
+        verify(mockStorage).archive(archivedTasks);
+        assertEquals(3, taskList.getSize());
+        assertEquals(2, taskList.getStats(now).getDoneCount());
+        assertTrue(taskList.getTasksByKeyword("report").isEmpty(), "Archived tasks should leave the indexes.");
+        assertTrue(taskList.undo(1).isEmpty(), "Archiving should clear the undo history.");
+
+        assertEquals(2, taskList.archiveDoneTasks().size());
+        assertEquals(1, taskList.getSize());
+        assertEquals("Pay bills", taskList.getTask(0).getDescription());
+    }
 }
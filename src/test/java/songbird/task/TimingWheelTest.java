@@ -0,0 +1,92 @@
+package songbird.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the TimingWheel class.
+ */
+public class TimingWheelTest {
+    /**
+     * Tests that after a random sequence of schedules, cancellations and advances, spanning every level of the wheel
+     * and beyond, every item that was not cancelled expires exactly once, on the tick it was due, in order.
+     */
+    @Test
+    public void randomOperations_expireOnTheirTick() {
+        Random random = new Random(11);
+        long startTick = 1_700_000_000L;
+        TimingWheel<Integer> wheel = new TimingWheel<>(startTick);
+        Map<Integer, Long> dueTicks = new HashMap<>();
+        Map<Integer, TimingWheel.Entry<Integer>> entries = new HashMap<>();
+        long currentTick = startTick;
+
+        for (int i = 0; i < 20_000; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 5) {
+                long delay = switch (random.nextInt(4)) {
+                    case 0 -> random.nextInt(100) - 10; // includes ticks that have already passed
+                    case 1 -> random.nextInt(5_000);
+                    case 2 -> random.nextInt(1 << 20);
+                    default -> 1L << (30 + random.nextInt(8)); // up to beyond the span of the whole wheel
+                };
+                long expiryTick = currentTick + delay;
+                entries.put(i, wheel.schedule(i, expiryTick));
+                dueTicks.put(i, Math.max(expiryTick, currentTick + 1));
+            } else if (operation < 6 && !entries.isEmpty()) {
+                Integer item = entries.keySet().iterator().next();
+                TimingWheel.Entry<Integer> entry = entries.remove(item);
+                assertTrue(wheel.cancel(entry));
+                assertFalse(wheel.cancel(entry), "An item should only be cancelled once.");
+                dueTicks.remove(item);
+            } else {
+                long from = currentTick;
+                long to = currentTick + random.nextInt(3_000);
+                if (random.nextBoolean()) { // stop exactly on the tick an item is due, to catch items expiring late
+                    to = dueTicks.values().stream().mapToLong(Long::longValue).min().orElse(to);
+                }
+                List<Integer> expired = new ArrayList<>();
+                wheel.advanceTo(to, expired::add);
+                long previousDueTick = from;
+                for (Integer item : expired) {
+                    long dueTick = dueTicks.remove(item);
+                    entries.remove(item);
+                    assertTrue(dueTick > from && dueTick <= to, "Item " + item + " expired on the wrong tick.");
+                    assertTrue(dueTick >= previousDueTick, "Items should expire in the order they are due.");
+                    previousDueTick = dueTick;
+                }
+                for (long dueTick : dueTicks.values()) {
+                    assertTrue(dueTick > to, "Every item due by now should have expired.");
+                }
+                currentTick = to;
+            }
+        }
+        assertEquals(dueTicks.size(), wheel.size());
+    }
+
+    /**
+     * Tests that an item due further away than the whole wheel spans expires on its tick, without expiring early.
+     */
+    @Test
+    public void schedule_beyondSpanOfWheel_expiresOnItsTick() {
+        long dueTick = (1L << 40) + 12_345;
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        wheel.schedule("far", dueTick);
+        List<String> expired = new ArrayList<>();
+
+        wheel.advanceTo(dueTick - 1, expired::add);
+        assertTrue(expired.isEmpty());
+        assertEquals(1, wheel.size());
+        wheel.advanceTo(dueTick, expired::add);
+        assertEquals(List.of("far"), expired);
+        assertEquals(0, wheel.size());
+    }
+}
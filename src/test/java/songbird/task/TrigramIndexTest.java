@@ -0,0 +1,91 @@
+package songbird.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the TrigramIndex class.
+ */
+public class TrigramIndexTest {
+    private static final String[] WORDS = {"Read", "a", "book", "notebook", "Book-club", "ÉCOLE", "école", "42"};
+
+    /**
+     * Tests that lookups return exactly the tasks a case-insensitive scan would, as often as it would, after random
+     * additions, removals and re-additions that also trigger compaction. Re-added tasks may come back in their old
+     * place rather than last, so the order is not compared; TaskList puts the results in task list order.
+     */
+    @Test
+    public void findBySubstring_matchesScan() {
+        Random random = new Random(5);
+        TrigramIndex index = new TrigramIndex();
+        List<Task> tasks = new ArrayList<>();
+        List<Task> removedTasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int action = random.nextInt(5);
+            if (tasks.isEmpty() || action < 3) {
+                Task task = action == 0 && !removedTasks.isEmpty()
+                        ? removedTasks.remove(random.nextInt(removedTasks.size()))
+                        : new ToDoTask(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]);
+                tasks.add(task);
+                index.taskAdded(task);
+            } else {
+                Task task = tasks.remove(random.nextInt(tasks.size()));
+                index.taskRemoved(task);
+                if (!tasks.contains(task)) {
+                    removedTasks.add(task);
+                }
+            }
+
+            for (String keyword : new String[] {"book", "OOK-C", "d a n", "école", "ÉCOLE", "read a book"}) {
+                List<Task> expected = tasks.stream()
+                        .filter(task -> task.getDescription().toLowerCase().contains(keyword.toLowerCase()))
+                        .collect(Collectors.toList());
+                List<Task> found = index.findBySubstring(keyword);
+                expected.sort(Comparator.comparingInt(System::identityHashCode));
+                found.sort(Comparator.comparingInt(System::identityHashCode));
+                assertEquals(expected, found, "Wrong tasks found for: " + keyword);
+            }
+        }
+    }
+
+    /**
+     * Tests that keywords shorter than a trigram cannot be looked up, so the caller falls back to another index.
+     */
+    @Test
+    public void findBySubstring_shortKeyword_returnsNull() {
+        TrigramIndex index = new TrigramIndex();
+        index.taskAdded(new ToDoTask("Read a book"));
+
+        assertNull(index.findBySubstring("bo"));
+        assertNull(index.findBySubstring(""));
+        assertEquals(List.of(), index.findBySubstring("xyz"));
+    }
+
+    /**
+     * Tests that a removed task added back before compaction is found in its old place, without being listed twice.
+     */
+    @Test
+    public void taskAdded_removedTaskAddedBack_keepsOldPlace() {
+        TrigramIndex index = new TrigramIndex();
+        Task alpha = new ToDoTask("alpha report");
+        Task beta = new ToDoTask("beta report");
+        Task gamma = new ToDoTask("gamma report");
+        for (Task task : List.of(alpha, beta, gamma)) {
+            index.taskAdded(task);
+        }
+
+        index.taskRemoved(beta);
+        assertEquals(List.of(alpha, gamma), index.findBySubstring("report"));
+        index.taskAdded(beta);
+        assertEquals(List.of(alpha, beta, gamma), index.findBySubstring("report"));
+        assertEquals(3, index.estimateSubstring("report"));
+    }
+}
@@ -0,0 +1,93 @@
+package songbird.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the TypoMatcher class.
+ */
+public class TypoMatcherTest {
+    /**
+     * Tests that insertions, deletions, replacements and swaps of adjacent characters each count as one typo.
+     */
+    @Test
+    public void matches_countsEachKindOfTypo() {
+        TypoMatcher oneTypo = new TypoMatcher("report", 1);
+        assertTrue(oneTypo.matches("report"));
+        assertTrue(oneTypo.matches("reprot"));
+        assertTrue(oneTypo.matches("rport"));
+        assertTrue(oneTypo.matches("reports"));
+        assertTrue(oneTypo.matches("repart"));
+        assertFalse(oneTypo.matches("rapart"));
+        assertFalse(oneTypo.matches("rep"));
+
+        TypoMatcher twoTypos = new TypoMatcher("report", 2);
+        assertTrue(twoTypos.matches("rapart"));
+        assertTrue(twoTypos.matches("erpotr"));
+        assertFalse(twoTypos.matches("repair"));
+        assertFalse(twoTypos.matches("xyz"));
+    }
+
+    /**
+     * Tests that shorter words allow fewer typos.
+     */
+    @Test
+    public void forWord_fewerTyposForShorterWords() {
+        assertFalse(TypoMatcher.forWord("bk").matches("bok"));
+        assertTrue(TypoMatcher.forWord("bok").matches("book"));
+        assertFalse(TypoMatcher.forWord("bok").matches("books"));
+        assertTrue(TypoMatcher.forWord("quartely").matches("quarterly"));
+        assertTrue(TypoMatcher.forWord("qartely").matches("quarterly"));
+    }
+
+    /**
+     * Tests that a reused matcher agrees with a full table of typo distances on random words.
+     */
+    @Test
+    public void matches_randomWords_agreesWithFullTable() {
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            String word = randomWord(random);
+            int maxTypos = random.nextInt(3);
+            TypoMatcher matcher = new TypoMatcher(word, maxTypos);
+            for (int j = 0; j < 10; j++) {
+                String candidate = randomWord(random);
+                assertEquals(distance(word, candidate) <= maxTypos, matcher.matches(candidate),
+                        "Wrong match of " + candidate + " against " + word + " with " + maxTypos + " typos");
+            }
+        }
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        for (int length = random.nextInt(7); length > 0; length--) {
+            word.append((char) ('a' + random.nextInt(3)));
+        }
+        return word.toString();
+    }
+
+    private static int distance(String first, String second) {
+        int[][] table = new int[first.length() + 1][second.length() + 1];
+        for (int i = 0; i <= first.length(); i++) {
+            for (int j = 0; j <= second.length(); j++) {
+                if (i == 0 || j == 0) {
+                    table[i][j] = i + j;
+                    continue;
+                }
+                int replaceCost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                table[i][j] = Math.min(table[i - 1][j - 1] + replaceCost,
+                        Math.min(table[i - 1][j], table[i][j - 1]) + 1);
+                if (i > 1 && j > 1 && first.charAt(i - 1) == second.charAt(j - 2)
+                        && first.charAt(i - 2) == second.charAt(j - 1)) {
+                    table[i][j] = Math.min(table[i][j], table[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return table[first.length()][second.length()];
+    }
+}